@@ -0,0 +1,117 @@
+package com.example.edc.benchmark;
+
+import org.eclipse.edc.connector.controlplane.asset.spi.index.AssetIndex;
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AssetIndex create / findById / queryAssets, comparing EDC's in-memory index with the
+ * indexed one (edc.asset.store=indexed).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class AssetIndexBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({ "1000", "100000", "1000000" })
+    private int assetCount;
+
+    @Param({ BenchmarkData.STORE_IN_MEMORY, BenchmarkData.STORE_INDEXED })
+    private String store;
+
+    private AssetIndex index;
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        index = BenchmarkData.assetIndex(store, BenchmarkData.criterionOperatorRegistry());
+        BenchmarkData.fill(index, assetCount);
+        nextId.set(assetCount);
+    }
+
+    /**
+     * Removes the assets added by {@link #create()} so every iteration starts from the same size.
+     */
+    @TearDown(Level.Iteration)
+    public void removeCreatedAssets() {
+        for (var i = assetCount; i < nextId.get(); i++) {
+            index.deleteById(BenchmarkData.assetId(i));
+        }
+        nextId.set(assetCount);
+    }
+
+    @Benchmark
+    public Object create() {
+        return index.create(BenchmarkData.asset(nextId.getAndIncrement()));
+    }
+
+    @Benchmark
+    public Object findById() {
+        return index.findById(BenchmarkData.assetId(ThreadLocalRandom.current().nextInt(assetCount)));
+    }
+
+    @Benchmark
+    public void queryByCategory(Blackhole blackhole) {
+        query(blackhole, Criterion.Builder.newInstance()
+                .operandLeft("category")
+                .operator("=")
+                .operandRight(BenchmarkData.category(ThreadLocalRandom.current().nextInt(BenchmarkData.CATEGORIES)))
+                .build());
+    }
+
+    @Benchmark
+    public void queryByRegionIn(Blackhole blackhole) {
+        query(blackhole, Criterion.Builder.newInstance()
+                .operandLeft("region")
+                .operator("in")
+                .operandRight(List.of("emea", "apac"))
+                .build());
+    }
+
+    @Benchmark
+    public void queryByIdLike(Blackhole blackhole) {
+        query(blackhole, Criterion.Builder.newInstance()
+                .operandLeft("https://w3id.org/edc/v0.0.1/ns/id")
+                .operator("like")
+                .operandRight(BenchmarkData.assetId(ThreadLocalRandom.current().nextInt(Math.min(assetCount, 1000))) + "%")
+                .build());
+    }
+
+    @Benchmark
+    public long countByCategory() {
+        return index.countAssets(List.of(Criterion.Builder.newInstance()
+                .operandLeft("category")
+                .operator("=")
+                .operandRight(BenchmarkData.category(0))
+                .build()));
+    }
+
+    private void query(Blackhole blackhole, Criterion criterion) {
+        var query = QuerySpec.Builder.newInstance().filter(criterion).limit(PAGE_SIZE).build();
+        index.queryAssets(query).forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.edc.benchmark;
+
+import com.example.edc.extension.IndexedAssetIndex;
+import org.eclipse.edc.connector.controlplane.asset.spi.domain.Asset;
+import org.eclipse.edc.connector.controlplane.asset.spi.index.AssetIndex;
+import org.eclipse.edc.connector.controlplane.contract.spi.types.offer.ContractDefinition;
+import org.eclipse.edc.connector.controlplane.defaults.storage.assetindex.InMemoryAssetIndex;
+import org.eclipse.edc.connector.controlplane.policy.spi.PolicyDefinition;
+import org.eclipse.edc.policy.model.Policy;
+import org.eclipse.edc.query.CriterionOperatorRegistryImpl;
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.CriterionOperatorRegistry;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+
+/**
+ * Synthetic data set shaped like the sample data in SampleDataExtension: market data APIs
+ * spread over a fixed number of categories, asset classes and regions, offered through
+ * contract definitions that select assets by category.
+ */
+final class BenchmarkData {
+
+    static final int CATEGORIES = 50;
+    static final int CONTRACT_DEFINITIONS = 100;
+    static final String[] ASSET_CLASSES = { "equities", "bonds", "fx", "commodities", "derivatives" };
+    static final String[] REGIONS = { "global", "emea", "americas", "apac" };
+
+    static final String STORE_IN_MEMORY = "in-memory";
+    static final String STORE_INDEXED = "indexed";
+
+    private BenchmarkData() {
+    }
+
+    static CriterionOperatorRegistry criterionOperatorRegistry() {
+        return CriterionOperatorRegistryImpl.ofDefaults();
+    }
+
+    static AssetIndex assetIndex(String store, CriterionOperatorRegistry registry) {
+        return STORE_INDEXED.equals(store) ? new IndexedAssetIndex(registry) : new InMemoryAssetIndex(registry);
+    }
+
+    static String assetId(int i) {
+        return "market-data-" + i;
+    }
+
+    static String category(int i) {
+        return "category-" + (i % CATEGORIES);
+    }
+
+    static Asset asset(int i) {
+        return Asset.Builder.newInstance()
+                .id(assetId(i))
+                .name("Market Data API " + i)
+                .description("Synthetic benchmark asset")
+                .contentType(i % 4 == 0 ? "text/csv" : "application/json")
+                .property("type", "API")
+                .property("category", category(i))
+                .property("assetClass", ASSET_CLASSES[i % ASSET_CLASSES.length])
+                .property("region", REGIONS[i % REGIONS.length])
+                .dataAddress(DataAddress.Builder.newInstance()
+                        .type("HttpData")
+                        .property("baseUrl", "https://api.marketdata.example.com/v1/assets/" + i)
+                        .build())
+                .build();
+    }
+
+    static void fill(AssetIndex index, int assetCount) {
+        for (var i = 0; i < assetCount; i++) {
+            index.create(asset(i));
+        }
+    }
+
+    static String policyId(int i) {
+        return "policy-" + i;
+    }
+
+    static PolicyDefinition policy(int i) {
+        return PolicyDefinition.Builder.newInstance()
+                .id(policyId(i))
+                .policy(Policy.Builder.newInstance().build())
+                .build();
+    }
+
+    /**
+     * Contract definition i offers every asset of category i (modulo the number of categories).
+     */
+    static ContractDefinition contractDefinition(int i) {
+        return ContractDefinition.Builder.newInstance()
+                .id("contract-def-" + i)
+                .accessPolicyId(policyId(0))
+                .contractPolicyId(policyId(0))
+                .assetsSelectorCriterion(Criterion.Builder.newInstance()
+                        .operandLeft("category")
+                        .operator("=")
+                        .operandRight(category(i))
+                        .build())
+                .build();
+    }
+}
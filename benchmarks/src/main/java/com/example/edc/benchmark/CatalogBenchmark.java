@@ -0,0 +1,159 @@
+package com.example.edc.benchmark;
+
+import com.example.edc.extension.IndexedAssetIndex;
+import com.example.edc.extension.MaterializedCatalog;
+import com.example.edc.extension.MaterializedDatasetResolver;
+import org.eclipse.edc.connector.controlplane.asset.spi.domain.Asset;
+import org.eclipse.edc.connector.controlplane.contract.spi.offer.ResolvedContractDefinitions;
+import org.eclipse.edc.connector.controlplane.contract.spi.offer.store.ContractDefinitionStore;
+import org.eclipse.edc.connector.controlplane.contract.spi.types.offer.ContractDefinition;
+import org.eclipse.edc.connector.controlplane.defaults.storage.contractdefinition.InMemoryContractDefinitionStore;
+import org.eclipse.edc.policy.model.Policy;
+import org.eclipse.edc.spi.agent.ParticipantAgent;
+import org.eclipse.edc.spi.query.CriterionOperatorRegistry;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * ContractDefinitionStore selector resolution and end-to-end catalog generation.
+ *
+ * The "scan" benchmarks reproduce what EDC does by default (evaluate every definition's
+ * assetsSelector against the assets); the "materialized" and "reverse index" ones go
+ * through {@link MaterializedCatalog} / {@link MaterializedDatasetResolver}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class CatalogBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({ "1000", "100000", "1000000" })
+    private int assetCount;
+
+    private CriterionOperatorRegistry registry;
+    private IndexedAssetIndex index;
+    private ContractDefinitionStore contractDefinitionStore;
+    private List<ContractDefinition> definitions;
+    private MaterializedCatalog catalog;
+    private MaterializedDatasetResolver resolver;
+    private ParticipantAgent agent;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        registry = BenchmarkData.criterionOperatorRegistry();
+        index = new IndexedAssetIndex(registry);
+        BenchmarkData.fill(index, assetCount);
+
+        contractDefinitionStore = new InMemoryContractDefinitionStore(registry);
+        for (var i = 0; i < BenchmarkData.CONTRACT_DEFINITIONS; i++) {
+            contractDefinitionStore.save(BenchmarkData.contractDefinition(i));
+        }
+        definitions = contractDefinitionStore.findAll(QuerySpec.max()).toList();
+
+        catalog = new MaterializedCatalog(index, registry);
+        index.addListener(catalog);
+        var policies = Map.of(BenchmarkData.policyId(0), Policy.Builder.newInstance().build());
+        resolver = new MaterializedDatasetResolver(a -> new ResolvedContractDefinitions(definitions, policies),
+                index, catalog, asset -> List.of(), registry);
+        agent = new ParticipantAgent(Map.of(), Map.of());
+
+        // materialize every definition up front; the benchmarks measure the steady state
+        definitions.forEach(catalog::assetIdsFor);
+    }
+
+    /**
+     * Which definitions offer a given asset, by evaluating every selector.
+     */
+    @Benchmark
+    public void selectorResolutionScan(Blackhole blackhole) {
+        var asset = randomAsset();
+        contractDefinitionStore.findAll(QuerySpec.max())
+                .filter(definition -> selector(definition).test(asset))
+                .forEach(blackhole::consume);
+    }
+
+    /**
+     * Which definitions offer a given asset, using the materialized asset sets.
+     */
+    @Benchmark
+    public void selectorResolutionMaterialized(Blackhole blackhole) {
+        var asset = randomAsset();
+        definitions.stream()
+                .filter(definition -> catalog.assetIdsFor(definition).contains(asset.getId()))
+                .forEach(blackhole::consume);
+    }
+
+    /**
+     * Which definitions offer a given asset, from the reverse index (asset ID -> definitions).
+     */
+    @Benchmark
+    public void selectorResolutionReverseIndex(Blackhole blackhole) {
+        blackhole.consume(catalog.definitionIdsFor(randomAsset().getId()));
+    }
+
+    /**
+     * One dataset with its offers, as served for a dataset lookup by ID.
+     */
+    @Benchmark
+    public void datasetByIdMaterialized(Blackhole blackhole) {
+        blackhole.consume(resolver.getById(agent, randomAsset().getId()));
+    }
+
+    /**
+     * First catalog page the way EDC's default dataset resolver builds it: every asset is
+     * tested against every definition until the page is full.
+     */
+    @Benchmark
+    public void catalogPageScan(Blackhole blackhole) {
+        index.queryAssets(QuerySpec.max())
+                .filter(asset -> definitions.stream().anyMatch(definition -> selector(definition).test(asset)))
+                .limit(PAGE_SIZE)
+                .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void catalogPageMaterialized(Blackhole blackhole) {
+        resolver.query(agent, QuerySpec.Builder.newInstance().limit(PAGE_SIZE).build()).forEach(blackhole::consume);
+    }
+
+    /**
+     * A page deep into the catalog, where the cost of skipping matters.
+     */
+    @Benchmark
+    public void catalogDeepPageMaterialized(Blackhole blackhole) {
+        var offset = Math.max(0, assetCount - PAGE_SIZE);
+        resolver.query(agent, QuerySpec.Builder.newInstance().offset(offset).limit(PAGE_SIZE).build()).forEach(blackhole::consume);
+    }
+
+    private Asset randomAsset() {
+        return index.findById(BenchmarkData.assetId(ThreadLocalRandom.current().nextInt(assetCount)));
+    }
+
+    private Predicate<Asset> selector(ContractDefinition definition) {
+        return definition.getAssetsSelector().stream()
+                .map(registry::<Asset>toPredicate)
+                .reduce(x -> true, Predicate::and);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.edc.benchmark;
+
+import com.example.edc.extension.CachingJsonLd;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import org.eclipse.edc.jsonld.TitaniumJsonLd;
+import org.eclipse.edc.jsonld.spi.JsonLd;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON-LD expansion of Management API request bodies (the asset and catalog request
+ * bodies of the integration test), with EDC's TitaniumJsonLd and with
+ * {@link CachingJsonLd} in front of it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonLdBenchmark {
+
+    private static final String ASSET = """
+            {
+              "@context": { "edc": "https://w3id.org/edc/v0.0.1/ns/" },
+              "@id": "benchmark-asset",
+              "properties": {
+                "name": "Benchmark Asset",
+                "description": "Asset body as sent to POST /v3/assets",
+                "contenttype": "application/json",
+                "version": "1.0.0"
+              },
+              "dataAddress": {
+                "@type": "DataAddress",
+                "type": "HttpData",
+                "baseUrl": "https://jsonplaceholder.typicode.com/posts"
+              }
+            }
+            """;
+
+    private static final String CATALOG_REQUEST = """
+            {
+              "@context": { "edc": "https://w3id.org/edc/v0.0.1/ns/" },
+              "@type": "CatalogRequest",
+              "counterPartyAddress": "http://localhost:8282/api/dsp",
+              "protocol": "dataspace-protocol-http"
+            }
+            """;
+
+    private JsonLd titanium;
+    private JsonLd cached;
+    private JsonObject asset;
+    private JsonObject catalogRequest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        titanium = new TitaniumJsonLd(new Monitor() { });
+        cached = new CachingJsonLd(new TitaniumJsonLd(new Monitor() { }), 256);
+        asset = parse(ASSET);
+        catalogRequest = parse(CATALOG_REQUEST);
+    }
+
+    @Benchmark
+    public Object expandAssetTitanium() {
+        return titanium.expand(asset);
+    }
+
+    @Benchmark
+    public Object expandAssetCached() {
+        return cached.expand(asset);
+    }
+
+    @Benchmark
+    public Object expandCatalogRequestTitanium() {
+        return titanium.expand(catalogRequest);
+    }
+
+    @Benchmark
+    public Object expandCatalogRequestCached() {
+        return cached.expand(catalogRequest);
+    }
+
+    private static JsonObject parse(String json) {
+        try (var reader = Json.createReader(new StringReader(json))) {
+            return reader.readObject();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.edc.benchmark;
+
+import org.eclipse.edc.connector.controlplane.defaults.storage.policydefinition.InMemoryPolicyDefinitionStore;
+import org.eclipse.edc.connector.controlplane.policy.spi.store.PolicyDefinitionStore;
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.util.concurrency.LockManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * PolicyDefinitionStore lookups. The store holds one policy per ten assets, so the three
+ * data set sizes map to 100, 10k and 100k policies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class PolicyDefinitionStoreBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int assetCount;
+
+    private PolicyDefinitionStore store;
+    private int policyCount;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        store = new InMemoryPolicyDefinitionStore(new LockManager(new ReentrantReadWriteLock(true)), BenchmarkData.criterionOperatorRegistry());
+        policyCount = assetCount / 10;
+        for (var i = 0; i < policyCount; i++) {
+            store.create(BenchmarkData.policy(i));
+        }
+    }
+
+    @Benchmark
+    public Object findById() {
+        return store.findById(BenchmarkData.policyId(ThreadLocalRandom.current().nextInt(policyCount)));
+    }
+
+    /**
+     * The lookup the Management API performs for GET /v3/policydefinitions/request with an ID filter.
+     */
+    @Benchmark
+    public void queryById(Blackhole blackhole) {
+        var query = QuerySpec.Builder.newInstance()
+                .filter(Criterion.Builder.newInstance()
+                        .operandLeft("id")
+                        .operator("=")
+                        .operandRight(BenchmarkData.policyId(ThreadLocalRandom.current().nextInt(policyCount)))
+                        .build())
+                .build();
+        store.findAll(query).forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.edc;
+
+/**
+ * Takes a CRaC checkpoint through jdk.crac.Core, looked up reflectively because it only
+ * exists on CRaC-enabled JDKs (e.g. Azul Zulu with CRaC) and the project targets Java 17.
+ *
+ * The JVM has to be started with -XX:CRaCCheckpointTo=<dir>. The process stops at the
+ * checkpoint; "java -XX:CRaCRestoreFrom=<dir>" continues right after it.
+ */
+final class CracCheckpoint {
+
+    private CracCheckpoint() {
+    }
+
+    /**
+     * @return true when a checkpoint was taken and this process was restored from it,
+     *         false when CRaC is not available or the checkpoint failed
+     */
+    static boolean checkpointRestore() {
+        try {
+            Class.forName("jdk.crac.Core").getMethod("checkpointRestore").invoke(null);
+            return true;
+        } catch (ClassNotFoundException e) {
+            System.out.println("CRaC is not available in this JVM, continuing without checkpoint");
+            return false;
+        } catch (ReflectiveOperationException e) {
+            var cause = e.getCause() != null ? e.getCause() : e;
+            System.out.println("CRaC checkpoint failed, continuing without checkpoint: " + cause);
+            return false;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.edc;
 
-import org.eclipse.edc.boot.system.runtime.BaseRuntime;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  * MINIMAL EDC CONNECTOR - MAIN ENTRY POINT
@@ -44,7 +46,7 @@ import org.eclipse.edc.boot.system.runtime.BaseRuntime;
  */
 public class MinimalEdcConnector {
 
-	public static void main(String[] args) {
+	public static void main(String[] args) throws IOException {
 		System.out.println("========================================");
 		System.out.println("Starting Minimal EDC Connector PoC");
 		System.out.println("========================================");
@@ -56,8 +58,48 @@ public class MinimalEdcConnector {
 		System.out.println("4. Starting Management API (REST interface)");
 		System.out.println("");
 
+		// Startup snapshot modes (see the 'cds' Maven profile):
+		// --training-run  boot, exercise the Management API, shut down and exit, so that
+		//                 -XX:ArchiveClassesAtExit can dump a class data sharing archive
+		// --checkpoint    the same warm-up, then a CRaC checkpoint; a restored process
+		//                 continues below with a fresh boot on already loaded, JIT-compiled code
+		var mode = args.length > 0 ? args[0] : "";
+		if (mode.equals("--training-run") || mode.equals("--checkpoint")) {
+			var training = new ProfilingRuntime();
+			training.boot(false);
+			TrainingRun.exercise("http://localhost:" + training.getSetting("web.http.management.port", "8181")
+					+ training.getSetting("web.http.management.path", "/api/management"));
+			training.shutdown();
+			if (mode.equals("--training-run")) {
+				System.out.println("Training run finished");
+				System.exit(0);
+			}
+			CracCheckpoint.checkpointRestore();
+		}
+
+		// Multi-tenant mode: one connector per properties file (or per *.properties file of a
+		// directory), all in this JVM, e.g.
+		//   --tenants provider-connector.properties consumer-connector.properties
+		if (mode.equals("--tenants")) {
+			var paths = Arrays.stream(args).skip(1).map(Path::of).toList();
+			if (paths.isEmpty()) {
+				System.out.println("Usage: --tenants <properties file or directory>...");
+				System.exit(1);
+			}
+			var tenants = TenantRuntime.bootAll(paths);
+			System.out.println("");
+			System.out.println("========================================");
+			System.out.println(tenants.size() + " connectors started in one JVM:");
+			tenants.forEach(tenant -> System.out.println("- " + tenant.name() + ": Management API on port "
+					+ tenant.getSetting("web.http.management.port", "8181")));
+			System.out.println("========================================");
+			return;
+		}
+
 		// Create and boot the EDC runtime
-		var runtime = new BaseRuntime();
+		// (ProfilingRuntime is EDC's BaseRuntime plus a per-extension startup profile and
+		// the optional fast boot mode, see edc.boot.fast)
+		var runtime = new ProfilingRuntime();
 
 		// Boot the runtime - this will:
 		// 1. Load all EDC extensions from the classpath
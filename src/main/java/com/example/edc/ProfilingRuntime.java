@@ -0,0 +1,186 @@
+package com.example.edc;
+
+import org.eclipse.edc.boot.system.injection.InjectionContainer;
+import org.eclipse.edc.boot.system.runtime.BaseRuntime;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * EDC runtime that measures how long every extension takes to boot, and can move
+ * non-critical work off the boot path.
+ *
+ * Startup profile:
+ * ---------------
+ * With edc.boot.profile=true (the default) a table of initialize/prepare/start times per
+ * extension, slowest first, is logged once the connector is up.
+ *
+ * Fast boot:
+ * ---------
+ * With edc.boot.fast=true the start() of the extensions named in
+ * edc.boot.deferred-extensions (by default sample data seeding and the bulk import) runs on
+ * a background thread after boot instead of in the boot sequence. The APIs are up
+ * immediately; the deferred data shows up once it is written.
+ *
+ * initialize() is never deferred or run in parallel: EDC orders it by the services the
+ * extensions inject, and a later extension may rely on anything an earlier one registered.
+ */
+public class ProfilingRuntime extends BaseRuntime {
+
+    public static final String PROFILE = "edc.boot.profile";
+    public static final String FAST_BOOT = "edc.boot.fast";
+    public static final String DEFERRED_EXTENSIONS = "edc.boot.deferred-extensions";
+
+    private static final String DEFAULT_DEFERRED_EXTENSIONS = "Sample Data Extension,Bulk Import Extension";
+
+    private ServiceExtensionContext bootContext;
+
+    /**
+     * A configuration value of the booted runtime.
+     */
+    public String getSetting(String key, String defaultValue) {
+        return bootContext.getSetting(key, defaultValue);
+    }
+
+    @Override
+    protected void bootExtensions(ServiceExtensionContext context, List<InjectionContainer<ServiceExtension>> serviceExtensions) {
+        bootContext = context;
+        var monitor = context.getMonitor();
+        var deferredNames = context.getSetting(FAST_BOOT, false)
+                ? Arrays.stream(context.getSetting(DEFERRED_EXTENSIONS, DEFAULT_DEFERRED_EXTENSIONS).split(","))
+                        .map(String::trim)
+                        .collect(Collectors.toSet())
+                : Set.<String>of();
+
+        // the injection points and provider methods still target the original extension
+        // objects, only the lifecycle calls go through the timing wrapper
+        var timed = new ArrayList<TimedExtension>();
+        var containers = new ArrayList<InjectionContainer<ServiceExtension>>();
+        for (var container : serviceExtensions) {
+            var extension = new TimedExtension(container.getInjectionTarget(), deferredNames.contains(container.getInjectionTarget().name()));
+            timed.add(extension);
+            containers.add(new InjectionContainer<>(extension, container.getInjectionPoints(), container.getServiceProviders()));
+        }
+
+        var start = System.nanoTime();
+        super.bootExtensions(context, containers);
+        var bootMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        var deferred = timed.stream().filter(TimedExtension::deferred).toList();
+        if (!deferred.isEmpty()) {
+            var thread = new Thread(() -> runDeferred(deferred, monitor), "deferred-start");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        if (context.getSetting(PROFILE, true)) {
+            logProfile(timed, bootMillis, monitor);
+        }
+    }
+
+    private static void runDeferred(List<TimedExtension> deferred, Monitor monitor) {
+        for (var extension : deferred) {
+            try {
+                var millis = extension.startDeferred();
+                monitor.info("Deferred start of " + extension.name() + " finished in " + millis + " ms");
+            } catch (Exception e) {
+                monitor.severe("Deferred start of " + extension.name() + " failed", e);
+            }
+        }
+    }
+
+    private static void logProfile(List<TimedExtension> extensions, long bootMillis, Monitor monitor) {
+        var profile = new StringBuilder()
+                .append("Startup profile: extensions booted in ").append(bootMillis).append(" ms, ready ")
+                .append(ManagementFactory.getRuntimeMXBean().getUptime()).append(" ms after JVM start");
+        extensions.stream()
+                .sorted(Comparator.comparingLong(TimedExtension::totalNanos).reversed())
+                .forEach(extension -> profile.append(String.format("%n  %-50s %6d ms  (initialize %d, prepare %d, start %s)",
+                        extension.name(), millis(extension.totalNanos()), millis(extension.initializeNanos),
+                        millis(extension.prepareNanos), extension.deferred() ? "deferred" : millis(extension.startNanos))));
+        monitor.info(profile.toString());
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Delegates the lifecycle calls to the real extension and records their duration.
+     */
+    private static final class TimedExtension implements ServiceExtension {
+
+        private final ServiceExtension delegate;
+        private final boolean deferred;
+        private long initializeNanos;
+        private long prepareNanos;
+        private long startNanos;
+
+        TimedExtension(ServiceExtension delegate, boolean deferred) {
+            this.delegate = delegate;
+            this.deferred = deferred;
+        }
+
+        @Override
+        public String name() {
+            return delegate.name();
+        }
+
+        @Override
+        public void initialize(ServiceExtensionContext context) {
+            var start = System.nanoTime();
+            delegate.initialize(context);
+            initializeNanos = System.nanoTime() - start;
+        }
+
+        @Override
+        public void prepare() {
+            var start = System.nanoTime();
+            delegate.prepare();
+            prepareNanos = System.nanoTime() - start;
+        }
+
+        @Override
+        public void start() {
+            if (deferred) {
+                return;
+            }
+            var start = System.nanoTime();
+            delegate.start();
+            startNanos = System.nanoTime() - start;
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public void cleanup() {
+            delegate.cleanup();
+        }
+
+        boolean deferred() {
+            return deferred;
+        }
+
+        long startDeferred() {
+            var start = System.nanoTime();
+            delegate.start();
+            startNanos = System.nanoTime() - start;
+            return millis(startNanos);
+        }
+
+        long totalNanos() {
+            return initializeNanos + prepareNanos + startNanos;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.edc;
+
+import com.example.edc.extension.HttpResponseCacheExtension;
+import com.example.edc.extension.PersistentStoreExtension;
+import com.example.edc.extension.SharedRuntimeResources;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.spi.system.configuration.Config;
+import org.eclipse.edc.spi.system.configuration.ConfigFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * One of several connectors ("tenants") hosted in the same JVM.
+ *
+ * Every tenant is a complete EDC runtime with its own service registry, stores, policies
+ * and ports. Its configuration is the JVM-wide one (system properties, environment,
+ * edc.fs.config) overlaid with the tenant's own properties file, e.g.
+ * provider-connector.properties. What the tenants share is the code (classes, JIT
+ * output) and the resources in {@link SharedRuntimeResources}: executors, HTTP
+ * connection pool and compiled JSON-LD contexts.
+ *
+ * Tenant defaults, unless the file sets them:
+ * - edc.runtime.shared-resources=true
+ * - persistent stores under data/tenants/NAME/stores
+ * - HTTP response cache under data/tenants/NAME/http-cache
+ *
+ * Log lines are prefixed with the tenant name.
+ */
+class TenantRuntime extends ProfilingRuntime {
+
+    private final String name;
+    private final Map<String, String> settings;
+
+    TenantRuntime(String name, Map<String, String> settings) {
+        this.name = name;
+        this.settings = settings;
+    }
+
+    /**
+     * Creates and boots one tenant per properties file; a directory stands for all
+     * *.properties files in it. The tenants boot one after the other, so a port conflict
+     * shows up as a boot error of the tenant that reuses the port.
+     */
+    static List<TenantRuntime> bootAll(List<Path> paths) throws IOException {
+        var files = new ArrayList<Path>();
+        for (var path : paths) {
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> entries = Files.list(path)) {
+                    entries.filter(file -> file.toString().endsWith(".properties")).sorted().forEach(files::add);
+                }
+            } else {
+                files.add(path);
+            }
+        }
+
+        var tenants = new ArrayList<TenantRuntime>();
+        for (var file : files) {
+            var name = file.getFileName().toString().replaceFirst("\\.properties$", "");
+            var tenant = new TenantRuntime(name, load(file, name));
+            tenant.boot(false);
+            tenants.add(tenant);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            var reversed = new ArrayList<>(tenants);
+            Collections.reverse(reversed);
+            reversed.forEach(TenantRuntime::shutdown);
+        }));
+        return tenants;
+    }
+
+    String name() {
+        return name;
+    }
+
+    @Override
+    protected Monitor createMonitor() {
+        return super.createMonitor().withPrefix(name);
+    }
+
+    @Override
+    protected ServiceExtensionContext createServiceExtensionContext(Config config) {
+        return super.createServiceExtensionContext(config.merge(ConfigFactory.fromMap(settings)));
+    }
+
+    private static Map<String, String> load(Path file, String name) throws IOException {
+        var properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        var settings = new HashMap<String, String>();
+        settings.put(SharedRuntimeResources.SHARED, "true");
+        settings.put(PersistentStoreExtension.DIRECTORY, "data/tenants/" + name + "/stores");
+        settings.put(HttpResponseCacheExtension.DIRECTORY, "data/tenants/" + name + "/http-cache");
+        properties.stringPropertyNames().forEach(key -> settings.put(key, properties.getProperty(key)));
+        return settings;
+    }
+}
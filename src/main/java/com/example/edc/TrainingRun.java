@@ -0,0 +1,74 @@
+package com.example.edc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A few typical Management API calls against the freshly booted connector, so that the
+ * classes of the request path (Jersey, JSON-LD, transformers, stores) are loaded and
+ * initialized before a class data sharing archive is dumped or a CRaC checkpoint is taken.
+ *
+ * Uses HttpURLConnection and closes every connection, so no socket stays open for a
+ * checkpoint.
+ */
+final class TrainingRun {
+
+    private static final String QUERY = """
+            {
+              "@context": { "edc": "https://w3id.org/edc/v0.0.1/ns/" },
+              "@type": "QuerySpec",
+              "limit": 10
+            }
+            """;
+
+    private static final String ASSET = """
+            {
+              "@context": { "edc": "https://w3id.org/edc/v0.0.1/ns/" },
+              "@id": "training-run-asset",
+              "properties": { "name": "Training run asset", "contenttype": "application/json" },
+              "dataAddress": { "@type": "DataAddress", "type": "HttpData", "baseUrl": "https://example.com" }
+            }
+            """;
+
+    private TrainingRun() {
+    }
+
+    static void exercise(String managementUrl) {
+        call("GET", managementUrl + "/v3/assets/market-data-2025-q1", null);
+        call("POST", managementUrl + "/v3/assets/request", QUERY);
+        call("POST", managementUrl + "/v3/policydefinitions/request", QUERY);
+        call("POST", managementUrl + "/v3/contractdefinitions/request", QUERY);
+        call("POST", managementUrl + "/v3/assets", ASSET);
+        call("DELETE", managementUrl + "/v3/assets/training-run-asset", null);
+    }
+
+    private static void call(String method, String url, String body) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) URI.create(url).toURL().openConnection();
+            connection.setRequestMethod(method);
+            connection.setRequestProperty("Accept", "application/json");
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                connection.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            }
+            var status = connection.getResponseCode();
+            try (InputStream response = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (response != null) {
+                    response.readAllBytes();
+                }
+            }
+            System.out.println("  training run: " + method + " " + url + " -> " + status);
+        } catch (IOException e) {
+            System.out.println("  training run: " + method + " " + url + " failed: " + e.getMessage());
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+}
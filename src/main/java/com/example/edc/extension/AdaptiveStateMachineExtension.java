@@ -0,0 +1,88 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.contract.spi.event.contractnegotiation.ContractNegotiationEvent;
+import org.eclipse.edc.connector.controlplane.contract.spi.negotiation.NegotiationWaitStrategy;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessEvent;
+import org.eclipse.edc.connector.controlplane.transfer.spi.retry.TransferWaitStrategy;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.event.EventRouter;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+
+/**
+ * ADAPTIVE STATE MACHINE EXTENSION
+ *
+ * With edc.state-machine.wait-strategy=adaptive, the negotiation and transfer state
+ * machines use an {@link AdaptiveWaitStrategy}: they wake up on new work instead of
+ * sleeping a fixed interval, and back off exponentially while idle.
+ *
+ * The existing EDC settings keep their meaning as upper bounds:
+ * - edc.transfer.state-machine.iteration-wait-millis: longest idle wait of the transfer state machine
+ * - edc.negotiation.state-machine.iteration-wait-millis: same for negotiations
+ * - edc.transfer.state-machine.batch-size / edc.negotiation.state-machine.batch-size:
+ *   entities processed per state and iteration
+ *
+ * With the default (fixed) nothing is registered and EDC's exponential wait strategy is used,
+ * except for negotiations when the negotiation fast path is enabled
+ * ({@link NegotiationFastPathExtension}).
+ */
+@Provides({ TransferWaitStrategy.class, NegotiationWaitStrategy.class })
+public class AdaptiveStateMachineExtension implements ServiceExtension {
+
+    public static final String ADAPTIVE = "adaptive";
+
+    @Setting(value = "State machine wait strategy: 'fixed' (EDC default) or 'adaptive'", defaultValue = "fixed")
+    public static final String WAIT_STRATEGY = "edc.state-machine.wait-strategy";
+
+    @Setting(value = "Shortest idle wait of the adaptive wait strategy, doubled on every idle iteration", defaultValue = "10")
+    public static final String MIN_WAIT_MILLIS = "edc.state-machine.adaptive.min-wait-millis";
+
+    private static final String TRANSFER_ITERATION_WAIT = "edc.transfer.state-machine.iteration-wait-millis";
+    private static final String NEGOTIATION_ITERATION_WAIT = "edc.negotiation.state-machine.iteration-wait-millis";
+    private static final long DEFAULT_ITERATION_WAIT = 1000;
+
+    @Inject
+    private EventRouter eventRouter;
+
+    @Override
+    public String name() {
+        return "Adaptive State Machine Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        var adaptive = ADAPTIVE.equals(context.getSetting(WAIT_STRATEGY, "fixed"));
+        var negotiationFastPath = context.getSetting(NegotiationFastPathExtension.ENABLED, false);
+        if (!adaptive && !negotiationFastPath) {
+            return;
+        }
+
+        var minWait = context.getSetting(MIN_WAIT_MILLIS, 10L);
+        var transferMaxWait = context.getSetting(TRANSFER_ITERATION_WAIT, DEFAULT_ITERATION_WAIT);
+        var negotiationMaxWait = context.getSetting(NEGOTIATION_ITERATION_WAIT, DEFAULT_ITERATION_WAIT);
+        if (minWait < 1 || minWait > Math.min(transferMaxWait, negotiationMaxWait)) {
+            throw new EdcException(MIN_WAIT_MILLIS + " must be between 1 and the state machine iteration wait, was " + minWait);
+        }
+
+        if (adaptive) {
+            var transferWait = new AdaptiveWaitStrategy(minWait, transferMaxWait);
+            eventRouter.registerSync(TransferProcessEvent.class, transferWait);
+            context.registerService(TransferWaitStrategy.class, transferWait);
+        }
+
+        var negotiationWait = new AdaptiveWaitStrategy(minWait, negotiationMaxWait);
+        eventRouter.registerSync(ContractNegotiationEvent.class, negotiationWait);
+        context.registerService(NegotiationWaitStrategy.class, negotiationWait);
+
+        if (adaptive) {
+            context.getMonitor().info("Adaptive state machines: waking on new work, idle back-off "
+                    + minWait + "ms up to " + transferMaxWait + "ms (transfer) / " + negotiationMaxWait + "ms (negotiation)");
+        } else {
+            context.getMonitor().info("Adaptive negotiation state machine (fast path): waking on new work, idle back-off "
+                    + minWait + "ms up to " + negotiationMaxWait + "ms");
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.contract.spi.negotiation.NegotiationWaitStrategy;
+import org.eclipse.edc.connector.controlplane.transfer.spi.retry.TransferWaitStrategy;
+import org.eclipse.edc.spi.event.Event;
+import org.eclipse.edc.spi.event.EventEnvelope;
+import org.eclipse.edc.spi.event.EventSubscriber;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ADAPTIVE WAIT STRATEGY
+ *
+ * Wait strategy for the negotiation and transfer state machines. EDC's default waits a
+ * fixed iteration-wait-millis whenever an iteration found nothing to do, so a transfer that
+ * is requested right after an idle iteration waits up to a full second before it is picked
+ * up - and again for every following state.
+ *
+ * This strategy instead:
+ * - wakes the state machine as soon as an event for its entities is published (new
+ *   negotiation or transfer, state change, message from the counter-party)
+ * - when nothing happens, backs off exponentially from minWaitMillis up to maxWaitMillis
+ *
+ * HOW IT WAITS:
+ * ------------
+ * The state machine only asks for a wait after an idle iteration, on its own thread. The
+ * wait happens right here (interruptible by {@link #on}) and 0 is returned, so the state
+ * machine polls again immediately after a wake-up or when the back-off has elapsed.
+ * A wake-up that arrives while the state machine is busy is remembered, so it is never lost.
+ *
+ * One instance may serve several state machines (EDC's consumer and provider negotiation
+ * managers share the NegotiationWaitStrategy). Every event therefore bumps a generation
+ * counter and wakes all waiters; each state machine keeps the last generation it has seen
+ * and its own back-off, so one state machine neither consumes another's wake-up nor resets
+ * its back-off.
+ *
+ * SHARED RUNTIMES:
+ * ---------------
+ * With edc.runtime.shared-resources=true a state machine runs on a
+ * {@link SharedExecutorView}: every iteration is a task on whichever shared worker is free,
+ * so neither a thread nor a blocking wait can stand for the state machine. There the wait
+ * state is kept per view, the back-off is returned as the delay of the next iteration, and
+ * an event runs that iteration right away ({@link SharedExecutorView#expedite()}). The
+ * shared worker is never blocked.
+ */
+class AdaptiveWaitStrategy implements TransferWaitStrategy, NegotiationWaitStrategy, EventSubscriber {
+
+    private final long minWaitMillis;
+    private final long maxWaitMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition wakeUp = lock.newCondition();
+    private final ThreadLocal<Waiter> waiters = ThreadLocal.withInitial(Waiter::new);
+    // guarded by lock
+    private final Map<SharedExecutorView, Waiter> viewWaiters = new WeakHashMap<>();
+    private final Set<SharedExecutorView> sleeping = new HashSet<>();
+    private long generation;
+
+    AdaptiveWaitStrategy(long minWaitMillis, long maxWaitMillis) {
+        this.minWaitMillis = minWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    public <E extends Event> void on(EventEnvelope<E> event) {
+        List<SharedExecutorView> woken;
+        lock.lock();
+        try {
+            generation++;
+            wakeUp.signalAll();
+            woken = List.copyOf(sleeping);
+            sleeping.clear();
+        } finally {
+            lock.unlock();
+        }
+        woken.forEach(SharedExecutorView::expedite);
+    }
+
+    @Override
+    public long waitForMillis() {
+        var view = SharedExecutorView.current();
+        return view != null ? delayFor(view) : awaitWakeUp();
+    }
+
+    private long awaitWakeUp() {
+        var waiter = waiters.get();
+        lock.lock();
+        try {
+            var remaining = TimeUnit.MILLISECONDS.toNanos(waiter.nextWaitMillis);
+            while (generation == waiter.seenGeneration && remaining > 0) {
+                remaining = wakeUp.awaitNanos(remaining);
+            }
+            if (generation != waiter.seenGeneration) {
+                waiter.seenGeneration = generation;
+                waiter.nextWaitMillis = minWaitMillis;
+            } else {
+                waiter.nextWaitMillis = Math.min(waiter.nextWaitMillis * 2, maxWaitMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+        return 0;
+    }
+
+    /**
+     * Back-off of a state machine on a shared executor view, 0 when an event arrived since
+     * its last iteration.
+     */
+    private long delayFor(SharedExecutorView view) {
+        lock.lock();
+        try {
+            var waiter = viewWaiters.computeIfAbsent(view, v -> new Waiter());
+            if (generation != waiter.seenGeneration) {
+                waiter.seenGeneration = generation;
+                waiter.nextWaitMillis = minWaitMillis;
+                return 0;
+            }
+            var delay = waiter.nextWaitMillis;
+            waiter.nextWaitMillis = Math.min(delay * 2, maxWaitMillis);
+            sleeping.add(view);
+            return delay;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * An iteration failed: don't retry in a tight loop.
+     */
+    @Override
+    public long retryInMillis() {
+        return maxWaitMillis;
+    }
+
+    /**
+     * Wait state of one state machine.
+     */
+    private final class Waiter {
+        private long seenGeneration;
+        private long nextWaitMillis = minWaitMillis;
+
+        Waiter() {
+            lock.lock();
+            try {
+                seenGeneration = generation;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
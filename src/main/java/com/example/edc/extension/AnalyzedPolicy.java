@@ -0,0 +1,103 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.policy.model.AtomicConstraint;
+import org.eclipse.edc.policy.model.Constraint;
+import org.eclipse.edc.policy.model.LiteralExpression;
+import org.eclipse.edc.policy.model.MultiplicityConstraint;
+import org.eclipse.edc.policy.model.Policy;
+import org.eclipse.edc.policy.model.Rule;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A policy analysed once, when it is first used, instead of on every evaluation. The
+ * policy itself is still evaluated by the policy engine; the analysis only tells the
+ * {@link PolicyDecisionCache} what a decision depends on:
+ *
+ * - cacheable: no constraint depends on the time of evaluation (see volatileOperands),
+ *   so the decision for a given participant can be reused.
+ * - operands: the left operands of all constraints (full IRI and local name). Only the
+ *   claims and attributes of the participant named like one of them are part of the
+ *   cache key, so per-token claims such as iat, exp or jti do not defeat the cache.
+ *
+ * Instances are compared by identity: a changed policy is analysed again, which gives it
+ * fresh entries in the {@link PolicyDecisionCache}.
+ */
+final class AnalyzedPolicy {
+
+    private final Policy policy;
+    private final boolean cacheable;
+    private final Set<String> operands;
+
+    private AnalyzedPolicy(Policy policy, boolean cacheable, Set<String> operands) {
+        this.policy = policy;
+        this.cacheable = cacheable;
+        this.operands = operands;
+    }
+
+    /**
+     * @param volatileOperands left operands whose evaluation changes over time (e.g.
+     *                         inForceDate); matched against the full IRI and its local name
+     */
+    static AnalyzedPolicy analyze(Policy policy, Set<String> volatileOperands) {
+        var leftOperands = new HashSet<String>();
+        for (var rule : rules(policy)) {
+            collectLeftOperands(rule.getConstraints(), leftOperands);
+        }
+        var cacheable = leftOperands.stream().noneMatch(operand -> volatileOperands.contains(operand) || volatileOperands.contains(localName(operand)));
+        var operands = new HashSet<String>(leftOperands);
+        leftOperands.forEach(operand -> operands.add(localName(operand)));
+        return new AnalyzedPolicy(policy, cacheable, Set.copyOf(operands));
+    }
+
+    Policy policy() {
+        return policy;
+    }
+
+    boolean cacheable() {
+        return cacheable;
+    }
+
+    /**
+     * The entries of a participant's claims or attributes the policy's constraints can read.
+     */
+    <V> Map<String, V> referenced(Map<String, V> values) {
+        var referenced = new TreeMap<String, V>();
+        if (values != null && !operands.isEmpty()) {
+            values.forEach((name, value) -> {
+                if (operands.contains(name) || operands.contains(localName(name))) {
+                    referenced.put(name, value);
+                }
+            });
+        }
+        return referenced;
+    }
+
+    private static List<Rule> rules(Policy policy) {
+        var rules = new ArrayList<Rule>(policy.getPermissions());
+        rules.addAll(policy.getProhibitions());
+        rules.addAll(policy.getObligations());
+        policy.getPermissions().forEach(permission -> rules.addAll(permission.getDuties()));
+        return rules;
+    }
+
+    private static void collectLeftOperands(List<Constraint> constraints, Set<String> leftOperands) {
+        for (var constraint : constraints) {
+            if (constraint instanceof AtomicConstraint atomic && atomic.getLeftExpression() instanceof LiteralExpression literal) {
+                leftOperands.add(literal.asString());
+            } else if (constraint instanceof MultiplicityConstraint multiplicity) {
+                collectLeftOperands(multiplicity.getConstraints(), leftOperands);
+            }
+        }
+    }
+
+    private static String localName(String iri) {
+        var separator = Math.max(iri.lastIndexOf('/'), Math.max(iri.lastIndexOf('#'), iri.lastIndexOf(':')));
+        return iri.substring(separator + 1);
+    }
+}
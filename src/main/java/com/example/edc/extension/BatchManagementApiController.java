@@ -0,0 +1,91 @@
+package com.example.edc.extension;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.edc.connector.controlplane.asset.spi.domain.Asset;
+import org.eclipse.edc.connector.controlplane.contract.spi.types.offer.ContractDefinition;
+import org.eclipse.edc.connector.controlplane.policy.spi.PolicyDefinition;
+
+import java.io.InputStream;
+
+/**
+ * Batch endpoints of the Management API, registered on the management context by
+ * {@link BatchManagementApiExtension}. For each of assets, policy definitions and contract
+ * definitions:
+ *
+ *   POST /v3/batch/assets          create
+ *   PUT  /v3/batch/assets          update
+ *   POST /v3/batch/assets/delete   delete (IDs, or objects with @id)
+ *
+ * The body is a JSON array of the same JSON-LD objects the single-item endpoints take, or
+ * the same objects as NDJSON (Content-Type: application/x-ndjson). The response lists the
+ * outcome of every item; see {@link BatchWriter}.
+ *
+ * One resource class per entity type, all below /v3/batch: a path below EDC's own
+ * resources (e.g. /v3/assets/batch) would shadow GET and DELETE of an entity with the ID
+ * "batch".
+ */
+public final class BatchManagementApiController {
+
+    private BatchManagementApiController() {
+    }
+
+    @Path("/v3/batch/assets")
+    public static class Assets extends BatchResource<Asset> {
+        Assets(BatchWriter<Asset> writer) {
+            super(writer);
+        }
+    }
+
+    @Path("/v3/batch/policydefinitions")
+    public static class PolicyDefinitions extends BatchResource<PolicyDefinition> {
+        PolicyDefinitions(BatchWriter<PolicyDefinition> writer) {
+            super(writer);
+        }
+    }
+
+    @Path("/v3/batch/contractdefinitions")
+    public static class ContractDefinitions extends BatchResource<ContractDefinition> {
+        ContractDefinitions(BatchWriter<ContractDefinition> writer) {
+            super(writer);
+        }
+    }
+
+    public abstract static class BatchResource<T> {
+
+        private final BatchWriter<T> writer;
+
+        BatchResource(BatchWriter<T> writer) {
+            this.writer = writer;
+        }
+
+        @POST
+        @Consumes({ MediaType.APPLICATION_JSON, BatchWriter.NDJSON })
+        @Produces(MediaType.APPLICATION_JSON)
+        public Response create(@HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+            return Response.ok(writer.apply(body, contentType, BatchWriter.Operation.CREATE)).build();
+        }
+
+        @PUT
+        @Consumes({ MediaType.APPLICATION_JSON, BatchWriter.NDJSON })
+        @Produces(MediaType.APPLICATION_JSON)
+        public Response update(@HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+            return Response.ok(writer.apply(body, contentType, BatchWriter.Operation.UPDATE)).build();
+        }
+
+        @POST
+        @Consumes({ MediaType.APPLICATION_JSON, BatchWriter.NDJSON })
+        @Produces(MediaType.APPLICATION_JSON)
+        @Path("/delete")
+        public Response delete(@HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+            return Response.ok(writer.apply(body, contentType, BatchWriter.Operation.DELETE)).build();
+        }
+    }
+}
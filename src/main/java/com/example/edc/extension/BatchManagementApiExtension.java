@@ -0,0 +1,84 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.asset.spi.domain.Asset;
+import org.eclipse.edc.connector.controlplane.contract.spi.types.offer.ContractDefinition;
+import org.eclipse.edc.connector.controlplane.policy.spi.PolicyDefinition;
+import org.eclipse.edc.connector.controlplane.services.spi.asset.AssetService;
+import org.eclipse.edc.connector.controlplane.services.spi.contractdefinition.ContractDefinitionService;
+import org.eclipse.edc.connector.controlplane.services.spi.policydefinition.PolicyDefinitionService;
+import org.eclipse.edc.jsonld.spi.JsonLd;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.transform.spi.TypeTransformerRegistry;
+import org.eclipse.edc.validator.spi.JsonObjectValidatorRegistry;
+import org.eclipse.edc.web.spi.WebService;
+
+import static org.eclipse.edc.spi.constants.CoreConstants.EDC_NAMESPACE;
+
+/**
+ * BATCH MANAGEMENT API EXTENSION
+ *
+ * The Management API creates, updates and deletes one entity per request. For runtime bulk
+ * loads (the startup counterpart is {@link BulkImportExtension}) this extension adds batch
+ * endpoints ({@link BatchManagementApiController}), e.g. POST /v3/batch/assets with a JSON
+ * array or an NDJSON stream of assets:
+ *
+ *   POST /v3/batch/{assets|policydefinitions|contractdefinitions}          create
+ *   PUT  /v3/batch/{assets|policydefinitions|contractdefinitions}          update
+ *   POST /v3/batch/{assets|policydefinitions|contractdefinitions}/delete   delete
+ *
+ * Batch items go through the same entity services (AssetService, ...) as the single-item
+ * endpoints. Disable them with edc.batch.api.enabled=false.
+ */
+public class BatchManagementApiExtension implements ServiceExtension {
+
+    @Setting(value = "Expose the batch create/update/delete endpoints on the Management API", defaultValue = "true")
+    public static final String ENABLED = "edc.batch.api.enabled";
+
+    @Inject
+    private AssetService assetService;
+
+    @Inject
+    private PolicyDefinitionService policyDefinitionService;
+
+    @Inject
+    private ContractDefinitionService contractDefinitionService;
+
+    @Inject
+    private WebService webService;
+
+    @Inject
+    private JsonLd jsonLd;
+
+    @Inject
+    private JsonObjectValidatorRegistry validatorRegistry;
+
+    @Inject
+    private TypeTransformerRegistry transformerRegistry;
+
+    @Override
+    public String name() {
+        return "Batch Management API Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        if (!context.getSetting(ENABLED, true)) {
+            return;
+        }
+        webService.registerResource("management", new BatchManagementApiController.Assets(new BatchWriter<>(
+                EDC_NAMESPACE + "Asset", Asset.class, Asset::getId,
+                assetService::create, assetService::update, assetService::delete,
+                jsonLd, validatorRegistry, transformerRegistry)));
+        webService.registerResource("management", new BatchManagementApiController.PolicyDefinitions(new BatchWriter<>(
+                EDC_NAMESPACE + "PolicyDefinition", PolicyDefinition.class, PolicyDefinition::getId,
+                policyDefinitionService::create, policyDefinitionService::update, policyDefinitionService::deleteById,
+                jsonLd, validatorRegistry, transformerRegistry)));
+        webService.registerResource("management", new BatchManagementApiController.ContractDefinitions(new BatchWriter<>(
+                EDC_NAMESPACE + "ContractDefinition", ContractDefinition.class, ContractDefinition::getId,
+                contractDefinitionService::create, contractDefinitionService::update, contractDefinitionService::delete,
+                jsonLd, validatorRegistry, transformerRegistry)));
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.edc.extension;
+
+import jakarta.json.Json;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonParser;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.edc.jsonld.spi.JsonLd;
+import org.eclipse.edc.spi.result.ServiceResult;
+import org.eclipse.edc.transform.spi.TypeTransformerRegistry;
+import org.eclipse.edc.validator.spi.JsonObjectValidatorRegistry;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Applies a batch of Management API entities of one type in a single pass over the
+ * request body, item by item: expand (JSON-LD) → validate → transform → entity service.
+ * The entity services are the ones behind the single-item endpoints, so every item gets
+ * their checks (e.g. data address validation, no deletion of referenced entities) and
+ * their events.
+ *
+ * The body is either a JSON array or NDJSON (one JSON-LD object per line); it is read as a
+ * stream, never as one document. Items are independent: a failing item is reported and the
+ * batch goes on, so every item gets its own result.
+ */
+final class BatchWriter<T> {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final String type;
+    private final Class<T> entityClass;
+    private final Function<T, String> idOf;
+    private final Function<T, ServiceResult<?>> create;
+    private final Function<T, ServiceResult<?>> update;
+    private final Function<String, ServiceResult<?>> delete;
+    private final JsonLd jsonLd;
+    private final JsonObjectValidatorRegistry validatorRegistry;
+    private final TypeTransformerRegistry transformerRegistry;
+
+    enum Operation {
+        CREATE("created"), UPDATE("updated"), DELETE("deleted");
+
+        private final String status;
+
+        Operation(String status) {
+            this.status = status;
+        }
+    }
+
+    private record ItemResult(int index, String id, String status, String error) {
+    }
+
+    /**
+     * @param type JSON-LD type the items are validated against, e.g. edc:Asset
+     */
+    BatchWriter(String type, Class<T> entityClass, Function<T, String> idOf, Function<T, ServiceResult<?>> create,
+                Function<T, ServiceResult<?>> update, Function<String, ServiceResult<?>> delete, JsonLd jsonLd,
+                JsonObjectValidatorRegistry validatorRegistry, TypeTransformerRegistry transformerRegistry) {
+        this.type = type;
+        this.entityClass = entityClass;
+        this.idOf = idOf;
+        this.create = create;
+        this.update = update;
+        this.delete = delete;
+        this.jsonLd = jsonLd;
+        this.validatorRegistry = validatorRegistry;
+        this.transformerRegistry = transformerRegistry.forContext("management-api");
+    }
+
+    /**
+     * Processes the whole body, then returns the per-item results as
+     * {"succeeded": n, "failed": n, "results": [{"index", "id", "status", "error"}]}.
+     */
+    StreamingOutput apply(InputStream body, String contentType, Operation operation) {
+        var results = new ArrayList<ItemResult>();
+        var index = new int[1];
+        Consumer<JsonValue> item = value -> results.add(apply(index[0]++, value, operation));
+        try {
+            if (contentType != null && contentType.startsWith(NDJSON)) {
+                readNdjson(body, item);
+            } else {
+                readArray(body, item);
+            }
+        } catch (JsonException e) {
+            if (results.isEmpty()) {
+                throw new InvalidRequestException("Invalid batch: " + e.getMessage());
+            }
+            // the items before the syntax error are stored already, report them
+            results.add(failure(index[0], null, "Invalid JSON, rest of the batch skipped: " + e.getMessage()));
+        }
+        return output -> writeResults(results, output);
+    }
+
+    private ItemResult apply(int index, JsonValue value, Operation operation) {
+        try {
+            return applyItem(index, value, operation);
+        } catch (RuntimeException e) {
+            return failure(index, null, e.getMessage());
+        }
+    }
+
+    private ItemResult applyItem(int index, JsonValue value, Operation operation) {
+        if (value == null) {
+            return failure(index, null, "invalid JSON");
+        }
+        if (operation == Operation.DELETE) {
+            var id = value instanceof JsonString string ? string.getString()
+                    : value instanceof JsonObject object ? object.getString("@id", null) : null;
+            if (id == null) {
+                return failure(index, null, "expected an ID or an object with @id");
+            }
+            return stored(index, id, delete.apply(id), operation);
+        }
+
+        if (!(value instanceof JsonObject object)) {
+            return failure(index, null, "expected a JSON object");
+        }
+        var id = object.getString("@id", null);
+        var expanded = jsonLd.expand(object);
+        if (expanded.failed()) {
+            return failure(index, id, expanded.getFailureDetail());
+        }
+        var validation = validatorRegistry.validate(type, expanded.getContent());
+        if (validation.failed()) {
+            return failure(index, id, validation.getFailureDetail());
+        }
+        var entity = transformerRegistry.transform(expanded.getContent(), entityClass);
+        if (entity.failed()) {
+            return failure(index, id, entity.getFailureDetail());
+        }
+        var entityId = idOf.apply(entity.getContent());
+        var result = operation == Operation.CREATE ? create.apply(entity.getContent()) : update.apply(entity.getContent());
+        return stored(index, entityId, result, operation);
+    }
+
+    private static ItemResult stored(int index, String id, ServiceResult<?> result, Operation operation) {
+        return result.succeeded() ? new ItemResult(index, id, operation.status, null) : failure(index, id, result.getFailureDetail());
+    }
+
+    private static ItemResult failure(int index, String id, String error) {
+        return new ItemResult(index, id, "failed", error);
+    }
+
+    private static void readArray(InputStream body, Consumer<JsonValue> item) {
+        try (var parser = Json.createParser(body)) {
+            if (!parser.hasNext() || parser.next() != JsonParser.Event.START_ARRAY) {
+                throw new InvalidRequestException("Expected a JSON array, or NDJSON with Content-Type " + NDJSON);
+            }
+            parser.getArrayStream().forEach(item);
+        }
+    }
+
+    private static void readNdjson(InputStream body, Consumer<JsonValue> item) {
+        try (var lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonValue value;
+                try (var reader = Json.createReader(new StringReader(line))) {
+                    value = reader.readValue();
+                } catch (JsonException e) {
+                    value = null; // one bad line only fails its own item
+                }
+                item.accept(value);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeResults(List<ItemResult> results, OutputStream output) {
+        var failed = results.stream().filter(result -> result.error() != null).count();
+        try (var generator = Json.createGenerator(output)) {
+            generator.writeStartObject()
+                    .write("succeeded", results.size() - failed)
+                    .write("failed", failed)
+                    .writeStartArray("results");
+            for (var result : results) {
+                generator.writeStartObject().write("index", result.index());
+                if (result.id() != null) {
+                    generator.write("id", result.id());
+                }
+                generator.write("status", result.status());
+                if (result.error() != null) {
+                    generator.write("error", result.error());
+                }
+                generator.writeEnd();
+            }
+            generator.writeEnd().writeEnd();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.asset.spi.index.AssetIndex;
+import org.eclipse.edc.connector.controlplane.contract.spi.offer.store.ContractDefinitionStore;
+import org.eclipse.edc.connector.controlplane.policy.spi.store.PolicyDefinitionStore;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.spi.types.TypeManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * BULK IMPORT EXTENSION
+ *
+ * SampleDataExtension registers one asset, one policy and one contract definition. To seed
+ * a connector with a realistic catalog (hundreds of thousands of offerings) point
+ * edc.bulk.import.file at an NDJSON file; it is loaded by {@link BulkImporter} when the
+ * connector starts.
+ *
+ * Without edc.bulk.import.file no file is imported. The same kind of bulk load is possible
+ * at runtime through the batch endpoints of {@link BatchManagementApiExtension}.
+ */
+public class BulkImportExtension implements ServiceExtension {
+
+    @Setting(value = "Path of an NDJSON file with assets, policies and contract definitions to import at startup")
+    public static final String IMPORT_FILE = "edc.bulk.import.file";
+
+    @Setting(value = "Number of records inserted per batch", defaultValue = "1000")
+    public static final String BATCH_SIZE = "edc.bulk.import.batch-size";
+
+    @Setting(value = "Number of worker threads inserting batches, defaults to the number of CPU cores")
+    public static final String THREADS = "edc.bulk.import.threads";
+
+    @Inject
+    private AssetIndex assetIndex;
+
+    @Inject
+    private PolicyDefinitionStore policyStore;
+
+    @Inject
+    private ContractDefinitionStore contractStore;
+
+    @Inject
+    private TypeManager typeManager;
+
+    private Monitor monitor;
+    private Path importFile;
+    private int batchSize;
+    private int threads;
+
+    @Override
+    public String name() {
+        return "Bulk Import Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        monitor = context.getMonitor();
+
+        var file = context.getSetting(IMPORT_FILE, null);
+        if (file == null) {
+            return;
+        }
+        importFile = Path.of(file);
+        if (!Files.isReadable(importFile)) {
+            throw new EdcException("Bulk import file is not readable: " + importFile.toAbsolutePath());
+        }
+        batchSize = context.getSetting(BATCH_SIZE, 1000);
+        threads = context.getSetting(THREADS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * The import runs in start() rather than initialize() so that every other extension
+     * (e.g. listeners on the stores) is fully set up before the first record arrives.
+     */
+    @Override
+    public void start() {
+        if (importFile == null) {
+            return;
+        }
+        monitor.info("Bulk import: loading " + importFile.toAbsolutePath() + " (batch size " + batchSize + ", " + threads + " threads)");
+        try {
+            new BulkImporter(assetIndex, policyStore, contractStore, typeManager.getMapper(), monitor, batchSize, threads).importFile(importFile);
+        } catch (IOException e) {
+            throw new EdcException("Bulk import of " + importFile + " failed", e);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.edc.extension;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.connector.controlplane.asset.spi.domain.Asset;
+import org.eclipse.edc.connector.controlplane.asset.spi.index.AssetIndex;
+import org.eclipse.edc.connector.controlplane.contract.spi.offer.store.ContractDefinitionStore;
+import org.eclipse.edc.connector.controlplane.contract.spi.types.offer.ContractDefinition;
+import org.eclipse.edc.connector.controlplane.policy.spi.PolicyDefinition;
+import org.eclipse.edc.connector.controlplane.policy.spi.store.PolicyDefinitionStore;
+import org.eclipse.edc.policy.model.Policy;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.result.StoreResult;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * STREAMING BULK IMPORTER
+ *
+ * Loads assets, policies and contract definitions from an NDJSON file (one JSON object
+ * per line) straight into the stores.
+ *
+ * Record Format:
+ * -------------
+ * Every line carries a "type" of asset, policy or contractDefinition:
+ *
+ *   {"type":"asset","id":"a-1","properties":{"name":"...","category":"financial-market"},
+ *    "dataAddress":{"type":"HttpData","baseUrl":"https://..."}}
+ *   {"type":"policy","id":"financial-research-policy","policy":{"permissions":[{"action":{"type":"use"}}]}}
+ *   {"type":"contractDefinition","id":"cd-1","accessPolicyId":"p-1","contractPolicyId":"p-1",
+ *    "assetsSelector":[{"operandLeft":"https://w3id.org/edc/v0.0.1/ns/id","operator":"=","operandRight":"a-1"}]}
+ *
+ * The "policy" of a policy record is EDC's own JSON form of a Policy (permissions,
+ * prohibitions, obligations with their constraints), the form EDC's SQL stores persist it
+ * in, read with the connector's TypeManager mapper. "policy":{} stores an empty policy, as
+ * in SampleDataExtension; a policy record without "policy" is rejected.
+ *
+ * How it stays fast and small:
+ * ---------------------------
+ * - The file is read with Jackson's streaming parser, one record at a time. The whole
+ *   file is never held in memory as a JSON tree.
+ * - Records are grouped into batches per type and each batch is inserted on a worker
+ *   thread (one per core by default).
+ * - The work queue is bounded: when all workers are busy the reading thread inserts the
+ *   next batch itself, which throttles reading instead of buffering the file on the heap.
+ */
+public class BulkImporter {
+
+    private static final String TYPE_ASSET = "asset";
+    private static final String TYPE_POLICY = "policy";
+    private static final String TYPE_CONTRACT_DEFINITION = "contractDefinition";
+
+    private final AssetIndex assetIndex;
+    private final PolicyDefinitionStore policyStore;
+    private final ContractDefinitionStore contractStore;
+    private final ObjectMapper policyMapper;
+    private final Monitor monitor;
+    private final int batchSize;
+    private final int threads;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final LongAdder imported = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * @param policyMapper mapper that knows EDC's policy types, i.e. TypeManager.getMapper()
+     */
+    public BulkImporter(AssetIndex assetIndex, PolicyDefinitionStore policyStore, ContractDefinitionStore contractStore,
+                        ObjectMapper policyMapper, Monitor monitor, int batchSize, int threads) {
+        this.assetIndex = assetIndex;
+        this.policyStore = policyStore;
+        this.contractStore = contractStore;
+        this.policyMapper = policyMapper;
+        this.monitor = monitor;
+        this.batchSize = batchSize;
+        this.threads = threads;
+    }
+
+    /**
+     * Imports every record of the given file and logs throughput and heap usage at the end.
+     *
+     * @return the number of records that were stored successfully
+     */
+    public long importFile(Path file) throws IOException {
+        var executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        var start = System.nanoTime();
+        var assets = new ArrayList<BulkRecord>(batchSize);
+        var policies = new ArrayList<BulkRecord>(batchSize);
+        var contractDefinitions = new ArrayList<BulkRecord>(batchSize);
+
+        try (var in = new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+             var records = objectMapper.readerFor(BulkRecord.class).<BulkRecord>readValues(in)) {
+
+            while (records.hasNextValue()) {
+                var record = records.nextValue();
+                var batch = switch (String.valueOf(record.type())) {
+                    case TYPE_ASSET -> assets;
+                    case TYPE_POLICY -> policies;
+                    case TYPE_CONTRACT_DEFINITION -> contractDefinitions;
+                    default -> null;
+                };
+                if (batch == null) {
+                    failed.increment();
+                    monitor.warning("Bulk import: skipping record with unknown type '" + record.type() + "'");
+                    continue;
+                }
+                batch.add(record);
+                if (batch.size() >= batchSize) {
+                    submit(executor, record.type(), new ArrayList<>(batch));
+                    batch.clear();
+                }
+            }
+
+            submit(executor, TYPE_ASSET, assets);
+            submit(executor, TYPE_POLICY, policies);
+            submit(executor, TYPE_CONTRACT_DEFINITION, contractDefinitions);
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+
+        report(System.nanoTime() - start);
+        return imported.sum();
+    }
+
+    private void submit(ThreadPoolExecutor executor, String type, List<BulkRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        switch (type) {
+            case TYPE_ASSET -> executor.execute(() -> insert(batch, this::toAsset, assetIndex::create));
+            case TYPE_POLICY -> executor.execute(() -> insert(batch, this::toPolicyDefinition, policyStore::create));
+            default -> executor.execute(() -> insert(batch, this::toContractDefinition, contractStore::save));
+        }
+    }
+
+    private <T> void insert(List<BulkRecord> batch, Function<BulkRecord, T> mapper, Function<T, StoreResult<?>> store) {
+        for (var record : batch) {
+            try {
+                var result = store.apply(mapper.apply(record));
+                if (result.succeeded()) {
+                    imported.increment();
+                } else {
+                    failed.increment();
+                    monitor.debug(() -> "Bulk import: " + record.id() + " not stored: " + result.getFailureDetail());
+                }
+            } catch (RuntimeException e) {
+                failed.increment();
+                monitor.warning("Bulk import: invalid record " + record.id(), e);
+            }
+        }
+    }
+
+    private void awaitTermination(ThreadPoolExecutor executor) {
+        try {
+            while (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                monitor.info("Bulk import: " + imported.sum() + " records stored so far");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private void report(long elapsedNanos) {
+        var seconds = Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+        var heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+        monitor.info(String.format("✓ Bulk import finished: %d records stored, %d failed in %.1f s (%.0f records/s)",
+                imported.sum(), failed.sum(), seconds, imported.sum() / seconds));
+        monitor.info(String.format("  - Heap used: %d MB of %d MB committed (max %d MB)",
+                heap.getUsed() >> 20, heap.getCommitted() >> 20, heap.getMax() >> 20));
+    }
+
+    // =============================================================================
+    // RECORD MAPPING
+    // =============================================================================
+
+    private Asset toAsset(BulkRecord record) {
+        var builder = Asset.Builder.newInstance().id(record.id());
+        if (record.properties() != null) {
+            record.properties().forEach(builder::property);
+        }
+        if (record.dataAddress() != null) {
+            var dataAddress = DataAddress.Builder.newInstance();
+            record.dataAddress().forEach((key, value) -> {
+                if ("type".equals(key)) {
+                    dataAddress.type(String.valueOf(value));
+                } else {
+                    dataAddress.property(key, value);
+                }
+            });
+            builder.dataAddress(dataAddress.build());
+        }
+        return builder.build();
+    }
+
+    private PolicyDefinition toPolicyDefinition(BulkRecord record) {
+        if (record.policy() == null) {
+            throw new IllegalArgumentException("policy record without 'policy'");
+        }
+        return PolicyDefinition.Builder.newInstance()
+                .id(record.id())
+                .policy(policyMapper.convertValue(record.policy(), Policy.class))
+                .build();
+    }
+
+    private ContractDefinition toContractDefinition(BulkRecord record) {
+        var criteria = new ArrayList<Criterion>();
+        if (record.assetsSelector() != null) {
+            for (var selector : record.assetsSelector()) {
+                criteria.add(Criterion.Builder.newInstance()
+                        .operandLeft(selector.get("operandLeft"))
+                        .operator(String.valueOf(selector.get("operator")))
+                        .operandRight(selector.get("operandRight"))
+                        .build());
+            }
+        }
+        return ContractDefinition.Builder.newInstance()
+                .id(record.id())
+                .accessPolicyId(record.accessPolicyId())
+                .contractPolicyId(record.contractPolicyId())
+                .assetsSelector(criteria)
+                .build();
+    }
+
+    /**
+     * One line of the import file. Only the fields relevant to the record's type are set.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record BulkRecord(String type,
+                      String id,
+                      Map<String, Object> properties,
+                      Map<String, Object> dataAddress,
+                      Map<String, Object> policy,
+                      String accessPolicyId,
+                      String contractPolicyId,
+                      List<Map<String, Object>> assetsSelector) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.edc.extension;
+
+import jakarta.json.Json;
+import jakarta.json.JsonNumber;
+import org.eclipse.edc.connector.dataplane.spi.AccessTokenData;
+import org.eclipse.edc.connector.dataplane.spi.iam.DataPlaneAccessTokenService;
+import org.eclipse.edc.spi.iam.TokenParameters;
+import org.eclipse.edc.spi.iam.TokenRepresentation;
+import org.eclipse.edc.spi.result.Result;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Data plane access token service that remembers validated tokens.
+ *
+ * EDC's service verifies every presented token in-process: it parses the JWT, resolves the
+ * public key under edc.transfer.proxy.token.verifier.publickey.alias, checks signature and
+ * claims and loads the token's data from the access token store. A consumer pulling data
+ * presents the same token on every request, so the result of the first verification is
+ * kept until the token expires (its exp claim, at most maxTtlMillis).
+ *
+ * Only successful resolutions are cached. Revoking the tokens of a transfer process drops
+ * the whole cache, so no revoked token is accepted afterwards; a resolution that was
+ * running while tokens were revoked is not cached either (revocations are counted, and
+ * the count must be the same before and after it). When maxEntries is reached,
+ * expired entries are dropped first and then arbitrary ones, down to three quarters of
+ * the limit.
+ */
+class CachingAccessTokenService implements DataPlaneAccessTokenService {
+
+    private final DataPlaneAccessTokenService delegate;
+    private final int maxEntries;
+    private final long maxTtlMillis;
+    private final Map<String, Validated> validated = new ConcurrentHashMap<>();
+    private final AtomicLong revocations = new AtomicLong();
+
+    private record Validated(AccessTokenData data, long expiresAt) {
+    }
+
+    CachingAccessTokenService(DataPlaneAccessTokenService delegate, int maxEntries, long maxTtlMillis) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.maxTtlMillis = maxTtlMillis;
+    }
+
+    @Override
+    public Result<TokenRepresentation> obtainToken(TokenParameters parameters, DataAddress backendDataAddress, Map<String, Object> additionalTokenData) {
+        return delegate.obtainToken(parameters, backendDataAddress, additionalTokenData);
+    }
+
+    @Override
+    public Result<AccessTokenData> resolve(String token) {
+        var now = System.currentTimeMillis();
+        var cached = validated.get(token);
+        if (cached != null && cached.expiresAt() > now) {
+            return Result.success(cached.data());
+        }
+
+        var revocationsBefore = revocations.get();
+        var result = delegate.resolve(token);
+        if (result.succeeded()) {
+            if (revocations.get() != revocationsBefore) {
+                return result;
+            }
+            var entry = new Validated(result.getContent(), Math.min(now + maxTtlMillis, expiresAt(token, Long.MAX_VALUE)));
+            if (validated.size() >= maxEntries) {
+                evict(now);
+            }
+            validated.put(token, entry);
+            if (revocations.get() != revocationsBefore) {
+                validated.remove(token, entry); // revoked while it was put, the clear may have run before
+            }
+        } else if (cached != null) {
+            validated.remove(token);
+        }
+        return result;
+    }
+
+    @Override
+    public Result<Void> revoke(String transferProcessId, String reason) {
+        var result = delegate.revoke(transferProcessId, reason);
+        revocations.incrementAndGet();
+        validated.clear();
+        return result;
+    }
+
+    /**
+     * Expiry of a JWT in epoch millis, read from the exp claim without verifying the
+     * signature; 'otherwise' when the token is no JWT or has no exp claim.
+     */
+    static long expiresAt(String token, long otherwise) {
+        var parts = token.split("\\.");
+        if (parts.length != 3) {
+            return otherwise;
+        }
+        try (var reader = Json.createReader(new StringReader(
+                new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)))) {
+            return reader.readObject().get("exp") instanceof JsonNumber exp ? exp.longValue() * 1000 : otherwise;
+        } catch (RuntimeException e) {
+            return otherwise;
+        }
+    }
+
+    private void evict(long now) {
+        validated.values().removeIf(entry -> entry.expiresAt() <= now);
+        var iterator = validated.keySet().iterator();
+        while (validated.size() > maxEntries * 3 / 4 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.contract.spi.offer.ContractDefinitionResolver;
+import org.eclipse.edc.connector.controlplane.contract.spi.offer.ResolvedContractDefinitions;
+import org.eclipse.edc.connector.controlplane.contract.spi.offer.store.ContractDefinitionStore;
+import org.eclipse.edc.connector.controlplane.policy.spi.store.PolicyDefinitionStore;
+import org.eclipse.edc.policy.engine.spi.PolicyContextImpl;
+import org.eclipse.edc.policy.engine.spi.PolicyEngine;
+import org.eclipse.edc.policy.model.Policy;
+import org.eclipse.edc.spi.agent.ParticipantAgent;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.query.QuerySpec;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ContractDefinitionResolver for the catalog path that evaluates access policies through
+ * {@link AnalyzedPolicy} and {@link PolicyDecisionCache}. It behaves like EDC's resolver
+ * (a definition is visible if its access policy passes in the catalog scope), but each
+ * policy is analysed once and each participant's decision is reused until it expires.
+ *
+ * Policies are re-read from the store on every call (a map lookup for the in-memory
+ * stores) and analysed again when the store returns a different Policy object, so
+ * updates made through the Management API or directly on the store are picked up.
+ */
+public class CachingContractDefinitionResolver implements ContractDefinitionResolver {
+
+    private final ContractDefinitionStore contractDefinitionStore;
+    private final PolicyDefinitionStore policyDefinitionStore;
+    private final PolicyEngine policyEngine;
+    private final PolicyDecisionCache decisionCache;
+    private final Set<String> volatileOperands;
+    private final Monitor monitor;
+    private final Map<String, AnalyzedPolicy> analyzedPolicies = new ConcurrentHashMap<>();
+
+    CachingContractDefinitionResolver(ContractDefinitionStore contractDefinitionStore, PolicyDefinitionStore policyDefinitionStore,
+                                      PolicyEngine policyEngine, PolicyDecisionCache decisionCache, Set<String> volatileOperands,
+                                      Monitor monitor) {
+        this.contractDefinitionStore = contractDefinitionStore;
+        this.policyDefinitionStore = policyDefinitionStore;
+        this.policyEngine = policyEngine;
+        this.decisionCache = decisionCache;
+        this.volatileOperands = volatileOperands;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public ResolvedContractDefinitions resolveFor(ParticipantAgent agent) {
+        var policies = new HashMap<String, Policy>();
+        var definitions = contractDefinitionStore.findAll(QuerySpec.max())
+                .filter(definition -> {
+                    var accessPolicy = analyzed(definition.getAccessPolicyId());
+                    if (accessPolicy == null) {
+                        return false;
+                    }
+                    policies.put(definition.getAccessPolicyId(), accessPolicy.policy());
+                    var result = decisionCache.evaluate(accessPolicy, agent, () -> policyEngine.evaluate(CATALOG_SCOPE, accessPolicy.policy(),
+                            PolicyContextImpl.Builder.newInstance().additional(ParticipantAgent.class, agent).build()));
+                    if (result.failed()) {
+                        monitor.debug(() -> "Access to contract definition " + definition.getId() + " denied: " + result.getFailureDetail());
+                    }
+                    return result.succeeded();
+                })
+                .toList();
+
+        for (var definition : definitions) {
+            var contractPolicy = analyzed(definition.getContractPolicyId());
+            if (contractPolicy != null) {
+                policies.put(definition.getContractPolicyId(), contractPolicy.policy());
+            }
+        }
+        return new ResolvedContractDefinitions(definitions, policies);
+    }
+
+    private AnalyzedPolicy analyzed(String policyId) {
+        var definition = policyDefinitionStore.findById(policyId);
+        if (definition == null) {
+            analyzedPolicies.remove(policyId);
+            return null;
+        }
+        var policy = definition.getPolicy();
+        var existing = analyzedPolicies.get(policyId);
+        if (existing != null && existing.policy() == policy) {
+            return existing;
+        }
+        var analyzed = AnalyzedPolicy.analyze(policy, volatileOperands);
+        analyzedPolicies.put(policyId, analyzed);
+        return analyzed;
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.edc.extension;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import org.eclipse.edc.jsonld.spi.JsonLd;
+import org.eclipse.edc.spi.result.Result;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JsonLd decorator that expands documents with a simple inline @context without the
+ * generic JSON-LD algorithm.
+ *
+ * Each distinct @context is compiled once into a {@link CompiledJsonLdContext} and kept
+ * (up to maxContexts of them); contexts that cannot be compiled are remembered as such,
+ * so they go straight to the delegate. Documents are expanded by a single walk that only
+ * knows nodes, @id, @type, plain values and arrays. Anything else it meets (@list,
+ * @language, nested @context, ...) sends the whole document to the delegate, so the
+ * result is always the one the delegate would have produced.
+ *
+ * Compaction is not cached and goes to the delegate unchanged: it compacts against the
+ * contexts registered for the scope, remote documents with full term definitions among
+ * them (the DSP context), which a prefix table cannot reproduce. Namespace and context
+ * registration are passed through as well.
+ */
+public class CachingJsonLd implements JsonLd {
+
+    private static final String CONTEXT = "@context";
+    private static final String ID = "@id";
+    private static final String TYPE = "@type";
+    private static final String VALUE = "@value";
+
+    private final JsonLd delegate;
+    private final int maxContexts;
+    private final Map<JsonValue, Optional<CompiledJsonLdContext>> contexts;
+
+    private static final class UnsupportedDocument extends Exception {
+        UnsupportedDocument() {
+            super(null, null, false, false);
+        }
+    }
+
+    public CachingJsonLd(JsonLd delegate, int maxContexts) {
+        this(delegate, maxContexts, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * @param contexts the compiled contexts, possibly shared with other instances (they
+     *                 only depend on the @context itself)
+     */
+    CachingJsonLd(JsonLd delegate, int maxContexts, Map<JsonValue, Optional<CompiledJsonLdContext>> contexts) {
+        this.delegate = delegate;
+        this.maxContexts = maxContexts;
+        this.contexts = contexts;
+    }
+
+    @Override
+    public Result<JsonObject> expand(JsonObject json) {
+        var context = json.get(CONTEXT);
+        var compiled = context == null ? null : compiled(context);
+        if (compiled != null) {
+            try {
+                var expanded = expandNode(json, compiled);
+                // documents without any property fail in the delegate: keep its error message
+                if (!expanded.keySet().stream().allMatch(ID::equals)) {
+                    return Result.success(expanded);
+                }
+            } catch (UnsupportedDocument e) {
+                // fall through to full JSON-LD processing
+            }
+        }
+        return delegate.expand(json);
+    }
+
+    @Override
+    public Result<JsonObject> compact(JsonObject json, String scope) {
+        return delegate.compact(json, scope);
+    }
+
+    @Override
+    public void registerNamespace(String prefix, String contextIri, String scope) {
+        delegate.registerNamespace(prefix, contextIri, scope);
+    }
+
+    @Override
+    public void registerContext(String contextIri, String scope) {
+        delegate.registerContext(contextIri, scope);
+    }
+
+    @Override
+    public void registerCachedDocument(String contextUrl, URI uri) {
+        delegate.registerCachedDocument(contextUrl, uri);
+    }
+
+    int cachedContexts() {
+        return contexts.size();
+    }
+
+    private CompiledJsonLdContext compiled(JsonValue context) {
+        var cached = contexts.get(context);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        var compiled = CompiledJsonLdContext.compile(context);
+        if (contexts.size() < maxContexts) {
+            contexts.put(context, Optional.ofNullable(compiled));
+        }
+        return compiled;
+    }
+
+    private JsonObject expandNode(JsonObject node, CompiledJsonLdContext context) throws UnsupportedDocument {
+        var result = Json.createObjectBuilder();
+        // two keys may expand to the same IRI ("name" and "edc:name"); their values are merged
+        var properties = new LinkedHashMap<String, JsonArrayBuilder>();
+        for (var entry : node.entrySet()) {
+            var key = entry.getKey();
+            var value = entry.getValue();
+            switch (key) {
+                case CONTEXT -> {
+                    // only on the top-level node, nested contexts are rejected by expandValue
+                }
+                case ID -> {
+                    if (!(value instanceof JsonString id)) {
+                        throw new UnsupportedDocument();
+                    }
+                    result.add(ID, context.expandId(id.getString()));
+                }
+                case TYPE -> result.add(TYPE, expandTypes(value, context));
+                default -> {
+                    if (key.startsWith("@")) {
+                        throw new UnsupportedDocument();
+                    }
+                    var iri = context.expandVocab(key);
+                    if (iri == null) {
+                        throw new UnsupportedDocument();
+                    }
+                    if (value.getValueType() != JsonValue.ValueType.NULL) {
+                        expandValue(value, context, properties.computeIfAbsent(iri, k -> Json.createArrayBuilder()));
+                    }
+                }
+            }
+        }
+        properties.forEach(result::add);
+        return result.build();
+    }
+
+    private JsonArray expandTypes(JsonValue value, CompiledJsonLdContext context) throws UnsupportedDocument {
+        var types = Json.createArrayBuilder();
+        if (value instanceof JsonString type) {
+            types.add(expandType(type, context));
+        } else if (value instanceof JsonArray array) {
+            for (var element : array) {
+                if (!(element instanceof JsonString type)) {
+                    throw new UnsupportedDocument();
+                }
+                types.add(expandType(type, context));
+            }
+        } else {
+            throw new UnsupportedDocument();
+        }
+        return types.build();
+    }
+
+    private String expandType(JsonString type, CompiledJsonLdContext context) throws UnsupportedDocument {
+        var iri = context.expandVocab(type.getString());
+        if (iri == null) {
+            throw new UnsupportedDocument();
+        }
+        return iri;
+    }
+
+    private void expandValue(JsonValue value, CompiledJsonLdContext context, JsonArrayBuilder values) throws UnsupportedDocument {
+        switch (value.getValueType()) {
+            case NULL -> {
+                // dropped, like in JSON-LD expansion
+            }
+            case STRING, NUMBER, TRUE, FALSE -> values.add(Json.createObjectBuilder().add(VALUE, value));
+            case ARRAY -> {
+                for (var element : value.asJsonArray()) {
+                    expandValue(element, context, values);
+                }
+            }
+            case OBJECT -> {
+                var object = value.asJsonObject();
+                if (object.containsKey(VALUE)) {
+                    var literal = object.get(VALUE);
+                    if (object.size() != 1 || literal.getValueType() == JsonValue.ValueType.ARRAY
+                            || literal.getValueType() == JsonValue.ValueType.OBJECT) {
+                        throw new UnsupportedDocument();
+                    }
+                    if (literal.getValueType() != JsonValue.ValueType.NULL) {
+                        values.add(Json.createObjectBuilder().add(VALUE, literal));
+                    }
+                } else if (object.isEmpty() || object.containsKey(CONTEXT)) {
+                    throw new UnsupportedDocument();
+                } else {
+                    values.add(expandNode(object, context));
+                }
+            }
+            default -> throw new UnsupportedDocument();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.asset.spi.index.AssetIndex;
+import org.eclipse.edc.connector.controlplane.catalog.spi.DatasetResolver;
+import org.eclipse.edc.connector.controlplane.catalog.spi.DistributionResolver;
+import org.eclipse.edc.connector.controlplane.contract.spi.event.contractdefinition.ContractDefinitionEvent;
+import org.eclipse.edc.connector.controlplane.contract.spi.offer.ContractDefinitionResolver;
+import org.eclipse.edc.connector.controlplane.contract.spi.offer.store.ContractDefinitionStore;
+import org.eclipse.edc.connector.controlplane.services.spi.protocol.ProtocolTokenValidator;
+import org.eclipse.edc.jsonld.spi.JsonLd;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.event.Event;
+import org.eclipse.edc.spi.event.EventEnvelope;
+import org.eclipse.edc.spi.event.EventRouter;
+import org.eclipse.edc.spi.event.EventSubscriber;
+import org.eclipse.edc.spi.query.CriterionOperatorRegistry;
+import org.eclipse.edc.spi.system.ExecutorInstrumentation;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.transform.spi.TypeTransformerRegistry;
+import org.eclipse.edc.web.spi.WebService;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CATALOG CACHE EXTENSION
+ *
+ * Replaces EDC's DatasetResolver with {@link MaterializedDatasetResolver}, which answers
+ * DSP catalog requests from pre-computed asset sets per contract definition
+ * ({@link MaterializedCatalog}).
+ *
+ * Requirements:
+ * ------------
+ * The cache is kept up to date by listening to writes on the asset index, so it is only
+ * active with edc.asset.store=indexed or persistent (which uses the same index). With any
+ * other asset store EDC's default resolver is used unchanged.
+ *
+ * Definitions changed through the Management API are evicted on their event. Definitions
+ * deleted directly in the ContractDefinitionStore (no event) are dropped by a cleanup every
+ * edc.catalog.cache.cleanup.period.seconds, off the catalog request path.
+ *
+ * Paging:
+ * ------
+ * The materialized catalog also serves GET /api/dsp/catalog/datasets, a cursor-paginated
+ * catalog that is streamed to the consumer ({@link StreamingCatalogApiController}). Pages
+ * are capped at edc.catalog.streaming.max-page-size datasets.
+ */
+@Provides(DatasetResolver.class)
+public class CatalogCacheExtension implements ServiceExtension {
+
+    @Setting(value = "Serve catalog requests from materialized asset sets per contract definition", defaultValue = "true")
+    public static final String MATERIALIZED = "edc.catalog.cache.materialized";
+
+    @Setting(value = "Maximum number of datasets per page of the streaming catalog endpoint", defaultValue = "1000")
+    public static final String STREAMING_MAX_PAGE_SIZE = "edc.catalog.streaming.max-page-size";
+
+    @Setting(value = "Seconds between two checks for cached asset sets of deleted contract definitions", defaultValue = "300")
+    public static final String CLEANUP_PERIOD = "edc.catalog.cache.cleanup.period.seconds";
+
+    @Inject
+    private AssetIndex assetIndex;
+
+    @Inject
+    private ContractDefinitionResolver contractDefinitionResolver;
+
+    @Inject(required = false)
+    private CachingContractDefinitionResolver cachingContractDefinitionResolver;
+
+    @Inject
+    private ContractDefinitionStore contractDefinitionStore;
+
+    @Inject
+    private DistributionResolver distributionResolver;
+
+    @Inject
+    private CriterionOperatorRegistry criterionOperatorRegistry;
+
+    @Inject
+    private EventRouter eventRouter;
+
+    @Inject
+    private WebService webService;
+
+    @Inject
+    private ProtocolTokenValidator protocolTokenValidator;
+
+    @Inject
+    private TypeTransformerRegistry transformerRegistry;
+
+    @Inject
+    private JsonLd jsonLd;
+
+    @Inject
+    private ExecutorInstrumentation executorInstrumentation;
+
+    private MaterializedCatalog catalog;
+    private long cleanupPeriod;
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public String name() {
+        return "Catalog Cache Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        var monitor = context.getMonitor();
+        if (!context.getSetting(MATERIALIZED, true)) {
+            return;
+        }
+        var indexedAssetIndex = context.getService(IndexedAssetIndex.class, true);
+        if (indexedAssetIndex == null) {
+            monitor.warning("Catalog cache disabled: it requires " + IndexedAssetIndexExtension.ASSET_STORE + "=" + IndexedAssetIndexExtension.INDEXED_STORE);
+            return;
+        }
+
+        cleanupPeriod = context.getSetting(CLEANUP_PERIOD, 300L);
+        if (cleanupPeriod < 1) {
+            throw new EdcException(CLEANUP_PERIOD + " must be positive");
+        }
+        var catalog = new MaterializedCatalog(indexedAssetIndex, criterionOperatorRegistry);
+        indexedAssetIndex.addListener(catalog);
+        // definitions changed through the Management API are evicted eagerly; direct store
+        // writes are caught by the selector fingerprint on next use, direct deletes by the
+        // periodic cleanup
+        eventRouter.registerSync(ContractDefinitionEvent.class, new EventSubscriber() {
+            @Override
+            public <E extends Event> void on(EventEnvelope<E> event) {
+                catalog.invalidate(((ContractDefinitionEvent) event.getPayload()).getContractDefinitionId());
+            }
+        });
+
+        // access policies are evaluated through the decision cache when it is enabled
+        var definitionResolver = cachingContractDefinitionResolver != null ? cachingContractDefinitionResolver : contractDefinitionResolver;
+        var datasetResolver = new MaterializedDatasetResolver(definitionResolver, assetIndex, catalog,
+                distributionResolver, criterionOperatorRegistry);
+        context.registerService(DatasetResolver.class, datasetResolver);
+
+        var maxPageSize = context.getSetting(STREAMING_MAX_PAGE_SIZE, 1000);
+        if (maxPageSize < 1) {
+            throw new EdcException(STREAMING_MAX_PAGE_SIZE + " must be positive");
+        }
+        webService.registerResource("protocol", new StreamingCatalogApiController(datasetResolver, protocolTokenValidator,
+                transformerRegistry, jsonLd, context.getParticipantId(), maxPageSize, monitor));
+        this.catalog = catalog;
+        monitor.info("Catalog cache: serving catalog requests from materialized contract definition asset sets");
+    }
+
+    @Override
+    public void start() {
+        if (catalog == null) {
+            return;
+        }
+        scheduler = executorInstrumentation.instrument(Executors.newSingleThreadScheduledExecutor(), "Catalog cache cleanup");
+        scheduler.scheduleWithFixedDelay(() -> catalog.retain(id -> contractDefinitionStore.findById(id) != null),
+                cleanupPeriod, cleanupPeriod, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
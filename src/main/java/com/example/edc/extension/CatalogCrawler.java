@@ -0,0 +1,135 @@
+package com.example.edc.extension;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import org.eclipse.edc.connector.controlplane.services.spi.catalog.CatalogService;
+import org.eclipse.edc.jsonld.spi.JsonLd;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.query.QuerySpec;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Fetches the catalogs of the configured providers over DSP and merges them into the
+ * {@link FederatedCatalogStore}.
+ *
+ * Providers are crawled in parallel on the given executor, each one page by page
+ * (pageSize datasets per catalog request) until a page comes back empty, or with no
+ * dataset that was not seen before (a provider ignoring the offset). Every page is merged
+ * into the store as it arrives, so only the dataset IDs of a crawl are held, not the
+ * catalog. Datasets the crawl did not see are removed only when it went through to the
+ * end; a crawl that fails halfway keeps what it merged and removes nothing.
+ */
+class CatalogCrawler {
+
+    private static final String DCAT_DATASET = "http://www.w3.org/ns/dcat#dataset";
+    private static final String EDC_PARTICIPANT_ID = "https://w3id.org/edc/v0.0.1/ns/participantId";
+    private static final String PROTOCOL = "dataspace-protocol-http";
+
+    private final List<Target> targets;
+    private final CatalogService catalogService;
+    private final JsonLd jsonLd;
+    private final FederatedCatalogStore store;
+    private final int pageSize;
+    private final Monitor monitor;
+
+    record Target(String participantId, String dspUrl) {
+    }
+
+    CatalogCrawler(List<Target> targets, CatalogService catalogService, JsonLd jsonLd, FederatedCatalogStore store,
+                   int pageSize, Monitor monitor) {
+        this.targets = targets;
+        this.catalogService = catalogService;
+        this.jsonLd = jsonLd;
+        this.store = store;
+        this.pageSize = pageSize;
+        this.monitor = monitor;
+    }
+
+    /**
+     * One crawl of all targets; returns when every provider is done.
+     */
+    void crawl(ExecutorService executor) {
+        var start = System.currentTimeMillis();
+        var crawls = targets.stream()
+                .map(target -> CompletableFuture.runAsync(() -> crawl(target), executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(crawls).exceptionally(throwable -> null).join();
+        monitor.debug(() -> "Catalog crawl of " + targets.size() + " providers took " + (System.currentTimeMillis() - start)
+                + " ms, " + store.size() + " datasets known");
+    }
+
+    private void crawl(Target target) {
+        var seen = new HashSet<String>();
+        var added = 0;
+        var updated = 0;
+        try {
+            for (var offset = 0; ; offset += pageSize) {
+                var datasets = new LinkedHashMap<String, JsonObject>();
+                for (var dataset : fetchPage(target, offset)) {
+                    var id = dataset.getString("@id", null);
+                    if (id != null && seen.add(id)) {
+                        datasets.put(id, withProvider(dataset, target.participantId()));
+                    }
+                }
+                if (datasets.isEmpty()) {
+                    break;
+                }
+                var diff = store.merge(target.participantId(), datasets);
+                added += diff.added();
+                updated += diff.updated();
+            }
+        } catch (Exception e) {
+            monitor.warning("Catalog crawl of " + target.participantId() + " failed after " + seen.size()
+                    + " datasets, no dataset removed: " + e.getMessage());
+            return;
+        }
+        var diff = new FederatedCatalogStore.Diff(added, updated, store.retain(target.participantId(), seen));
+        if (!diff.isEmpty()) {
+            monitor.info("Catalog of " + target.participantId() + ": " + diff.added() + " added, "
+                    + diff.updated() + " updated, " + diff.removed() + " removed");
+        }
+    }
+
+    private List<JsonObject> fetchPage(Target target, int offset) {
+        var querySpec = QuerySpec.Builder.newInstance().offset(offset).limit(pageSize).build();
+        var response = catalogService.requestCatalog(target.participantId(), target.dspUrl(), PROTOCOL, querySpec).join();
+        if (response.failed()) {
+            throw new EdcException(response.getFailureDetail());
+        }
+
+        JsonObject catalog;
+        try (var reader = Json.createReader(new ByteArrayInputStream(response.getContent()))) {
+            catalog = reader.readObject();
+        }
+        var expanded = jsonLd.expand(catalog);
+        if (expanded.failed()) {
+            throw new EdcException("Invalid catalog: " + expanded.getFailureDetail());
+        }
+
+        var datasets = expanded.getContent().getJsonArray(DCAT_DATASET);
+        var page = new ArrayList<JsonObject>();
+        if (datasets != null) {
+            for (var dataset : datasets) {
+                if (dataset.getValueType() == JsonValue.ValueType.OBJECT) {
+                    page.add(dataset.asJsonObject());
+                }
+            }
+        }
+        return page;
+    }
+
+    private static JsonObject withProvider(JsonObject dataset, String participantId) {
+        return Json.createObjectBuilder(dataset)
+                .add(EDC_PARTICIPANT_ID, Json.createArrayBuilder().add(Json.createObjectBuilder().add("@value", participantId)))
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.edc.extension;
+
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The term mapping of one inline @context, built once and reused for every document that
+ * sends the same @context (see {@link CachingJsonLd}).
+ *
+ * Only "simple" contexts are compiled: an object whose entries all map a prefix to a
+ * namespace IRI ending in '/', '#' or ':', like the one the Management API clients send:
+ *
+ *   "@context": { "edc": "https://w3id.org/edc/v0.0.1/ns/" }
+ *
+ * For those, expanding a key is string concatenation. EDC's JsonLd service injects the
+ * EDC vocabulary into every inline context, as @vocab and as the "edc" prefix (replacing a
+ * client's own "edc"), so terms without a prefix and "edc:" terms always expand against it.
+ */
+final class CompiledJsonLdContext {
+
+    static final String EDC_VOCABULARY = "https://w3id.org/edc/v0.0.1/ns/";
+
+    private static final int MAX_CACHED_TERMS = 1024;
+
+    private final Map<String, String> prefixes;
+    private final Map<String, String> expandedTerms = new ConcurrentHashMap<>();
+
+    private CompiledJsonLdContext(Map<String, String> prefixes) {
+        this.prefixes = prefixes;
+    }
+
+    /**
+     * Returns null when the context is not simple and has to go through full JSON-LD
+     * processing (remote contexts, @vocab, @base, expanded term definitions, ...).
+     */
+    static CompiledJsonLdContext compile(JsonValue context) {
+        if (!(context instanceof JsonObject definitions)) {
+            return null;
+        }
+        var prefixes = new HashMap<String, String>();
+        for (var entry : definitions.entrySet()) {
+            var term = entry.getKey();
+            if (term.isEmpty() || term.startsWith("@") || term.indexOf(':') >= 0) {
+                return null;
+            }
+            if (!(entry.getValue() instanceof JsonString iri) || !isPrefixIri(iri.getString())) {
+                return null;
+            }
+            prefixes.put(term, iri.getString());
+        }
+        prefixes.put("edc", EDC_VOCABULARY);
+        return new CompiledJsonLdContext(prefixes);
+    }
+
+    /**
+     * Expands a property key or @type value ("edc:name", "name", or an absolute IRI).
+     * Returns null for blank node identifiers, which are left to full JSON-LD processing.
+     */
+    String expandVocab(String term) {
+        var expanded = expandedTerms.get(term);
+        if (expanded != null) {
+            return expanded;
+        }
+        expanded = expand(term, true);
+        if (expanded != null && expandedTerms.size() < MAX_CACHED_TERMS) {
+            expandedTerms.put(term, expanded);
+        }
+        return expanded;
+    }
+
+    /**
+     * Expands an @id value: compact IRIs are expanded, anything else is kept as it is.
+     */
+    String expandId(String id) {
+        return expand(id, false);
+    }
+
+    private String expand(String term, boolean vocab) {
+        var separator = term.indexOf(':');
+        if (separator < 0) {
+            if (!vocab) {
+                return term;
+            }
+            var iri = prefixes.get(term);
+            return iri != null ? iri : EDC_VOCABULARY + term;
+        }
+        var suffix = term.substring(separator + 1);
+        if (suffix.startsWith("//")) {
+            return term;
+        }
+        var prefix = term.substring(0, separator);
+        if (vocab && prefix.equals("_")) {
+            return null;
+        }
+        var namespace = prefixes.get(prefix);
+        return namespace != null ? namespace + suffix : term;
+    }
+
+    private static boolean isPrefixIri(String iri) {
+        return iri.endsWith("/") || iri.endsWith("#") || iri.endsWith(":");
+    }
+}
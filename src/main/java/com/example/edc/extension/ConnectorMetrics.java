@@ -0,0 +1,210 @@
+package com.example.edc.extension;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * CONNECTOR METRICS
+ *
+ * Entry point for the other extensions to record metrics. Registered by
+ * {@link MetricsExtension} in both states:
+ *
+ * - enabled (edc.metrics.enabled=true): backed by a Micrometer registry
+ * - disabled: {@link #registry()} is null and {@link #instrument} hands back the original
+ *   object, so disabled metrics cost nothing on the request path
+ */
+public class ConnectorMetrics {
+
+    private static final ConnectorMetrics DISABLED = new ConnectorMetrics(null);
+
+    private final MeterRegistry registry;
+
+    ConnectorMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    static ConnectorMetrics disabled() {
+        return DISABLED;
+    }
+
+    public boolean enabled() {
+        return registry != null;
+    }
+
+    /**
+     * @return the Micrometer registry, or null when metrics are disabled
+     */
+    public MeterRegistry registry() {
+        return registry;
+    }
+
+    /**
+     * Wraps a store (or any other service interface) so that every method call is timed as
+     * edc.store.operation{store=..., operation=<method name>}. Exceptions are recorded with
+     * outcome=error.
+     *
+     * A returned Stream is lazy (e.g. queryAssets), so its timer is only recorded once the
+     * stream is fully consumed or closed, whichever comes first. A stream that is neither
+     * (e.g. abandoned after findFirst without close) is not recorded.
+     *
+     * @return the target itself when metrics are disabled
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T instrument(Class<T> type, T target, String storeName) {
+        if (!enabled()) {
+            return target;
+        }
+        var handler = new TimingHandler(target, storeName, registry);
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{ type }, handler);
+    }
+
+    /**
+     * Records executor.* meters (queued/active tasks, task duration) for an executor, e.g.
+     * the state machine loops EDC creates through ExecutorInstrumentation.
+     *
+     * @return the executor itself when metrics are disabled
+     */
+    public ExecutorService monitor(ExecutorService executor, String name) {
+        return enabled() ? ExecutorServiceMetrics.monitor(registry, executor, name) : executor;
+    }
+
+    public ScheduledExecutorService monitor(ScheduledExecutorService executor, String name) {
+        return enabled() ? ExecutorServiceMetrics.monitor(registry, executor, name) : executor;
+    }
+
+    private static final class TimingHandler implements InvocationHandler {
+        private final Object target;
+        private final String storeName;
+        private final MeterRegistry registry;
+        private final Map<Method, Timer> success = new ConcurrentHashMap<>();
+        private final Map<Method, Timer> error = new ConcurrentHashMap<>();
+
+        TimingHandler(Object target, String storeName, MeterRegistry registry) {
+            this.target = target;
+            this.storeName = storeName;
+            this.registry = registry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            var start = System.nanoTime();
+            try {
+                var result = method.invoke(target, args);
+                if (result instanceof Stream<?> stream) {
+                    return timed(stream, method, start);
+                }
+                timer(success, method, "success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (InvocationTargetException e) {
+                timer(error, method, "error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Defers the timer of a method returning a stream until the stream is consumed or
+         * closed. Closing the returned stream closes the original one.
+         */
+        private <E> Stream<E> timed(Stream<E> stream, Method method, long start) {
+            var recorded = new AtomicBoolean();
+            Consumer<String> record = outcome -> {
+                if (recorded.compareAndSet(false, true)) {
+                    timer("error".equals(outcome) ? error : success, method, outcome)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            };
+            return StreamSupport.stream(new TimedSpliterator<>(stream.spliterator(), record), stream.isParallel())
+                    .onClose(stream::close)
+                    .onClose(() -> record.accept("success"));
+        }
+
+        private Timer timer(Map<Method, Timer> timers, Method method, String outcome) {
+            return timers.computeIfAbsent(method, m -> Timer.builder("edc.store.operation")
+                    .tag("store", storeName)
+                    .tag("operation", m.getName())
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Reports the end of the wrapped spliterator (outcome success) or a failure while
+     * traversing it (outcome error). Not splittable, so a parallel stream is traversed by
+     * one thread.
+     */
+    private static final class TimedSpliterator<E> implements Spliterator<E> {
+        private final Spliterator<E> delegate;
+        private final Consumer<String> record;
+
+        TimedSpliterator(Spliterator<E> delegate, Consumer<String> record) {
+            this.delegate = delegate;
+            this.record = record;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            try {
+                if (delegate.tryAdvance(action)) {
+                    return true;
+                }
+            } catch (RuntimeException e) {
+                record.accept("error");
+                throw e;
+            }
+            record.accept("success");
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            try {
+                delegate.forEachRemaining(action);
+            } catch (RuntimeException e) {
+                record.accept("error");
+                throw e;
+            }
+            record.accept("success");
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return delegate.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return delegate.characteristics() & ~Spliterator.CONCURRENT;
+        }
+
+        @Override
+        public Comparator<? super E> getComparator() {
+            return delegate.getComparator();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.system.ExecutorInstrumentation;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * DATA PLANE EXECUTOR EXTENSION
+ *
+ * Controls how EDC's executors are created. EDC builds every executor through the
+ * ExecutorInstrumentation service, which this extension provides:
+ *
+ * - edc.dataplane.executor=virtual: the data plane transfer executors (fixed platform
+ *   thread pools by default, so at most N transfers pull at the same time) are replaced
+ *   by a virtual-thread-per-task executor. A transfer blocked on a slow upstream then
+ *   costs a few KB instead of a platform thread.
+ * - with metrics enabled, every executor is monitored (see {@link ConnectorMetrics#monitor}).
+ *
+ * Without a thread pool nothing bounds how many requests hit the same server anymore; in
+ * virtual mode {@link DestinationLimitExtension} therefore limits the data plane's HTTP
+ * requests per destination.
+ *
+ * SHARED RUNTIMES:
+ * ---------------
+ * With edc.runtime.shared-resources=true (several connectors in one JVM, see
+ * {@link SharedRuntimeResources}) all other executors become views on a JVM-wide scheduler
+ * and worker pool.
+ *
+ * Virtual threads need Java 21 at runtime; edc.dataplane.executor=virtual fails the
+ * startup on older JVMs.
+ */
+@Provides(ExecutorInstrumentation.class)
+public class DataPlaneExecutorExtension implements ServiceExtension {
+
+    public static final String VIRTUAL = "virtual";
+
+    private static final String DEFAULT_TRANSFER_EXECUTORS = "Data plane transfers,HttpDataSink,HttpDataRanges";
+
+    @Setting(value = "Data plane transfer executor: 'platform' (EDC default thread pools) or 'virtual'", defaultValue = "platform")
+    public static final String EXECUTOR = "edc.dataplane.executor";
+
+    @Setting(value = "Comma-separated names of the EDC executors that run data plane transfers", defaultValue = DEFAULT_TRANSFER_EXECUTORS)
+    public static final String TRANSFER_EXECUTORS = "edc.dataplane.executor.names";
+
+    @Inject
+    private ConnectorMetrics metrics;
+
+    @Override
+    public String name() {
+        return "Data Plane Executor Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        var virtual = VIRTUAL.equals(context.getSetting(EXECUTOR, "platform"));
+        var shared = SharedRuntimeResources.enabled(context);
+        if (!virtual && !shared && !metrics.enabled()) {
+            return; // EDC's no-op instrumentation
+        }
+
+        if (virtual && !VirtualThreads.available()) {
+            throw new EdcException(EXECUTOR + "=" + VIRTUAL + " needs Java 21 or newer, running on " + Runtime.version());
+        }
+
+        var transferExecutors = virtual ? names(context.getSetting(TRANSFER_EXECUTORS, DEFAULT_TRANSFER_EXECUTORS)) : Set.<String>of();
+        context.registerService(ExecutorInstrumentation.class, new ExecutorInstrumentation() {
+            @Override
+            public ScheduledExecutorService instrument(ScheduledExecutorService target, String name) {
+                return metrics.monitor(shared ? SharedRuntimeResources.executor(target) : target, name);
+            }
+
+            @Override
+            public ExecutorService instrument(ExecutorService target, String name) {
+                if (transferExecutors.contains(name)) {
+                    target.shutdown(); // freshly created by EDC, no tasks yet
+                    return metrics.monitor(VirtualThreads.newExecutor(), name);
+                }
+                return metrics.monitor(shared ? SharedRuntimeResources.executor(target) : target, name);
+            }
+        });
+
+        if (virtual) {
+            context.getMonitor().info("Data plane executor: one virtual thread per transfer");
+        }
+    }
+
+    private static Set<String> names(String commaSeparated) {
+        return Arrays.stream(commaSeparated.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.edc.extension;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * OkHttp interceptor that limits the number of concurrent data plane requests per
+ * destination (scheme, host and port).
+ *
+ * Only requests carrying {@link #LIMIT_HEADER} are limited, the header is removed before
+ * the request is sent. The data plane's HttpData sources and sinks set it (see
+ * {@link DestinationLimitExtension}); DSP messages and other control plane calls pass
+ * through unlimited.
+ *
+ * A request holds its slot until the response body is closed, not just until the headers
+ * arrive - for the data plane the body IS the transfer. Callers over the limit block; on
+ * virtual threads that costs next to nothing. A destination is forgotten as soon as no
+ * request holds or waits for one of its slots, so the map only holds destinations in use.
+ */
+class DestinationConcurrencyLimiter implements Interceptor {
+
+    static final String LIMIT_HEADER = "X-Edc-Destination-Limit";
+
+    private final int maxPerDestination;
+    private final Map<String, Destination> destinations = new ConcurrentHashMap<>();
+
+    DestinationConcurrencyLimiter(int maxPerDestination) {
+        this.maxPerDestination = maxPerDestination;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        var request = chain.request();
+        if (request.header(LIMIT_HEADER) == null) {
+            return chain.proceed(request);
+        }
+        request = request.newBuilder().removeHeader(LIMIT_HEADER).build();
+
+        var url = request.url();
+        var key = url.scheme() + "://" + url.host() + ":" + url.port();
+        var destination = destinations.compute(key, (k, existing) -> {
+            var current = existing != null ? existing : new Destination(maxPerDestination);
+            current.users++;
+            return current;
+        });
+        try {
+            destination.semaphore.acquire();
+        } catch (InterruptedException e) {
+            leave(key);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection slot to " + url.host());
+        }
+
+        var permit = new Permit(() -> {
+            destination.semaphore.release();
+            leave(key);
+        });
+        try {
+            var response = chain.proceed(request);
+            var body = response.body();
+            if (body == null) {
+                permit.release();
+                return response;
+            }
+            return response.newBuilder().body(new PermitReleasingBody(body, permit)).build();
+        } catch (IOException | RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the destination once its last holder or waiter is gone.
+     */
+    private void leave(String key) {
+        destinations.computeIfPresent(key, (k, destination) -> --destination.users == 0 ? null : destination);
+    }
+
+    /**
+     * The slots of one destination. 'users' counts the requests holding or waiting for a
+     * slot and is only changed inside the map's compute functions.
+     */
+    private static final class Destination {
+        private final Semaphore semaphore;
+        private int users;
+
+        Destination(int permits) {
+            this.semaphore = new Semaphore(permits, true);
+        }
+    }
+
+    private static final class Permit {
+        private final Runnable release;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Runnable release) {
+            this.release = release;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                release.run();
+            }
+        }
+    }
+
+    private static final class PermitReleasingBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        PermitReleasingBody(ResponseBody delegate, Permit permit) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        permit.release();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+}
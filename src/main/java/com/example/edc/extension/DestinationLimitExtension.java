@@ -0,0 +1,54 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.dataplane.http.spi.HttpRequestParamsProvider;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+
+/**
+ * DESTINATION LIMIT EXTENSION
+ *
+ * In virtual mode (edc.dataplane.executor=virtual, see {@link DataPlaneExecutorExtension})
+ * no thread pool bounds how many transfers pull from the same server anymore. This
+ * extension adds a {@link DestinationConcurrencyLimiter} to the connector's HTTP client
+ * ({@link HttpClientExtension}): at most edc.dataplane.max-concurrent-per-destination open
+ * requests per scheme/host/port, further transfers to that host wait for a slot.
+ *
+ * Only the requests of HttpData sources and sinks are marked for the limiter, so DSP
+ * messages and other control plane calls are not limited.
+ */
+public class DestinationLimitExtension implements ServiceExtension {
+
+    @Setting(value = "Maximum concurrent HTTP requests per destination in virtual mode", defaultValue = "256")
+    public static final String MAX_PER_DESTINATION = "edc.dataplane.max-concurrent-per-destination";
+
+    @Inject
+    private HttpRequestParamsProvider requestParamsProvider;
+
+    @Inject
+    private HttpClientInterceptors httpClientInterceptors;
+
+    @Override
+    public String name() {
+        return "Destination Limit Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        if (!DataPlaneExecutorExtension.VIRTUAL.equals(context.getSetting(DataPlaneExecutorExtension.EXECUTOR, "platform"))) {
+            return;
+        }
+        var maxPerDestination = context.getSetting(MAX_PER_DESTINATION, 256);
+        if (maxPerDestination < 1) {
+            throw new EdcException(MAX_PER_DESTINATION + " must be positive, was " + maxPerDestination);
+        }
+        httpClientInterceptors.addInterceptor(new DestinationConcurrencyLimiter(maxPerDestination));
+        requestParamsProvider.registerSourceDecorator((request, address, params) ->
+                params.header(DestinationConcurrencyLimiter.LIMIT_HEADER, "true"));
+        requestParamsProvider.registerSinkDecorator((request, address, params) ->
+                params.header(DestinationConcurrencyLimiter.LIMIT_HEADER, "true"));
+        context.getMonitor().info("Destination limit: at most " + maxPerDestination + " concurrent data plane requests per destination");
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.services.spi.transferprocess.TransferProcessService;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessCompleted;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessEvent;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessStarted;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessTerminated;
+import org.eclipse.edc.connector.controlplane.transfer.spi.types.TransferRequest;
+import org.eclipse.edc.connector.controlplane.transfer.spi.types.command.TerminateTransferCommand;
+import org.eclipse.edc.spi.event.Event;
+import org.eclipse.edc.spi.event.EventEnvelope;
+import org.eclipse.edc.spi.event.EventSubscriber;
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Consumer-side cache of endpoint data references (EDRs), one per pull transfer.
+ *
+ * When a consumer pull transfer starts, the provider sends the EDR: the public endpoint of
+ * its data plane and the access token. It is kept here under the transfer, so clients look
+ * it up locally (by agreement or asset) instead of starting a transfer per data request.
+ * Several transfers of the same agreement each keep their own EDR.
+ *
+ * Refresh:
+ * -------
+ * Tokens are JWTs with an exp claim. refreshBeforeMillis before an EDR expires,
+ * {@link #refresh()} starts a new transfer for the same agreement with the same settings.
+ * When the renewal starts, its EDR replaces the old one and the old transfer is
+ * terminated, so a valid EDR is available without a gap. Only transfers replaced by a
+ * renewal of this cache are ever terminated.
+ *
+ * A renewal that fails (synchronously, or its transfer terminates before it starts) is
+ * retried on the next refresh, up to maxRenewalFailures times per EDR. Expired EDRs are
+ * dropped instead of renewed, and EDRs without exp are never refreshed.
+ *
+ * An EDR is dropped when its transfer completes or is terminated.
+ */
+class EdrCache implements EventSubscriber {
+
+    private static final String CONSUMER = "CONSUMER";
+
+    private final TransferProcessService transferProcessService;
+    private final long refreshBeforeMillis;
+    private final int maxRenewalFailures;
+    private final Monitor monitor;
+    private final Map<String, Edr> byTransfer = new ConcurrentHashMap<>();
+    // renewal transfer started by this cache -> transfer it replaces
+    private final Map<String, String> renewals = new ConcurrentHashMap<>();
+    // transfer being renewed -> renewal transfer
+    private final Map<String, String> renewing = new ConcurrentHashMap<>();
+    // transfer -> renewals of it that failed
+    private final Map<String, Integer> failures = new ConcurrentHashMap<>();
+
+    record Edr(String transferProcessId, String agreementId, String assetId, String endpoint, String authorization, long expiresAt) {
+
+        boolean expired(long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    EdrCache(TransferProcessService transferProcessService, long refreshBeforeMillis, int maxRenewalFailures, Monitor monitor) {
+        this.transferProcessService = transferProcessService;
+        this.refreshBeforeMillis = refreshBeforeMillis;
+        this.maxRenewalFailures = maxRenewalFailures;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public <E extends Event> void on(EventEnvelope<E> envelope) {
+        if (envelope.getPayload() instanceof TransferProcessStarted started) {
+            if (CONSUMER.equals(started.getType()) && started.getDataAddress() != null) {
+                store(started);
+            }
+        } else if (envelope.getPayload() instanceof TransferProcessEvent event
+                && (event instanceof TransferProcessCompleted || event instanceof TransferProcessTerminated)) {
+            var transferProcessId = event.getTransferProcessId();
+            byTransfer.remove(transferProcessId);
+            failures.remove(transferProcessId);
+            var renewal = renewing.remove(transferProcessId);
+            if (renewal != null) {
+                renewals.remove(renewal);
+            }
+            var replaced = renewals.remove(transferProcessId);
+            if (replaced != null) {
+                // a renewal ended before it started: counts as failed, retried on the next refresh
+                renewing.remove(replaced, transferProcessId);
+                failures.merge(replaced, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Unexpired EDRs, optionally only those of one agreement or asset.
+     */
+    Stream<Edr> query(String agreementId, String assetId) {
+        var now = System.currentTimeMillis();
+        return byTransfer.values().stream()
+                .filter(edr -> agreementId == null || agreementId.equals(edr.agreementId()))
+                .filter(edr -> assetId == null || assetId.equals(edr.assetId()))
+                .filter(edr -> !edr.expired(now));
+    }
+
+    /**
+     * Drops expired EDRs and starts a renewal for every EDR that expires within
+     * refreshBeforeMillis, is not being renewed yet and has not failed to renew too often.
+     */
+    void refresh() {
+        var now = System.currentTimeMillis();
+        var threshold = now + refreshBeforeMillis;
+        for (var edr : byTransfer.values()) {
+            var transferProcessId = edr.transferProcessId();
+            if (edr.expired(now)) {
+                if (!renewing.containsKey(transferProcessId)) {
+                    byTransfer.remove(transferProcessId, edr);
+                    failures.remove(transferProcessId);
+                    monitor.debug(() -> "EDR of transfer " + transferProcessId + " expired");
+                }
+            } else if (edr.expiresAt() <= threshold && !renewing.containsKey(transferProcessId)
+                    && failures.getOrDefault(transferProcessId, 0) < maxRenewalFailures) {
+                try {
+                    renew(edr);
+                } catch (RuntimeException e) {
+                    renewFailed(edr, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void store(TransferProcessStarted started) {
+        var address = started.getDataAddress();
+        var endpoint = address.getStringProperty("endpoint");
+        var authorization = address.getStringProperty("authorization");
+        if (endpoint == null || authorization == null) {
+            return;
+        }
+        var edr = new Edr(started.getTransferProcessId(), started.getContractId(), started.getAssetId(), endpoint,
+                authorization, CachingAccessTokenService.expiresAt(authorization, Long.MAX_VALUE));
+        byTransfer.put(edr.transferProcessId(), edr);
+
+        var replaced = renewals.remove(edr.transferProcessId());
+        if (replaced == null) {
+            return;
+        }
+        renewing.remove(replaced);
+        failures.remove(replaced);
+        if (byTransfer.remove(replaced) != null) {
+            var result = transferProcessService.terminate(new TerminateTransferCommand(replaced, "EDR renewed"));
+            if (result.failed()) {
+                monitor.debug(() -> "Could not terminate renewed transfer " + replaced + ": " + result.getFailureDetail());
+            }
+        }
+    }
+
+    private void renew(Edr edr) {
+        var process = transferProcessService.findById(edr.transferProcessId());
+        if (process == null) {
+            byTransfer.remove(edr.transferProcessId(), edr);
+            return;
+        }
+        var renewalId = UUID.randomUUID().toString();
+        var request = TransferRequest.Builder.newInstance()
+                .id(renewalId)
+                .protocol(process.getProtocol())
+                .counterPartyAddress(process.getCounterPartyAddress())
+                .contractId(process.getContractId())
+                .assetId(process.getAssetId())
+                .transferType(process.getTransferType())
+                .dataDestination(process.getDataDestination())
+                .build();
+        // registered before the transfer exists, so its start event always finds it
+        renewals.put(renewalId, edr.transferProcessId());
+        renewing.put(edr.transferProcessId(), renewalId);
+        var result = transferProcessService.initiateTransfer(request);
+        if (result.succeeded()) {
+            monitor.debug(() -> "Renewing EDR of transfer " + edr.transferProcessId() + " with transfer " + renewalId);
+        } else {
+            renewFailed(edr, result.getFailureDetail());
+        }
+    }
+
+    private void renewFailed(Edr edr, String reason) {
+        var renewal = renewing.remove(edr.transferProcessId());
+        if (renewal != null) {
+            renewals.remove(renewal);
+        }
+        var failed = failures.merge(edr.transferProcessId(), 1, Integer::sum);
+        monitor.warning("Could not renew EDR of transfer " + edr.transferProcessId() + " (agreement " + edr.agreementId()
+                + "), attempt " + failed + " of " + maxRenewalFailures + ": " + reason);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.edc.extension;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+
+/**
+ * Lookup of the cached EDRs, registered on the management context by
+ * {@link EdrTokenCacheExtension}:
+ *
+ *   GET /api/management/edrs?agreementId=...&assetId=...
+ *
+ * Answered from {@link EdrCache}: endpoint and authorization token of every unexpired EDR,
+ * ready to call the provider's public API with.
+ */
+@Path("/edrs")
+public class EdrCacheApiController {
+
+    private final EdrCache cache;
+
+    EdrCacheApiController(EdrCache cache) {
+        this.cache = cache;
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public JsonArray edrs(@QueryParam("agreementId") String agreementId, @QueryParam("assetId") String assetId) {
+        var result = Json.createArrayBuilder();
+        cache.query(agreementId, assetId).forEach(edr -> {
+            var entry = Json.createObjectBuilder()
+                    .add("transferProcessId", edr.transferProcessId())
+                    .add("agreementId", edr.agreementId())
+                    .add("assetId", edr.assetId())
+                    .add("endpoint", edr.endpoint())
+                    .add("authorization", edr.authorization());
+            if (edr.expiresAt() != Long.MAX_VALUE) {
+                entry.add("expiresAt", edr.expiresAt());
+            }
+            result.add(entry);
+        });
+        return result.build();
+    }
+}
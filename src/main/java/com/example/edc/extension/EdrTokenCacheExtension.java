@@ -0,0 +1,136 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.services.spi.transferprocess.TransferProcessService;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessEvent;
+import org.eclipse.edc.connector.dataplane.spi.iam.DataPlaneAccessTokenService;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.event.EventRouter;
+import org.eclipse.edc.spi.system.ExecutorInstrumentation;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.web.spi.WebService;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EDR TOKEN CACHE EXTENSION
+ *
+ * Takes token handling out of the data pull path, on both sides of a transfer.
+ *
+ * Provider (data plane):
+ * ---------------------
+ * Every request to /api/public carries the access token of an EDR. The public API
+ * (data-plane-public-api-v2) verifies it in-process against the key under
+ * edc.transfer.proxy.token.verifier.publickey.alias; no validation endpoint is called.
+ * This extension wraps EDC's DataPlaneAccessTokenService in
+ * {@link CachingAccessTokenService}, so a token is verified once and then served from
+ * memory until it expires.
+ *
+ * Consumer (control plane):
+ * ------------------------
+ * With edc.edr.cache.enabled=true, the EDRs received for pull transfers are cached per
+ * transfer ({@link EdrCache}) and served on GET /api/management/edrs. Every
+ * edc.edr.refresh.check-period-seconds, EDRs expiring within edc.edr.refresh.before-seconds
+ * are renewed with a new transfer (which replaces and terminates the old one), so clients
+ * always find a valid token. A renewal is attempted edc.edr.refresh.max-failures times.
+ *
+ * The wrapper is registered before the public API initializes (it injects
+ * DataPlaneAccessTokenService, which this extension provides) and after EDC's default
+ * service (which this extension injects).
+ */
+@Provides(DataPlaneAccessTokenService.class)
+public class EdrTokenCacheExtension implements ServiceExtension {
+
+    @Setting(value = "Cache verified data plane access tokens until they expire", defaultValue = "true")
+    public static final String TOKEN_CACHE_ENABLED = "edc.dataplane.token.cache.enabled";
+
+    @Setting(value = "Maximum number of cached access tokens", defaultValue = "10000")
+    public static final String TOKEN_CACHE_MAX_ENTRIES = "edc.dataplane.token.cache.max-entries";
+
+    @Setting(value = "Seconds a verified token is cached at most, also if it expires later", defaultValue = "300")
+    public static final String TOKEN_CACHE_MAX_TTL_SECONDS = "edc.dataplane.token.cache.max-ttl-seconds";
+
+    @Setting(value = "Cache the EDRs of consumer pull transfers, serve them on /edrs and renew them", defaultValue = "false")
+    public static final String EDR_CACHE_ENABLED = "edc.edr.cache.enabled";
+
+    @Setting(value = "Seconds before expiry a cached EDR is renewed, 0 disables renewal", defaultValue = "60")
+    public static final String REFRESH_BEFORE_SECONDS = "edc.edr.refresh.before-seconds";
+
+    @Setting(value = "Seconds between two checks for EDRs to renew", defaultValue = "10")
+    public static final String REFRESH_CHECK_PERIOD_SECONDS = "edc.edr.refresh.check-period-seconds";
+
+    @Setting(value = "Failed renewals of an EDR after which it is left to expire", defaultValue = "3")
+    public static final String REFRESH_MAX_FAILURES = "edc.edr.refresh.max-failures";
+
+    @Inject
+    private DataPlaneAccessTokenService accessTokenService;
+
+    @Inject
+    private TransferProcessService transferProcessService;
+
+    @Inject
+    private EventRouter eventRouter;
+
+    @Inject
+    private WebService webService;
+
+    @Inject
+    private ExecutorInstrumentation executorInstrumentation;
+
+    private EdrCache edrCache;
+    private long refreshCheckPeriod;
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public String name() {
+        return "EDR Token Cache Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        if (context.getSetting(TOKEN_CACHE_ENABLED, true)) {
+            var maxEntries = context.getSetting(TOKEN_CACHE_MAX_ENTRIES, 10_000);
+            var maxTtlSeconds = context.getSetting(TOKEN_CACHE_MAX_TTL_SECONDS, 300L);
+            if (maxEntries < 1 || maxTtlSeconds < 1) {
+                throw new EdcException(TOKEN_CACHE_MAX_ENTRIES + " and " + TOKEN_CACHE_MAX_TTL_SECONDS + " must be positive");
+            }
+            context.registerService(DataPlaneAccessTokenService.class,
+                    new CachingAccessTokenService(accessTokenService, maxEntries, maxTtlSeconds * 1000));
+        }
+
+        if (context.getSetting(EDR_CACHE_ENABLED, false)) {
+            var refreshBefore = context.getSetting(REFRESH_BEFORE_SECONDS, 60L);
+            var checkPeriod = context.getSetting(REFRESH_CHECK_PERIOD_SECONDS, 10L);
+            var maxFailures = context.getSetting(REFRESH_MAX_FAILURES, 3);
+            if (refreshBefore < 0 || checkPeriod < 1 || maxFailures < 1) {
+                throw new EdcException(REFRESH_CHECK_PERIOD_SECONDS + " and " + REFRESH_MAX_FAILURES + " must be positive, "
+                        + REFRESH_BEFORE_SECONDS + " must not be negative");
+            }
+            edrCache = new EdrCache(transferProcessService, refreshBefore * 1000, maxFailures, context.getMonitor());
+            eventRouter.register(TransferProcessEvent.class, edrCache);
+            webService.registerResource("management", new EdrCacheApiController(edrCache));
+            refreshCheckPeriod = refreshBefore > 0 ? checkPeriod : 0;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (refreshCheckPeriod == 0) {
+            return;
+        }
+        scheduler = executorInstrumentation.instrument(Executors.newSingleThreadScheduledExecutor(), "EDR refresh");
+        scheduler.scheduleWithFixedDelay(edrCache::refresh, refreshCheckPeriod, refreshCheckPeriod, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.edc.extension;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+
+/**
+ * Local query API over the crawled provider catalogs, registered on the management context
+ * by {@link FederatedCatalogCrawlerExtension}:
+ *
+ *   GET /api/management/federatedcatalog?providerId=...&offset=0&limit=50
+ *
+ * Answered from {@link FederatedCatalogStore} without contacting any provider. Each
+ * dataset carries the edc:participantId of the provider that offers it.
+ */
+@Path("/federatedcatalog")
+public class FederatedCatalogApiController {
+
+    private final FederatedCatalogStore store;
+    private final int maxLimit;
+
+    FederatedCatalogApiController(FederatedCatalogStore store, int maxLimit) {
+        this.store = store;
+        this.maxLimit = maxLimit;
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public JsonArray datasets(@QueryParam("providerId") String providerId,
+                              @QueryParam("offset") @DefaultValue("0") int offset,
+                              @QueryParam("limit") @DefaultValue("50") int limit) {
+        if (offset < 0 || limit < 1) {
+            throw new InvalidRequestException("offset must not be negative and limit must be positive");
+        }
+        var result = Json.createArrayBuilder();
+        store.query(providerId)
+                .skip(offset)
+                .limit(Math.min(limit, maxLimit))
+                .forEach(result::add);
+        return result.build();
+    }
+}
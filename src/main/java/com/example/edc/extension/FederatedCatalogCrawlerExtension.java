@@ -0,0 +1,135 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.services.spi.catalog.CatalogService;
+import org.eclipse.edc.jsonld.spi.JsonLd;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.system.ExecutorInstrumentation;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.web.spi.WebService;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FEDERATED CATALOG CRAWLER EXTENSION
+ *
+ * Consumer side of catalog discovery. Instead of sending a full catalog request to a
+ * provider every time the consumer looks for data, the catalogs of all known providers
+ * are crawled in the background ({@link CatalogCrawler}) and kept locally
+ * ({@link FederatedCatalogStore}). Lookups go to the local query API:
+ *
+ *   GET /api/management/federatedcatalog?providerId=urn:connector:provider
+ *
+ * Providers:
+ * ---------
+ * One entry per provider; the alias is free:
+ *
+ *   edc.catalog.crawler.targets.provider.id=urn:connector:provider
+ *   edc.catalog.crawler.targets.provider.url=http://localhost:8282/api/dsp
+ *
+ * Without targets the extension does nothing.
+ *
+ * Schedule:
+ * --------
+ * The first crawl runs edc.catalog.crawler.initial-delay.seconds after start, then one every
+ * edc.catalog.crawler.period.seconds. A crawl starts only after the previous one finished.
+ */
+public class FederatedCatalogCrawlerExtension implements ServiceExtension {
+
+    public static final String TARGETS = "edc.catalog.crawler.targets";
+
+    @Setting(value = "Seconds before the first catalog crawl", defaultValue = "10")
+    public static final String INITIAL_DELAY = "edc.catalog.crawler.initial-delay.seconds";
+
+    @Setting(value = "Seconds between two catalog crawls", defaultValue = "60")
+    public static final String PERIOD = "edc.catalog.crawler.period.seconds";
+
+    @Setting(value = "Number of providers crawled in parallel", defaultValue = "8")
+    public static final String PARALLELISM = "edc.catalog.crawler.parallelism";
+
+    @Setting(value = "Datasets requested per catalog request while crawling", defaultValue = "500")
+    public static final String PAGE_SIZE = "edc.catalog.crawler.page-size";
+
+    @Inject
+    private CatalogService catalogService;
+
+    @Inject
+    private JsonLd jsonLd;
+
+    @Inject
+    private WebService webService;
+
+    @Inject
+    private ExecutorInstrumentation executorInstrumentation;
+
+    private CatalogCrawler crawler;
+    private long initialDelay;
+    private long period;
+    private int parallelism;
+    private ScheduledExecutorService scheduler;
+    private ExecutorService crawlExecutor;
+
+    @Override
+    public String name() {
+        return "Federated Catalog Crawler Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        var targets = targets(context);
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        initialDelay = context.getSetting(INITIAL_DELAY, 10L);
+        period = context.getSetting(PERIOD, 60L);
+        parallelism = context.getSetting(PARALLELISM, 8);
+        var pageSize = context.getSetting(PAGE_SIZE, 500);
+        if (initialDelay < 0 || period < 1 || parallelism < 1 || pageSize < 1) {
+            throw new EdcException(PERIOD + ", " + PARALLELISM + " and " + PAGE_SIZE + " must be positive, "
+                    + INITIAL_DELAY + " must not be negative");
+        }
+
+        var store = new FederatedCatalogStore();
+        crawler = new CatalogCrawler(targets, catalogService, jsonLd, store, pageSize, context.getMonitor());
+        webService.registerResource("management", new FederatedCatalogApiController(store, pageSize));
+        context.getMonitor().info("Catalog crawler: " + targets.size() + " providers every " + period + "s");
+    }
+
+    @Override
+    public void start() {
+        if (crawler == null) {
+            return;
+        }
+        crawlExecutor = executorInstrumentation.instrument(Executors.newFixedThreadPool(parallelism), "Catalog crawler");
+        scheduler = executorInstrumentation.instrument(Executors.newSingleThreadScheduledExecutor(), "Catalog crawl scheduler");
+        scheduler.scheduleWithFixedDelay(() -> crawler.crawl(crawlExecutor), initialDelay, period, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            crawlExecutor.shutdownNow();
+        }
+    }
+
+    private static List<CatalogCrawler.Target> targets(ServiceExtensionContext context) {
+        return context.getConfig(TARGETS).partition()
+                .map(target -> {
+                    var id = target.getString("id", null);
+                    var url = target.getString("url", null);
+                    if (id == null || url == null) {
+                        throw new EdcException(TARGETS + "." + target.currentNode() + " needs an id and a url");
+                    }
+                    return new CatalogCrawler.Target(id, url);
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.edc.extension;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Local copy of the provider catalogs fetched by {@link CatalogCrawler}: the expanded
+ * JSON-LD datasets of every provider, sorted by dataset ID.
+ *
+ * A crawl is merged page by page as a diff against the previous snapshot of the provider,
+ * so unchanged datasets keep their stored instance and no crawl is ever held in memory as
+ * a whole. Datasets are compared without the IDs of their contract offers: the provider
+ * generates a new one (with a random UUID) for every catalog request. Datasets that are gone are removed once the crawl has seen the whole catalog.
+ * Queries read the live maps; they may see a crawl that is being applied, but never a
+ * torn dataset.
+ */
+class FederatedCatalogStore {
+
+    private static final String ODRL_HAS_POLICY = "http://www.w3.org/ns/odrl/2/hasPolicy";
+
+    private final Map<String, NavigableMap<String, JsonObject>> providers = new ConcurrentHashMap<>();
+
+    record Diff(int added, int updated, int removed) {
+        boolean isEmpty() {
+            return added == 0 && updated == 0 && removed == 0;
+        }
+    }
+
+    /**
+     * Merges one crawled page of a provider's catalog, writing only what changed.
+     */
+    Diff merge(String providerId, Map<String, JsonObject> datasets) {
+        var current = providers.computeIfAbsent(providerId, id -> new ConcurrentSkipListMap<>());
+        var added = 0;
+        var updated = 0;
+        for (var entry : datasets.entrySet()) {
+            var previous = current.get(entry.getKey());
+            if (previous == null) {
+                current.put(entry.getKey(), entry.getValue());
+                added++;
+            } else if (!withoutOfferIds(previous).equals(withoutOfferIds(entry.getValue()))) {
+                current.put(entry.getKey(), entry.getValue());
+                updated++;
+            }
+        }
+        return new Diff(added, updated, 0);
+    }
+
+    /**
+     * Removes the datasets of a provider that a complete crawl did not see; returns how
+     * many were removed.
+     */
+    int retain(String providerId, Set<String> seen) {
+        var current = providers.get(providerId);
+        if (current == null) {
+            return 0;
+        }
+        var sizeBefore = current.size();
+        current.keySet().removeIf(id -> !seen.contains(id));
+        return sizeBefore - current.size();
+    }
+
+    /**
+     * Datasets of one provider, or of all providers for null, in provider and dataset ID order.
+     */
+    Stream<JsonObject> query(String providerId) {
+        if (providerId != null) {
+            var datasets = providers.get(providerId);
+            return datasets == null ? Stream.empty() : datasets.values().stream();
+        }
+        return providers.keySet().stream()
+                .sorted()
+                .flatMap(id -> providers.get(id).values().stream());
+    }
+
+    int size() {
+        return providers.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private static JsonObject withoutOfferIds(JsonObject dataset) {
+        var offers = dataset.get(ODRL_HAS_POLICY);
+        if (offers == null || offers.getValueType() != JsonValue.ValueType.ARRAY) {
+            return dataset;
+        }
+        var policies = Json.createArrayBuilder();
+        for (var offer : offers.asJsonArray()) {
+            if (offer.getValueType() == JsonValue.ValueType.OBJECT) {
+                policies.add(Json.createObjectBuilder(offer.asJsonObject()).remove("@id"));
+            } else {
+                policies.add(offer);
+            }
+        }
+        return Json.createObjectBuilder(dataset).add(ODRL_HAS_POLICY, policies).build();
+    }
+}
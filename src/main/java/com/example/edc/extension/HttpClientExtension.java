@@ -0,0 +1,153 @@
+package com.example.edc.extension;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import javax.net.SocketFactory;
+
+/**
+ * HTTP CLIENT EXTENSION
+ *
+ * Builds the connector's OkHttpClient, which EdcHttpClient wraps, from EDC's
+ * edc.http.client.* settings like the default client it replaces: timeouts, socket buffer
+ * sizes and https enforcement.
+ *
+ * Feature extensions add their interceptors through {@link HttpClientInterceptors}:
+ *
+ * - per-destination limits in virtual mode ({@link DestinationLimitExtension})
+ * - the disk response cache ({@link HttpResponseCacheExtension})
+ * - gzip compression ({@link HttpCompressionExtension})
+ *
+ * What OkHttp fixes when the client is built is set up here:
+ *
+ * - With edc.runtime.shared-resources=true (several connectors in one JVM, see
+ *   {@link SharedRuntimeResources}) the client shares its connection pool and dispatcher
+ *   with the other runtimes. Otherwise up to edc.http.client.max-idle-connections idle
+ *   keep-alive connections are pooled, and with edc.dataplane.executor=virtual the
+ *   asynchronous calls (DSP messages) run on virtual threads.
+ * - The disk cache of the response cache, when edc.dataplane.http.cache.enabled is set.
+ *
+ * The dispatcher's limits can still be changed afterwards, which the negotiation fast path
+ * ({@link NegotiationFastPathExtension}) does.
+ */
+@Provides({ OkHttpClient.class, HttpClientInterceptors.class })
+public class HttpClientExtension implements ServiceExtension {
+
+    @Setting(value = "Idle keep-alive connections kept in the pool of the connector's HTTP client", defaultValue = "5")
+    public static final String MAX_IDLE_CONNECTIONS = "edc.http.client.max-idle-connections";
+
+    private static final String CONNECT_TIMEOUT = "edc.http.client.timeout.connect";
+    private static final String READ_TIMEOUT = "edc.http.client.timeout.read";
+    private static final String HTTPS_ENFORCE = "edc.http.client.https.enforce";
+    private static final String SEND_BUFFER_SIZE = "edc.http.client.send.buffer.size";
+    private static final String RECEIVE_BUFFER_SIZE = "edc.http.client.receive.buffer.size";
+
+    @Override
+    public String name() {
+        return "HTTP Client Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        var shared = SharedRuntimeResources.enabled(context);
+        var builder = shared ? SharedRuntimeResources.httpClient().newBuilder() : new OkHttpClient.Builder();
+        builder.connectTimeout(context.getSetting(CONNECT_TIMEOUT, 30), TimeUnit.SECONDS)
+                .readTimeout(context.getSetting(READ_TIMEOUT, 30), TimeUnit.SECONDS);
+        if (context.getSetting(HTTPS_ENFORCE, false)) {
+            builder.addInterceptor(chain -> {
+                if (!"https".equals(chain.request().url().scheme())) {
+                    throw new EdcException("OkHttpClient: Only HTTPS connections are allowed");
+                }
+                return chain.proceed(chain.request());
+            });
+        }
+        var sendBufferSize = context.getSetting(SEND_BUFFER_SIZE, 0);
+        var receiveBufferSize = context.getSetting(RECEIVE_BUFFER_SIZE, 0);
+        if (sendBufferSize > 0 || receiveBufferSize > 0) {
+            builder.socketFactory(new BufferSizeSocketFactory(sendBufferSize, receiveBufferSize));
+        }
+
+        if (!shared) {
+            var maxIdleConnections = context.getSetting(MAX_IDLE_CONNECTIONS, 5);
+            if (maxIdleConnections < 0) {
+                throw new EdcException(MAX_IDLE_CONNECTIONS + " must not be negative, was " + maxIdleConnections);
+            }
+            builder.connectionPool(new ConnectionPool(maxIdleConnections, 5, TimeUnit.MINUTES));
+            // on older JVMs DataPlaneExecutorExtension fails the startup for virtual mode
+            if (DataPlaneExecutorExtension.VIRTUAL.equals(context.getSetting(DataPlaneExecutorExtension.EXECUTOR, "platform"))
+                    && VirtualThreads.available()) {
+                builder.dispatcher(new Dispatcher(VirtualThreads.newExecutor()));
+            }
+        }
+
+        var responseCache = HttpResponseCacheExtension.cache(context);
+        if (responseCache != null) {
+            builder.cache(responseCache);
+        }
+
+        var interceptors = new HttpClientInterceptors();
+        builder.addInterceptor(interceptors.application())
+                .addNetworkInterceptor(interceptors.network());
+        context.registerService(HttpClientInterceptors.class, interceptors);
+        context.registerService(OkHttpClient.class, builder.build());
+    }
+
+    /**
+     * Sets the socket buffer sizes of every connection, 0 keeps the OS default.
+     */
+    private static final class BufferSizeSocketFactory extends SocketFactory {
+        private final SocketFactory delegate = SocketFactory.getDefault();
+        private final int sendBufferSize;
+        private final int receiveBufferSize;
+
+        BufferSizeSocketFactory(int sendBufferSize, int receiveBufferSize) {
+            this.sendBufferSize = sendBufferSize;
+            this.receiveBufferSize = receiveBufferSize;
+        }
+
+        @Override
+        public Socket createSocket() throws IOException {
+            return configure(delegate.createSocket());
+        }
+
+        @Override
+        public Socket createSocket(String host, int port) throws IOException {
+            return configure(delegate.createSocket(host, port));
+        }
+
+        @Override
+        public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+            return configure(delegate.createSocket(host, port, localHost, localPort));
+        }
+
+        @Override
+        public Socket createSocket(InetAddress host, int port) throws IOException {
+            return configure(delegate.createSocket(host, port));
+        }
+
+        @Override
+        public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+            return configure(delegate.createSocket(address, port, localAddress, localPort));
+        }
+
+        private Socket configure(Socket socket) throws IOException {
+            if (sendBufferSize > 0) {
+                socket.setSendBufferSize(sendBufferSize);
+            }
+            if (receiveBufferSize > 0) {
+                socket.setReceiveBufferSize(receiveBufferSize);
+            }
+            return socket;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.edc.extension;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP CLIENT INTERCEPTORS
+ *
+ * Interceptors contributed to the connector's OkHttpClient by the feature extensions
+ * (destination limits, response cache, compression). Registered by
+ * {@link HttpClientExtension}.
+ *
+ * The client is built before the contributing extensions initialize: they inject
+ * HttpRequestParamsProvider of data-plane-http, which itself depends on the client. So the
+ * client holds one application and one network interceptor that run the interceptors
+ * added here, in the order they were added, on every call. Interceptors added after the
+ * first call apply to the calls that start afterwards.
+ */
+public class HttpClientInterceptors {
+
+    private volatile List<Interceptor> interceptors = List.of();
+    private volatile List<Interceptor> networkInterceptors = List.of();
+
+    /**
+     * Adds an application interceptor: called once per call, also for responses served
+     * from the response cache.
+     */
+    public synchronized void addInterceptor(Interceptor interceptor) {
+        interceptors = append(interceptors, interceptor);
+    }
+
+    /**
+     * Adds a network interceptor: called once per request that goes over the network.
+     */
+    public synchronized void addNetworkInterceptor(Interceptor interceptor) {
+        networkInterceptors = append(networkInterceptors, interceptor);
+    }
+
+    /**
+     * The application interceptor of the client that runs the contributed ones.
+     */
+    Interceptor application() {
+        return chain -> proceed(interceptors, 0, chain, chain.request());
+    }
+
+    /**
+     * The network interceptor of the client that runs the contributed ones.
+     */
+    Interceptor network() {
+        return chain -> proceed(networkInterceptors, 0, chain, chain.request());
+    }
+
+    private static Response proceed(List<Interceptor> interceptors, int index, Interceptor.Chain chain, Request request) throws IOException {
+        if (index == interceptors.size()) {
+            return chain.proceed(request);
+        }
+        return interceptors.get(index).intercept(new ContributedChain(interceptors, index + 1, chain, request));
+    }
+
+    private static List<Interceptor> append(List<Interceptor> interceptors, Interceptor interceptor) {
+        var appended = new ArrayList<>(interceptors);
+        appended.add(interceptor);
+        return List.copyOf(appended);
+    }
+
+    /**
+     * The chain handed to a contributed interceptor: proceeds with the next contributed
+     * interceptor, after the last one with the client's own chain.
+     */
+    private static final class ContributedChain implements Interceptor.Chain {
+        private final List<Interceptor> interceptors;
+        private final int next;
+        private final Interceptor.Chain delegate;
+        private final Request request;
+
+        ContributedChain(List<Interceptor> interceptors, int next, Interceptor.Chain delegate, Request request) {
+            this.interceptors = interceptors;
+            this.next = next;
+            this.delegate = delegate;
+            this.request = request;
+        }
+
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Override
+        public Response proceed(Request request) throws IOException {
+            return HttpClientInterceptors.proceed(interceptors, next, delegate, request);
+        }
+
+        @Override
+        public Connection connection() {
+            return delegate.connection();
+        }
+
+        @Override
+        public Call call() {
+            return delegate.call();
+        }
+
+        @Override
+        public int connectTimeoutMillis() {
+            return delegate.connectTimeoutMillis();
+        }
+
+        @Override
+        public Interceptor.Chain withConnectTimeout(int timeout, TimeUnit unit) {
+            return new ContributedChain(interceptors, next, delegate.withConnectTimeout(timeout, unit), request);
+        }
+
+        @Override
+        public int readTimeoutMillis() {
+            return delegate.readTimeoutMillis();
+        }
+
+        @Override
+        public Interceptor.Chain withReadTimeout(int timeout, TimeUnit unit) {
+            return new ContributedChain(interceptors, next, delegate.withReadTimeout(timeout, unit), request);
+        }
+
+        @Override
+        public int writeTimeoutMillis() {
+            return delegate.writeTimeoutMillis();
+        }
+
+        @Override
+        public Interceptor.Chain withWriteTimeout(int timeout, TimeUnit unit) {
+            return new ContributedChain(interceptors, next, delegate.withWriteTimeout(timeout, unit), request);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.dataplane.http.spi.HttpRequestParamsProvider;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+
+/**
+ * HTTP COMPRESSION EXTENSION
+ *
+ * JSON assets compress to a fraction of their size, but HttpData transfers move them
+ * uncompressed unless the upstream server compresses on its own. With
+ * edc.dataplane.http.compression.enabled=true the connector's HTTP client
+ * ({@link HttpClientExtension}) gets a {@link HttpCompressionInterceptor}:
+ *
+ * - Source fetch: OkHttp already asks for gzip and decompresses responses transparently,
+ *   with or without this extension; with metrics enabled, the interceptor does it instead
+ *   so that it can be measured.
+ * - Sink push: a destination has to accept compressed uploads, so it opts in with a data
+ *   address property; the body is then compressed while it is sent:
+ *
+ *     DataAddress.Builder.newInstance()
+ *             .type("HttpData")
+ *             .property("baseUrl", "https://consumer.example.com/upload")
+ *             .property("contentEncoding", "gzip")
+ *
+ *   Compressed uploads are chunked; destinations with nonChunkedTransfer=true are sent
+ *   uncompressed.
+ *
+ * With metrics enabled, compression ratio and throughput are recorded per direction (see
+ * {@link HttpCompressionInterceptor}).
+ */
+public class HttpCompressionExtension implements ServiceExtension {
+
+    public static final String CONTENT_ENCODING_PROPERTY = "contentEncoding";
+
+    private static final String GZIP = "gzip";
+
+    @Setting(value = "Compress HttpData pushes with gzip for destinations that opt in, and measure gzip fetches", defaultValue = "false")
+    public static final String ENABLED = "edc.dataplane.http.compression.enabled";
+
+    @Inject
+    private HttpRequestParamsProvider requestParamsProvider;
+
+    @Inject
+    private HttpClientInterceptors httpClientInterceptors;
+
+    @Inject
+    private ConnectorMetrics metrics;
+
+    @Override
+    public String name() {
+        return "HTTP Compression Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        if (!context.getSetting(ENABLED, false)) {
+            return;
+        }
+        httpClientInterceptors.addInterceptor(new HttpCompressionInterceptor(metrics.registry()));
+        requestParamsProvider.registerSinkDecorator((request, address, params) ->
+                GZIP.equalsIgnoreCase(address.getStringProperty(CONTENT_ENCODING_PROPERTY))
+                        && !Boolean.parseBoolean(address.getStringProperty("nonChunkedTransfer"))
+                        ? params.header(HttpCompressionInterceptor.COMPRESS_HEADER, GZIP)
+                        : params);
+        context.getMonitor().info("HTTP compression: gzip on push to destinations with " + CONTENT_ENCODING_PROPERTY + "=gzip");
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.edc.extension;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.ForwardingSink;
+import okio.ForwardingSource;
+import okio.GzipSink;
+import okio.GzipSource;
+import okio.Okio;
+import okio.Sink;
+import okio.Source;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * OkHttp interceptor compressing HTTP bodies with gzip, chunk by chunk.
+ *
+ * - Push: request bodies of requests carrying {@link #COMPRESS_HEADER} (set by
+ *   {@link HttpCompressionExtension} for destinations that accept gzip) are compressed
+ *   while they are written and sent with Content-Encoding: gzip, chunked, as the
+ *   compressed length is not known in advance.
+ * - Fetch: nothing to add, OkHttp's BridgeInterceptor already asks for gzip (when the
+ *   request has neither Accept-Encoding nor Range) and decompresses the response
+ *   transparently. Only with metrics does this interceptor take that over, with the same
+ *   rule, because OkHttp's decoding cannot be measured; OkHttp then steps aside, as the
+ *   header is set.
+ *
+ * Neither side holds more than a segment of the body in memory. With a meter registry,
+ * every compressed body is recorded per direction (fetch/push):
+ * edc.dataplane.http.compression.bytes{form=wire|decoded} (rate = throughput),
+ * edc.dataplane.http.compression.ratio (decoded / wire bytes) and
+ * edc.dataplane.http.compression.throughput (decoded bytes per second).
+ */
+class HttpCompressionInterceptor implements Interceptor {
+
+    static final String COMPRESS_HEADER = "X-Edc-Compress";
+
+    private static final String GZIP = "gzip";
+    private static final String FETCH = "fetch";
+    private static final String PUSH = "push";
+
+    private final MeterRegistry registry;
+
+    /**
+     * @param registry Micrometer registry, null when metrics are disabled
+     */
+    HttpCompressionInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        var request = chain.request();
+        var builder = request.newBuilder();
+        if (request.header(COMPRESS_HEADER) != null) {
+            builder.removeHeader(COMPRESS_HEADER);
+            if (request.body() != null) {
+                builder.header("Content-Encoding", GZIP)
+                        .removeHeader("Content-Length")
+                        .method(request.method(), new GzipRequestBody(request.body(), new Measurement(PUSH)));
+            }
+        }
+        // without metrics the fetch side is left to OkHttp's transparent gzip
+        var negotiate = registry != null && request.header("Accept-Encoding") == null && request.header("Range") == null;
+        if (negotiate) {
+            builder.header("Accept-Encoding", GZIP);
+        }
+
+        var response = chain.proceed(builder.build());
+        var body = response.body();
+        if (!negotiate || body == null || !GZIP.equalsIgnoreCase(response.header("Content-Encoding"))
+                || "HEAD".equals(request.method()) || response.code() == 204 || response.code() == 304) {
+            return response;
+        }
+        return response.newBuilder()
+                .removeHeader("Content-Encoding")
+                .removeHeader("Content-Length")
+                .body(new GunzipResponseBody(body, new Measurement(FETCH)))
+                .build();
+    }
+
+    /**
+     * Byte counts of one compressed body, recorded once when the body is closed.
+     */
+    private final class Measurement {
+        private final String direction;
+        private final long startedAt = System.nanoTime();
+        private final AtomicBoolean recorded = new AtomicBoolean();
+        private long wire;
+        private long decoded;
+
+        Measurement(String direction) {
+            this.direction = direction;
+        }
+
+        Sink countWire(Sink sink) {
+            return new ForwardingSink(sink) {
+                @Override
+                public void write(Buffer source, long byteCount) throws IOException {
+                    super.write(source, byteCount);
+                    wire += byteCount;
+                }
+            };
+        }
+
+        Sink countDecoded(Sink sink) {
+            return new ForwardingSink(sink) {
+                @Override
+                public void write(Buffer source, long byteCount) throws IOException {
+                    super.write(source, byteCount);
+                    decoded += byteCount;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        record();
+                    }
+                }
+            };
+        }
+
+        Source countWire(Source source) {
+            return new ForwardingSource(source) {
+                @Override
+                public long read(Buffer sink, long byteCount) throws IOException {
+                    var read = super.read(sink, byteCount);
+                    wire += Math.max(read, 0);
+                    return read;
+                }
+            };
+        }
+
+        Source countDecoded(Source source) {
+            return new ForwardingSource(source) {
+                @Override
+                public long read(Buffer sink, long byteCount) throws IOException {
+                    var read = super.read(sink, byteCount);
+                    decoded += Math.max(read, 0);
+                    return read;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        record();
+                    }
+                }
+            };
+        }
+
+        private void record() {
+            if (registry == null || wire == 0 || !recorded.compareAndSet(false, true)) {
+                return;
+            }
+            Counter.builder("edc.dataplane.http.compression.bytes").tag("direction", direction).tag("form", "wire")
+                    .baseUnit("bytes").register(registry).increment(wire);
+            Counter.builder("edc.dataplane.http.compression.bytes").tag("direction", direction).tag("form", "decoded")
+                    .baseUnit("bytes").register(registry).increment(decoded);
+            DistributionSummary.builder("edc.dataplane.http.compression.ratio").tag("direction", direction)
+                    .register(registry).record((double) decoded / wire);
+            var seconds = Math.max(System.nanoTime() - startedAt, 1) / 1e9;
+            DistributionSummary.builder("edc.dataplane.http.compression.throughput").tag("direction", direction)
+                    .baseUnit("bytes/s").register(registry).record(decoded / seconds);
+        }
+    }
+
+    private static final class GzipRequestBody extends RequestBody {
+        private final RequestBody delegate;
+        private final Measurement measurement;
+
+        GzipRequestBody(RequestBody delegate, Measurement measurement) {
+            this.delegate = delegate;
+            this.measurement = measurement;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return -1; // chunked upload
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return delegate.isOneShot();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            try (BufferedSink gzip = Okio.buffer(measurement.countDecoded(new GzipSink(measurement.countWire(sink))))) {
+                delegate.writeTo(gzip);
+            }
+        }
+    }
+
+    private static final class GunzipResponseBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        GunzipResponseBody(ResponseBody delegate, Measurement measurement) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(measurement.countDecoded(new GzipSource(measurement.countWire(delegate.source()))));
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return -1;
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+}
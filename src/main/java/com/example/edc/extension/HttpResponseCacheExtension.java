@@ -0,0 +1,121 @@
+package com.example.edc.extension;
+
+import io.micrometer.core.instrument.Gauge;
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import org.eclipse.edc.connector.dataplane.http.spi.HttpRequestParamsProvider;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+
+import java.io.File;
+
+/**
+ * HTTP RESPONSE CACHE EXTENSION
+ *
+ * Popular HttpData assets are pulled by many consumers with identical requests, and every
+ * pull goes to the upstream server. With edc.dataplane.http.cache.enabled=true the
+ * connector's HTTP client keeps upstream responses in a size-bounded disk cache (OkHttp's
+ * response cache, under edc.dataplane.http.cache.directory), so repeated pulls of a hot
+ * asset are served locally.
+ *
+ * Per asset:
+ * ---------
+ * Only assets whose data address sets a TTL are cached:
+ *
+ *   DataAddress.Builder.newInstance()
+ *           .type("HttpData")
+ *           .property("baseUrl", "https://api.example.com/prices")
+ *           .property("cacheTtlSeconds", "30")
+ *
+ * A response is served from the cache for cacheTtlSeconds, then revalidated with its ETag or
+ * Last-Modified (see {@link HttpResponseCacheInterceptor}). Responses are cached per URL,
+ * so requests with different proxied paths or query parameters do not share entries. Assets
+ * that authorize upstream per consumer must not set a TTL.
+ *
+ * The disk cache is set up by {@link HttpClientExtension} when it builds the HTTP client;
+ * this extension adds the interceptors that keep it to opted-in requests and marks the
+ * requests of assets with a TTL. With metrics enabled, edc.dataplane.http.cache.requests
+ * and .hits show how much upstream load is saved.
+ */
+public class HttpResponseCacheExtension implements ServiceExtension {
+
+    public static final String TTL_PROPERTY = "cacheTtlSeconds";
+
+    @Setting(value = "Cache upstream responses of HttpData assets that set " + TTL_PROPERTY, defaultValue = "false")
+    public static final String ENABLED = "edc.dataplane.http.cache.enabled";
+
+    @Setting(value = "Directory of the HTTP response cache", defaultValue = "data/http-cache")
+    public static final String DIRECTORY = "edc.dataplane.http.cache.directory";
+
+    @Setting(value = "Maximum size of the HTTP response cache in MB", defaultValue = "256")
+    public static final String MAX_SIZE_MB = "edc.dataplane.http.cache.max-size-mb";
+
+    @Inject
+    private HttpRequestParamsProvider requestParamsProvider;
+
+    @Inject
+    private HttpClientInterceptors httpClientInterceptors;
+
+    @Inject
+    private OkHttpClient httpClient;
+
+    @Inject
+    private ConnectorMetrics metrics;
+
+    @Override
+    public String name() {
+        return "HTTP Response Cache Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        if (!context.getSetting(ENABLED, false)) {
+            return;
+        }
+        var monitor = context.getMonitor();
+        httpClientInterceptors.addInterceptor(new HttpResponseCacheInterceptor.Bypass());
+        httpClientInterceptors.addNetworkInterceptor(new HttpResponseCacheInterceptor());
+        requestParamsProvider.registerSourceDecorator((request, address, params) -> {
+            var ttl = ttlSeconds(address.getStringProperty(TTL_PROPERTY), request.getAssetId(), monitor);
+            return ttl > 0 ? params.header(HttpResponseCacheInterceptor.TTL_HEADER, String.valueOf(ttl)) : params;
+        });
+        var cache = httpClient.cache();
+        if (cache != null && metrics.enabled()) {
+            Gauge.builder("edc.dataplane.http.cache.requests", cache, Cache::requestCount).register(metrics.registry());
+            Gauge.builder("edc.dataplane.http.cache.hits", cache, Cache::hitCount).register(metrics.registry());
+        }
+        monitor.info("HTTP response cache: " + context.getSetting(MAX_SIZE_MB, 256) + " MB in "
+                + context.getSetting(DIRECTORY, "data/http-cache"));
+    }
+
+    /**
+     * The response cache configured for this runtime, null when disabled. Created by
+     * {@link HttpClientExtension}, as OkHttp only takes it when the client is built.
+     */
+    static Cache cache(ServiceExtensionContext context) {
+        if (!context.getSetting(ENABLED, false)) {
+            return null;
+        }
+        var maxSizeMb = context.getSetting(MAX_SIZE_MB, 256L);
+        if (maxSizeMb < 1) {
+            throw new EdcException(MAX_SIZE_MB + " must be positive, was " + maxSizeMb);
+        }
+        return new Cache(new File(context.getSetting(DIRECTORY, "data/http-cache")), maxSizeMb * 1024 * 1024);
+    }
+
+    private static long ttlSeconds(String value, String assetId, Monitor monitor) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            monitor.warning("Asset " + assetId + ": " + TTL_PROPERTY + " is no number, response not cached: " + value);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.edc.extension;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Network interceptor deciding which upstream responses OkHttp's response cache keeps.
+ *
+ * Requests of assets with a cache TTL carry it in the {@link #TTL_HEADER} header (set by
+ * {@link HttpResponseCacheExtension}). The header is removed before the request leaves the
+ * connector, and a successful response gets Cache-Control: max-age=TTL, so the cache serves
+ * it for that long. After that the cache revalidates it with If-None-Match /
+ * If-Modified-Since when the upstream sent an ETag or Last-Modified; a 304 answer renews the
+ * entry for another TTL without transferring the body again. Upstream responses marked
+ * no-store or private are never cached.
+ *
+ * GET responses without the header are marked no-store. OkHttp's cache is keyed by URL
+ * only, so requests without the header must also skip the cache lookup, or they would be
+ * answered with an entry stored for an asset that opted in: {@link Bypass}, installed as an
+ * application interceptor next to this one, sends them to the network.
+ */
+class HttpResponseCacheInterceptor implements Interceptor {
+
+    static final String TTL_HEADER = "X-Edc-Cache-Ttl";
+
+    private static final String CACHE_CONTROL = "Cache-Control";
+    private static final int NOT_MODIFIED = 304;
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        var request = chain.request();
+        var ttl = request.header(TTL_HEADER);
+        if (ttl == null) {
+            var response = chain.proceed(withOwnCacheControl(request));
+            return "GET".equals(request.method()) ? response.newBuilder().header(CACHE_CONTROL, "no-store").build() : response;
+        }
+
+        var response = chain.proceed(request.newBuilder().removeHeader(TTL_HEADER).build());
+        var upstream = response.cacheControl();
+        if (!(response.isSuccessful() || response.code() == NOT_MODIFIED) || upstream.noStore() || upstream.isPrivate()) {
+            return response;
+        }
+        return response.newBuilder()
+                .header(CACHE_CONTROL, "max-age=" + ttl)
+                .removeHeader("Expires")
+                .removeHeader("Pragma")
+                .build();
+    }
+
+    /**
+     * Application interceptor making requests without {@link #TTL_HEADER} bypass the
+     * cache. The no-cache it adds only steers OkHttp's cache, the upstream gets the
+     * request's own Cache-Control headers.
+     */
+    static final class Bypass implements Interceptor {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            var request = chain.request();
+            if (request.header(TTL_HEADER) != null) {
+                return chain.proceed(request);
+            }
+            return chain.proceed(request.newBuilder()
+                    .tag(Bypassed.class, new Bypassed(request.headers(CACHE_CONTROL)))
+                    .cacheControl(CacheControl.FORCE_NETWORK)
+                    .build());
+        }
+    }
+
+    private record Bypassed(List<String> cacheControl) {
+    }
+
+    private static Request withOwnCacheControl(Request request) {
+        var bypassed = request.tag(Bypassed.class);
+        if (bypassed == null) {
+            return request;
+        }
+        var builder = request.newBuilder().removeHeader(CACHE_CONTROL);
+        bypassed.cacheControl().forEach(value -> builder.addHeader(CACHE_CONTROL, value));
+        return builder.build();
+    }
+}
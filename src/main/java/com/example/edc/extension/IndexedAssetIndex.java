@@ -0,0 +1,378 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.asset.spi.domain.Asset;
+import org.eclipse.edc.connector.controlplane.asset.spi.index.AssetIndex;
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.CriterionOperatorRegistry;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.query.SortOrder;
+import org.eclipse.edc.spi.result.StoreResult;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.eclipse.edc.spi.constants.CoreConstants.EDC_NAMESPACE;
+
+/**
+ * INDEXED ASSET INDEX
+ *
+ * Why not the default in-memory store?
+ * ====================================
+ * The in-memory AssetIndex that ships with EDC keeps assets in a plain map and answers
+ * every query (catalog requests, /v3/assets/request filters, contract definition selectors)
+ * by scanning ALL assets. That is fine for the single sample asset, but not for hundreds of
+ * thousands of them.
+ *
+ * How this index works:
+ * --------------------
+ * - Primary storage: a ConcurrentHashMap from asset ID to Asset
+ * - Secondary indexes: one sorted map per indexed property (value -> asset IDs) for
+ *   id, category, assetClass, region and contenttype (plain and EDC-namespaced keys)
+ * - Criteria using "=", "in" or "like" on an indexed property are answered from the
+ *   indexes; all other criteria are only evaluated against the (small) candidate set
+ *
+ * Concurrency:
+ * -----------
+ * Writers for the same asset ID are serialized through a fixed set of striped locks.
+ * Readers never take a lock: they read the concurrent maps directly and re-check every
+ * candidate against the full filter, so a half-applied update can never leak a wrong
+ * result.
+ *
+ * Change Listeners:
+ * ----------------
+ * Components that derive data from the assets (e.g. the materialized catalog) register a
+ * {@link Listener}. It is called for every successful write, while the asset's lock is
+ * still held, so listeners see the changes for one asset in the order they happened.
+ */
+public class IndexedAssetIndex implements AssetIndex {
+
+    /**
+     * Notified after every successful write to the index.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param previous the asset before the change, null if it was created
+         * @param current  the asset after the change, null if it was deleted
+         */
+        void changed(Asset previous, Asset current);
+    }
+
+    /**
+     * Property names that get a secondary index. Each one is indexed both with its plain
+     * key (as used by SampleDataExtension) and its EDC-namespaced key (as produced by the
+     * Management API after JSON-LD expansion).
+     */
+    static final List<String> INDEXED_PROPERTIES = List.of("category", "assetClass", "region", "contenttype", "contentType");
+
+    private static final int LOCK_STRIPES = 64;
+    private static final String EQUAL = "=";
+    private static final String IN = "in";
+    private static final String LIKE = "like";
+    // LIKE wildcards (% and _) and regex meta characters
+    private static final String LIKE_SPECIAL_CHARACTERS = "%_\\.[]{}()<>*+-=!?^$|";
+
+    private final Map<String, Asset> assets = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentSkipListMap<String, Set<String>>> indexes = new HashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final CriterionOperatorRegistry criterionOperatorRegistry;
+
+    public IndexedAssetIndex(CriterionOperatorRegistry criterionOperatorRegistry) {
+        this.criterionOperatorRegistry = criterionOperatorRegistry;
+        for (var i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        // the set of indexes is fixed here, so the outer map is never modified afterwards
+        indexes.put(Asset.PROPERTY_ID, new ConcurrentSkipListMap<>());
+        indexes.put("id", indexes.get(Asset.PROPERTY_ID));
+        for (var property : INDEXED_PROPERTIES) {
+            indexes.put(property, new ConcurrentSkipListMap<>());
+            indexes.put(EDC_NAMESPACE + property, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    // =============================================================================
+    // READ OPERATIONS (lock-free)
+    // =============================================================================
+
+    @Override
+    public Stream<Asset> queryAssets(QuerySpec querySpec) {
+        var stream = filter(querySpec.getFilterExpression());
+
+        var sortField = querySpec.getSortField();
+        if (sortField != null) {
+            Comparator<Asset> comparator = Comparator.comparing(asset -> sortKey(asset, sortField),
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            stream = stream.sorted(querySpec.getSortOrder() == SortOrder.DESC ? comparator.reversed() : comparator);
+        }
+
+        return stream.skip(querySpec.getOffset()).limit(querySpec.getLimit());
+    }
+
+    @Override
+    public Asset findById(String assetId) {
+        return assets.get(assetId);
+    }
+
+    @Override
+    public long countAssets(List<Criterion> criteria) {
+        return filter(criteria).count();
+    }
+
+    @Override
+    public DataAddress resolveForAsset(String assetId) {
+        var asset = assets.get(assetId);
+        return asset != null ? asset.getDataAddress() : null;
+    }
+
+    /**
+     * Number of assets currently held by the index.
+     */
+    public int size() {
+        return assets.size();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    // =============================================================================
+    // WRITE OPERATIONS (striped locks per asset ID)
+    // =============================================================================
+
+    @Override
+    public StoreResult<Void> create(Asset asset) {
+        var lock = lockFor(asset.getId());
+        lock.lock();
+        try {
+            if (assets.putIfAbsent(asset.getId(), asset) != null) {
+                return StoreResult.alreadyExists(String.format(ASSET_EXISTS_TEMPLATE, asset.getId()));
+            }
+            addToIndexes(asset);
+            notifyListeners(null, asset);
+            return StoreResult.success();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public StoreResult<Asset> updateAsset(Asset asset) {
+        var lock = lockFor(asset.getId());
+        lock.lock();
+        try {
+            var existing = assets.get(asset.getId());
+            if (existing == null) {
+                return StoreResult.notFound(String.format(ASSET_NOT_FOUND_TEMPLATE, asset.getId()));
+            }
+            // publish the new version first so readers holding a stale index entry still see current data
+            assets.put(asset.getId(), asset);
+            reindex(existing, asset);
+            notifyListeners(existing, asset);
+            return StoreResult.success(asset);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public StoreResult<Asset> deleteById(String assetId) {
+        var lock = lockFor(assetId);
+        lock.lock();
+        try {
+            var removed = assets.remove(assetId);
+            if (removed == null) {
+                return StoreResult.notFound(String.format(ASSET_NOT_FOUND_TEMPLATE, assetId));
+            }
+            removeFromIndexes(removed);
+            notifyListeners(removed, null);
+            return StoreResult.success(removed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // =============================================================================
+    // QUERY PLANNING
+    // =============================================================================
+
+    /**
+     * Narrows the asset set using every indexable criterion, then verifies all criteria
+     * (indexed or not) against the remaining candidates using the registered operators.
+     * Without any indexable criterion this falls back to a full scan.
+     */
+    private Stream<Asset> filter(List<Criterion> criteria) {
+        if (criteria == null || criteria.isEmpty()) {
+            return assets.values().stream();
+        }
+
+        Set<String> candidates = null;
+        for (var criterion : criteria) {
+            var ids = lookup(criterion);
+            if (ids == null) {
+                continue;
+            }
+            candidates = candidates == null ? ids : intersect(candidates, ids);
+            if (candidates.isEmpty()) {
+                return Stream.empty();
+            }
+        }
+
+        Predicate<Asset> predicate = criteria.stream()
+                .map(criterionOperatorRegistry::<Asset>toPredicate)
+                .reduce(x -> true, Predicate::and);
+
+        var source = candidates == null ? assets.values().stream() : candidates.stream().map(assets::get).filter(Objects::nonNull);
+        return source.filter(predicate);
+    }
+
+    /**
+     * Returns the IDs matching a single criterion from the indexes, or null if the
+     * criterion cannot be answered from an index. The result may be a superset of the
+     * exact match; it is never a subset.
+     */
+    private Set<String> lookup(Criterion criterion) {
+        if (!(criterion.getOperandLeft() instanceof String property)) {
+            return null;
+        }
+        var index = indexes.get(property);
+        if (index == null || criterion.getOperator() == null) {
+            return null;
+        }
+
+        var right = criterion.getOperandRight();
+        switch (criterion.getOperator().toLowerCase()) {
+            case EQUAL:
+                return right == null ? null : index.getOrDefault(right.toString(), Set.of());
+            case IN:
+                if (!(right instanceof Collection<?> values)) {
+                    return null;
+                }
+                var result = new HashSet<String>();
+                values.forEach(value -> result.addAll(index.getOrDefault(String.valueOf(value), Set.of())));
+                return result;
+            case LIKE:
+                if (!(right instanceof String pattern)) {
+                    return null;
+                }
+                var prefix = literalPrefix(pattern);
+                var range = prefix.isEmpty() ? index : index.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+                return range.values().stream().flatMap(Set::stream).collect(Collectors.toSet());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * The part of a LIKE pattern before the first wildcard ('%' for any run of characters,
+     * '_' for a single one) or regex meta character. Every value matching the pattern starts
+     * with this prefix, so it can be used as a range scan.
+     */
+    private static String literalPrefix(String pattern) {
+        var end = 0;
+        while (end < pattern.length() && LIKE_SPECIAL_CHARACTERS.indexOf(pattern.charAt(end)) < 0) {
+            end++;
+        }
+        return pattern.substring(0, end);
+    }
+
+    private static Set<String> intersect(Set<String> first, Set<String> second) {
+        var smaller = first.size() <= second.size() ? first : second;
+        var larger = smaller == first ? second : first;
+        return smaller.stream().filter(larger::contains).collect(Collectors.toSet());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> sortKey(Asset asset, String sortField) {
+        var value = "id".equals(sortField) ? asset.getId() : asset.getProperty(sortField);
+        if (value == null || value instanceof Comparable) {
+            return (Comparable<Object>) value;
+        }
+        return (Comparable<Object>) (Comparable<?>) value.toString();
+    }
+
+    // =============================================================================
+    // INDEX MAINTENANCE
+    // =============================================================================
+
+    private void addToIndexes(Asset asset) {
+        indexes.forEach((key, index) -> addEntry(index, indexedValue(asset, key), asset.getId()));
+    }
+
+    private void removeFromIndexes(Asset asset) {
+        indexes.forEach((key, index) -> removeEntry(index, indexedValue(asset, key), asset.getId()));
+    }
+
+    /**
+     * Moves index entries whose value changed. Unchanged entries are left alone so that
+     * readers never observe a gap for a value the asset had both before and after.
+     */
+    private void reindex(Asset previous, Asset current) {
+        indexes.forEach((key, index) -> {
+            var oldValue = indexedValue(previous, key);
+            var newValue = indexedValue(current, key);
+            if (Objects.equals(oldValue, newValue)) {
+                return;
+            }
+            addEntry(index, newValue, current.getId());
+            removeEntry(index, oldValue, previous.getId());
+        });
+    }
+
+    // the set is mutated inside compute() so that a concurrent removal of the last ID for the
+    // same value cannot drop the set after we added to it: compute() retries on contention
+    private static void addEntry(ConcurrentSkipListMap<String, Set<String>> index, String value, String assetId) {
+        if (value == null) {
+            return;
+        }
+        index.compute(value, (v, ids) -> {
+            var result = ids != null ? ids : ConcurrentHashMap.<String>newKeySet();
+            result.add(assetId);
+            return result;
+        });
+    }
+
+    private static void removeEntry(ConcurrentSkipListMap<String, Set<String>> index, String value, String assetId) {
+        if (value == null) {
+            return;
+        }
+        index.computeIfPresent(value, (v, ids) -> {
+            ids.remove(assetId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static String indexedValue(Asset asset, String key) {
+        if ("id".equals(key) || Asset.PROPERTY_ID.equals(key)) {
+            return asset.getId();
+        }
+        var value = asset.getProperty(key);
+        return value != null ? value.toString() : null;
+    }
+
+    private void notifyListeners(Asset previous, Asset current) {
+        for (var listener : listeners) {
+            listener.changed(previous, current);
+        }
+    }
+
+    private ReentrantLock lockFor(String assetId) {
+        return locks[Math.floorMod(Objects.hashCode(assetId), LOCK_STRIPES)];
+    }
+}
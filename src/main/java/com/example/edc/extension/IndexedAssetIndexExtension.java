@@ -0,0 +1,67 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.asset.spi.domain.Asset;
+import org.eclipse.edc.connector.controlplane.asset.spi.index.AssetIndex;
+import org.eclipse.edc.connector.controlplane.asset.spi.index.DataAddressResolver;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.query.CriterionOperatorRegistry;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+
+/**
+ * INDEXED ASSET INDEX EXTENSION
+ *
+ * Registers {@link IndexedAssetIndex} as the connector's AssetIndex when
+ * edc.asset.store=indexed is configured. With edc.asset.store=persistent the same index
+ * is used and its writes are journaled to disk (see {@link PersistentStoreExtension}).
+ * For any other value nothing is registered and EDC falls back to its default in-memory
+ * store.
+ *
+ * Because the asset index also resolves DataAddresses for transfers, the same instance is
+ * registered as the DataAddressResolver. It is also registered under its own type, for
+ * extensions that need the concrete index (e.g. the catalog cache listens to its writes)
+ * even when the AssetIndex is wrapped with metrics.
+ */
+@Provides({ AssetIndex.class, DataAddressResolver.class, IndexedAssetIndex.class })
+public class IndexedAssetIndexExtension implements ServiceExtension {
+
+    public static final String INDEXED_STORE = "indexed";
+
+    @Setting(value = "Asset store implementation: 'in-memory' (EDC default), 'indexed' or 'persistent'", defaultValue = "in-memory")
+    public static final String ASSET_STORE = "edc.asset.store";
+
+    @Inject
+    private CriterionOperatorRegistry criterionOperatorRegistry;
+
+    @Inject
+    private ConnectorMetrics metrics;
+
+    @Inject
+    private StoreJournals journals;
+
+    @Override
+    public String name() {
+        return "Indexed Asset Index";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        var store = context.getSetting(ASSET_STORE, "in-memory");
+        var persistent = PersistentStoreExtension.PERSISTENT_STORE.equals(store);
+        if (!INDEXED_STORE.equals(store) && !persistent) {
+            return;
+        }
+
+        var assetIndex = new IndexedAssetIndex(criterionOperatorRegistry);
+        AssetIndex index = persistent
+                ? journals.open("assets", AssetIndex.class, assetIndex, Asset.class, Asset::getId, assetIndex::create)
+                : assetIndex;
+        context.registerService(IndexedAssetIndex.class, assetIndex);
+        context.registerService(AssetIndex.class, metrics.instrument(AssetIndex.class, index, "asset"));
+        context.registerService(DataAddressResolver.class, assetIndex);
+
+        context.getMonitor().info("Indexed Asset Index: indexing id, " + String.join(", ", IndexedAssetIndex.INDEXED_PROPERTIES));
+    }
+}
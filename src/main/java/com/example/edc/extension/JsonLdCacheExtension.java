@@ -0,0 +1,68 @@
+package com.example.edc.extension;
+
+import jakarta.json.JsonValue;
+import org.eclipse.edc.jsonld.spi.JsonLd;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON-LD CACHE EXTENSION
+ *
+ * Every Management API request body is expanded with the generic JSON-LD algorithm
+ * before it is transformed, although nearly all clients send the same tiny @context:
+ *
+ *   "@context": { "edc": "https://w3id.org/edc/v0.0.1/ns/" }
+ *
+ * This extension wraps EDC's JsonLd service in {@link CachingJsonLd}: such contexts are
+ * compiled once into a prefix table and documents using them are expanded by a direct
+ * walk over the JSON. Other documents take the usual path. Responses are still compacted
+ * by EDC's JsonLd service (see {@link CachingJsonLd}).
+ *
+ * The wrapper is registered before the API extensions initialize (they inject JsonLd,
+ * which this extension provides) and after EDC's JsonLd extension (whose service it
+ * injects).
+ *
+ * When several runtimes share the JVM (edc.runtime.shared-resources), they also share the
+ * compiled contexts; the limit then applies to all of them together.
+ */
+@Provides(JsonLd.class)
+public class JsonLdCacheExtension implements ServiceExtension {
+
+    @Setting(value = "Expand documents with simple inline contexts without the generic JSON-LD algorithm", defaultValue = "true")
+    public static final String ENABLED = "edc.jsonld.cache.enabled";
+
+    @Setting(value = "Maximum number of distinct @context values kept compiled", defaultValue = "256")
+    public static final String MAX_CONTEXTS = "edc.jsonld.cache.max-contexts";
+
+    @Inject
+    private JsonLd jsonLd;
+
+    @Override
+    public String name() {
+        return "JSON-LD Cache Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        if (!context.getSetting(ENABLED, true)) {
+            return;
+        }
+        var maxContexts = context.getSetting(MAX_CONTEXTS, 256);
+        if (maxContexts < 1) {
+            throw new EdcException(MAX_CONTEXTS + " must be positive");
+        }
+        // runtimes sharing one JVM also share the compiled contexts
+        Map<JsonValue, Optional<CompiledJsonLdContext>> contexts = SharedRuntimeResources.enabled(context)
+                ? SharedRuntimeResources.jsonLdContexts()
+                : new ConcurrentHashMap<>();
+        context.registerService(JsonLd.class, new CachingJsonLd(jsonLd, maxContexts, contexts));
+    }
+}
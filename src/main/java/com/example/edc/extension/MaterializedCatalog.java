@@ -0,0 +1,306 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.asset.spi.domain.Asset;
+import org.eclipse.edc.connector.controlplane.contract.spi.types.offer.ContractDefinition;
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.CriterionOperatorRegistry;
+import org.eclipse.edc.spi.query.QuerySpec;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * MATERIALIZED CATALOG
+ *
+ * What problem does this solve?
+ * ============================
+ * A catalog request has to find, for every ContractDefinition visible to the consumer,
+ * all assets matched by the definition's assetsSelector (e.g. the "id = market-data-2025-q1"
+ * selector of market-data-contract-def). Done naively this evaluates every selector
+ * against every asset on every request.
+ *
+ * How it works:
+ * ------------
+ * - The first time a definition is seen, its selector is run once against the
+ *   {@link IndexedAssetIndex} and the matching asset IDs are kept in a sorted set.
+ * - Every later write to the index is pushed to {@link #changed(Asset, Asset)}, which tests
+ *   only that one asset against the cached selectors that can select it and adds/removes
+ *   its ID. Selectors that pin the asset ID ("id = x", "id in (x, y)") are looked up by the
+ *   asset's ID, only the others are tested on every write.
+ * - Each entry remembers a fingerprint of the selector it was built from. If a definition
+ *   is updated, its fingerprint no longer matches and the entry is rebuilt on next use.
+ *   Deleted or updated definitions can also be evicted eagerly via {@link #invalidate(String)};
+ *   definitions deleted without an event (directly through the store) are dropped
+ *   periodically through {@link #retain(Predicate)}.
+ *
+ * Reverse index:
+ * -------------
+ * The same data is also kept the other way round: asset ID -> the definitions selecting
+ * it ({@link #definitionIdsFor(String)}). Building the offers of one dataset, e.g. for a
+ * dataset lookup by ID, then only visits the definitions that actually select the asset
+ * instead of testing every definition visible to the consumer. Both directions are
+ * updated together, so the reverse index follows asset writes and definition rebuilds
+ * incrementally; deleting an asset only touches the definitions that selected it.
+ *
+ * Policies are NOT part of the cached data: offers are always built from the policies
+ * resolved for the current request, so a policy change is visible immediately.
+ *
+ * The sets (in both directions) may briefly contain an asset that no longer matches (a
+ * write racing with a rebuild), so callers re-check the selector for the assets they
+ * actually return. They never miss an asset: an entry is published before its initial
+ * query runs, so every write that happens during the rebuild is applied to it as well.
+ */
+public class MaterializedCatalog implements IndexedAssetIndex.Listener {
+
+    private final IndexedAssetIndex assetIndex;
+    private final CriterionOperatorRegistry criterionOperatorRegistry;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // asset ID -> definition ID -> the entry that selected it; a rebuilt entry replaces the
+    // old one, so lookups compare against the current entry of the definition
+    private final Map<String, Map<String, Entry>> definitionsByAsset = new ConcurrentHashMap<>();
+    // the entries an asset write has to test: by the asset IDs their selector pins, and
+    // those whose selector can match any asset
+    private final Map<String, Set<Entry>> entriesByCandidateId = new ConcurrentHashMap<>();
+    private final Set<Entry> unpinnedEntries = ConcurrentHashMap.newKeySet();
+
+    public MaterializedCatalog(IndexedAssetIndex assetIndex, CriterionOperatorRegistry criterionOperatorRegistry) {
+        this.assetIndex = assetIndex;
+        this.criterionOperatorRegistry = criterionOperatorRegistry;
+    }
+
+    /**
+     * The IDs of all assets selected by the given definition, in ascending order.
+     */
+    public NavigableSet<String> assetIdsFor(ContractDefinition definition) {
+        return entryFor(definition).assetIds();
+    }
+
+    /**
+     * The compiled selector of the given definition.
+     */
+    public Predicate<Asset> selectorFor(ContractDefinition definition) {
+        return entryFor(definition).selector();
+    }
+
+    /**
+     * The IDs of the definitions selecting the given asset, in ascending order. Only
+     * definitions seen before through {@link #assetIdsFor} or {@link #materialize} are
+     * known here.
+     */
+    public List<String> definitionIdsFor(String assetId) {
+        var definitions = definitionsByAsset.get(assetId);
+        if (definitions == null) {
+            return List.of();
+        }
+        return definitions.entrySet().stream()
+                .filter(definition -> entries.get(definition.getKey()) == definition.getValue())
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Makes sure the asset sets of the given definitions are built and current, so that
+     * {@link #definitionIdsFor(String)} covers all of them.
+     */
+    public void materialize(Collection<ContractDefinition> definitions) {
+        definitions.forEach(this::entryFor);
+    }
+
+    /**
+     * Drops the cached asset set of a definition, e.g. because it was updated or deleted.
+     */
+    public void invalidate(String contractDefinitionId) {
+        var removed = entries.remove(contractDefinitionId);
+        if (removed != null) {
+            unlink(removed);
+        }
+    }
+
+    /**
+     * Drops the cached asset sets of all definitions that no longer exist.
+     */
+    public void retain(Predicate<String> definitionExists) {
+        entries.keySet().stream()
+                .filter(definitionExists.negate())
+                .toList()
+                .forEach(this::invalidate);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void changed(Asset previous, Asset current) {
+        if (current == null) {
+            // deleted: only the definitions that selected the asset are affected
+            var definitions = definitionsByAsset.remove(previous.getId());
+            if (definitions != null) {
+                definitions.values().forEach(entry -> entry.assetIds().remove(previous.getId()));
+            }
+            return;
+        }
+        for (var entry : unpinnedEntries) {
+            apply(entry, current);
+        }
+        var pinned = entriesByCandidateId.get(current.getId());
+        if (pinned != null) {
+            for (var entry : pinned) {
+                apply(entry, current);
+            }
+        }
+    }
+
+    private void apply(Entry entry, Asset asset) {
+        if (entry.selector().test(asset)) {
+            add(entry, asset.getId());
+        } else {
+            remove(entry, asset.getId());
+        }
+    }
+
+    private Entry entryFor(ContractDefinition definition) {
+        var fingerprint = fingerprint(definition);
+        var entry = entries.get(definition.getId());
+        if (entry != null && entry.fingerprint().equals(fingerprint)) {
+            return entry;
+        }
+
+        Predicate<Asset> selector = definition.getAssetsSelector().stream()
+                .map(criterionOperatorRegistry::<Asset>toPredicate)
+                .reduce(x -> true, Predicate::and);
+        var fresh = new Entry(definition.getId(), fingerprint, selector, candidateIds(definition.getAssetsSelector()),
+                new ConcurrentSkipListSet<>());
+
+        // publish first, query second: writes from now on are applied to the new entry too
+        if (fresh.candidateIds() == null) {
+            unpinnedEntries.add(fresh);
+        } else {
+            fresh.candidateIds().forEach(id -> entriesByCandidateId.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(fresh));
+        }
+        var replaced = entries.put(definition.getId(), fresh);
+        if (replaced != null) {
+            unlink(replaced);
+        }
+        var query = QuerySpec.Builder.newInstance()
+                .filter(definition.getAssetsSelector())
+                .offset(0)
+                .limit(Integer.MAX_VALUE)
+                .build();
+        assetIndex.queryAssets(query).forEach(asset -> add(fresh, asset.getId()));
+        return fresh;
+    }
+
+    private void add(Entry entry, String assetId) {
+        entry.assetIds().add(assetId);
+        definitionsByAsset.computeIfAbsent(assetId, id -> new ConcurrentHashMap<>()).put(entry.definitionId(), entry);
+    }
+
+    private void remove(Entry entry, String assetId) {
+        entry.assetIds().remove(assetId);
+        removeReverse(entry, assetId);
+    }
+
+    /**
+     * Removes the reverse mappings of an entry that was replaced or dropped. Mappings of a
+     * newer entry of the same definition are left alone.
+     */
+    private void unlink(Entry entry) {
+        if (entry.candidateIds() == null) {
+            unpinnedEntries.remove(entry);
+        } else {
+            entry.candidateIds().forEach(id -> entriesByCandidateId.computeIfPresent(id, (k, pinned) -> {
+                pinned.remove(entry);
+                return pinned.isEmpty() ? null : pinned;
+            }));
+        }
+        entry.assetIds().forEach(assetId -> removeReverse(entry, assetId));
+    }
+
+    private void removeReverse(Entry entry, String assetId) {
+        definitionsByAsset.computeIfPresent(assetId, (id, definitions) -> {
+            definitions.remove(entry.definitionId(), entry);
+            return definitions.isEmpty() ? null : definitions;
+        });
+    }
+
+    /**
+     * The asset IDs a selector is limited to by an "id =" or "id in" criterion, null when
+     * it can select any asset.
+     */
+    private static Set<String> candidateIds(List<Criterion> selector) {
+        for (var criterion : selector) {
+            var left = criterion.getOperandLeft();
+            if (!"id".equals(left) && !Asset.PROPERTY_ID.equals(left)) {
+                continue;
+            }
+            var right = criterion.getOperandRight();
+            if ("=".equals(criterion.getOperator()) && right instanceof String id) {
+                return Set.of(id);
+            }
+            if ("in".equalsIgnoreCase(criterion.getOperator()) && right instanceof Collection<?> values
+                    && values.stream().allMatch(String.class::isInstance)) {
+                var ids = new HashSet<String>();
+                values.forEach(value -> ids.add((String) value));
+                return ids;
+            }
+        }
+        return null;
+    }
+
+    private static String fingerprint(ContractDefinition definition) {
+        return definition.getAssetsSelector().stream()
+                .map(c -> c.getOperandLeft() + " " + c.getOperator() + " " + c.getOperandRight())
+                .collect(Collectors.joining(" AND "));
+    }
+
+    // compared by identity (see definitionsByAsset), hence not a record
+    private static final class Entry {
+        private final String definitionId;
+        private final String fingerprint;
+        private final Predicate<Asset> selector;
+        private final Set<String> candidateIds;
+        private final NavigableSet<String> assetIds;
+
+        Entry(String definitionId, String fingerprint, Predicate<Asset> selector, Set<String> candidateIds,
+              NavigableSet<String> assetIds) {
+            this.definitionId = definitionId;
+            this.fingerprint = fingerprint;
+            this.selector = selector;
+            this.candidateIds = candidateIds;
+            this.assetIds = assetIds;
+        }
+
+        String definitionId() {
+            return definitionId;
+        }
+
+        String fingerprint() {
+            return fingerprint;
+        }
+
+        Predicate<Asset> selector() {
+            return selector;
+        }
+
+        /**
+         * The only asset IDs the selector can match, null for any.
+         */
+        Set<String> candidateIds() {
+            return candidateIds;
+        }
+
+        NavigableSet<String> assetIds() {
+            return assetIds;
+        }
+    }
+}
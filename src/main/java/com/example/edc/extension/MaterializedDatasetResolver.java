@@ -0,0 +1,215 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.asset.spi.domain.Asset;
+import org.eclipse.edc.connector.controlplane.asset.spi.index.AssetIndex;
+import org.eclipse.edc.connector.controlplane.catalog.spi.Dataset;
+import org.eclipse.edc.connector.controlplane.catalog.spi.DatasetResolver;
+import org.eclipse.edc.connector.controlplane.catalog.spi.DistributionResolver;
+import org.eclipse.edc.connector.controlplane.contract.spi.ContractOfferId;
+import org.eclipse.edc.connector.controlplane.contract.spi.offer.ContractDefinitionResolver;
+import org.eclipse.edc.connector.controlplane.contract.spi.types.offer.ContractDefinition;
+import org.eclipse.edc.policy.model.Policy;
+import org.eclipse.edc.policy.model.PolicyType;
+import org.eclipse.edc.spi.agent.ParticipantAgent;
+import org.eclipse.edc.spi.query.CriterionOperatorRegistry;
+import org.eclipse.edc.spi.query.QuerySpec;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * MATERIALIZED DATASET RESOLVER
+ *
+ * Serves DSP catalog requests from the {@link MaterializedCatalog} instead of evaluating
+ * every contract definition's assetsSelector against every asset.
+ *
+ * For one catalog page this resolver:
+ * 1. Resolves the contract definitions (and their policies) visible to the consumer
+ * 2. Merges the pre-computed, sorted asset ID sets of those definitions
+ * 3. Loads only the assets needed for the requested page and builds their offers, looking
+ *    up the definitions selecting each asset in the catalog's reverse index
+ *
+ * Datasets are returned in ascending asset ID order, so paging with offset/limit is stable.
+ */
+public class MaterializedDatasetResolver implements DatasetResolver {
+
+    private final ContractDefinitionResolver contractDefinitionResolver;
+    private final AssetIndex assetIndex;
+    private final MaterializedCatalog catalog;
+    private final DistributionResolver distributionResolver;
+    private final CriterionOperatorRegistry criterionOperatorRegistry;
+
+    public MaterializedDatasetResolver(ContractDefinitionResolver contractDefinitionResolver, AssetIndex assetIndex,
+                                       MaterializedCatalog catalog, DistributionResolver distributionResolver,
+                                       CriterionOperatorRegistry criterionOperatorRegistry) {
+        this.contractDefinitionResolver = contractDefinitionResolver;
+        this.assetIndex = assetIndex;
+        this.catalog = catalog;
+        this.distributionResolver = distributionResolver;
+        this.criterionOperatorRegistry = criterionOperatorRegistry;
+    }
+
+    @Override
+    public Stream<Dataset> query(ParticipantAgent agent, QuerySpec querySpec) {
+        Predicate<Asset> filter = querySpec.getFilterExpression().stream()
+                .map(criterionOperatorRegistry::<Asset>toPredicate)
+                .reduce(x -> true, Predicate::and);
+
+        return datasets(agent, filter, null)
+                .skip(querySpec.getOffset())
+                .limit(querySpec.getLimit());
+    }
+
+    /**
+     * Cursor-based paging: the datasets whose asset ID sorts after 'afterAssetId' (all
+     * datasets for null), in ascending ID order. Jumping to the cursor is a lookup in each
+     * definition's sorted ID set, so a page deep into the catalog costs the same as the
+     * first one - unlike offset paging, which has to skip over all previous datasets.
+     */
+    public Stream<Dataset> queryAfter(ParticipantAgent agent, String afterAssetId) {
+        return datasets(agent, x -> true, afterAssetId);
+    }
+
+    private Stream<Dataset> datasets(ParticipantAgent agent, Predicate<Asset> filter, String afterAssetId) {
+        var resolved = contractDefinitionResolver.resolveFor(agent);
+        var definitions = resolved.contractDefinitions();
+        if (definitions.isEmpty()) {
+            return Stream.empty();
+        }
+
+        var visible = byId(definitions);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(mergedAssetIds(definitions, afterAssetId), Spliterator.ORDERED), false)
+                .map(assetIndex::findById)
+                .filter(Objects::nonNull)
+                .filter(filter)
+                .map(asset -> toDataset(asset, visible, resolved.policies()))
+                .filter(Dataset::hasOffers);
+    }
+
+    @Override
+    public Dataset getById(ParticipantAgent agent, String id) {
+        var asset = assetIndex.findById(id);
+        if (asset == null) {
+            return null;
+        }
+        var resolved = contractDefinitionResolver.resolveFor(agent);
+        var visible = byId(resolved.contractDefinitions());
+        catalog.materialize(visible.values());
+        var dataset = toDataset(asset, visible, resolved.policies());
+        return dataset.hasOffers() ? dataset : null;
+    }
+
+    private static Map<String, ContractDefinition> byId(List<ContractDefinition> definitions) {
+        var byId = new HashMap<String, ContractDefinition>();
+        definitions.forEach(definition -> byId.put(definition.getId(), definition));
+        return byId;
+    }
+
+    /**
+     * Builds the offers of one asset. The visible definitions must have been materialized
+     * (mergedAssetIds and getById take care of that), so the reverse index knows them all.
+     */
+    private Dataset toDataset(Asset asset, Map<String, ContractDefinition> visible, Map<String, Policy> policies) {
+        var builder = Dataset.Builder.newInstance()
+                .id(asset.getId())
+                .distributions(distributionResolver.getDistributions(asset))
+                .properties(asset.getProperties());
+
+        for (var definitionId : catalog.definitionIdsFor(asset.getId())) {
+            var definition = visible.get(definitionId);
+            // the definition must be visible to the consumer and still select the asset (the index may be stale)
+            if (definition == null || !catalog.selectorFor(definition).test(asset)) {
+                continue;
+            }
+            var policy = policies.get(definition.getContractPolicyId());
+            if (policy == null) {
+                continue;
+            }
+            var offerId = ContractOfferId.create(definition.getId(), asset.getId()).toString();
+            builder.offer(offerId, policy.toBuilder().type(PolicyType.OFFER).target(asset.getId()).build());
+        }
+        return builder.build();
+    }
+
+    /**
+     * K-way merge of the sorted asset ID sets of all definitions, without duplicates. Only
+     * as many IDs are pulled from the sets as the caller consumes.
+     */
+    private Iterator<String> mergedAssetIds(List<ContractDefinition> definitions, String afterAssetId) {
+        if (definitions.size() == 1) {
+            return assetIdsAfter(definitions.get(0), afterAssetId).iterator();
+        }
+
+        var heads = new PriorityQueue<PeekingIterator>(Comparator.comparing(PeekingIterator::peek));
+        for (var definition : definitions) {
+            var iterator = new PeekingIterator(assetIdsAfter(definition, afterAssetId).iterator());
+            if (iterator.hasNext()) {
+                heads.add(iterator);
+            }
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public String next() {
+                if (heads.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                var next = heads.peek().peek();
+                // advance every iterator positioned on the same ID
+                var advanced = new ArrayList<PeekingIterator>();
+                while (!heads.isEmpty() && heads.peek().peek().equals(next)) {
+                    var head = heads.poll();
+                    head.next();
+                    advanced.add(head);
+                }
+                advanced.stream().filter(PeekingIterator::hasNext).forEach(heads::add);
+                return next;
+            }
+        };
+    }
+
+    private NavigableSet<String> assetIdsAfter(ContractDefinition definition, String afterAssetId) {
+        var assetIds = catalog.assetIdsFor(definition);
+        return afterAssetId == null ? assetIds : assetIds.tailSet(afterAssetId, false);
+    }
+
+    private static final class PeekingIterator {
+        private final Iterator<String> delegate;
+        private String current;
+
+        PeekingIterator(Iterator<String> delegate) {
+            this.delegate = delegate;
+            this.current = delegate.hasNext() ? delegate.next() : null;
+        }
+
+        boolean hasNext() {
+            return current != null;
+        }
+
+        String peek() {
+            return current;
+        }
+
+        void next() {
+            current = delegate.hasNext() ? delegate.next() : null;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.edc.extension;
+
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+/**
+ * Prometheus scrape endpoint, registered on the control context by {@link MetricsExtension}.
+ */
+@Path("/metrics")
+public class MetricsApiController {
+
+    private final PrometheusMeterRegistry registry;
+    private final StateMachineMetrics stateMachineMetrics;
+
+    MetricsApiController(PrometheusMeterRegistry registry, StateMachineMetrics stateMachineMetrics) {
+        this.registry = registry;
+        this.stateMachineMetrics = stateMachineMetrics;
+    }
+
+    @GET
+    @Produces(MediaType.TEXT_PLAIN)
+    public String scrape() {
+        stateMachineMetrics.refresh();
+        return registry.scrape();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.edc.extension;
+
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.eclipse.edc.connector.controlplane.asset.spi.index.AssetIndex;
+import org.eclipse.edc.connector.controlplane.asset.spi.index.DataAddressResolver;
+import org.eclipse.edc.connector.controlplane.contract.spi.event.contractnegotiation.ContractNegotiationEvent;
+import org.eclipse.edc.connector.controlplane.contract.spi.negotiation.store.ContractNegotiationStore;
+import org.eclipse.edc.connector.controlplane.contract.spi.offer.store.ContractDefinitionStore;
+import org.eclipse.edc.connector.controlplane.defaults.storage.assetindex.InMemoryAssetIndex;
+import org.eclipse.edc.connector.controlplane.defaults.storage.contractdefinition.InMemoryContractDefinitionStore;
+import org.eclipse.edc.connector.controlplane.defaults.storage.policydefinition.InMemoryPolicyDefinitionStore;
+import org.eclipse.edc.connector.controlplane.policy.spi.store.PolicyDefinitionStore;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessEvent;
+import org.eclipse.edc.connector.controlplane.transfer.spi.store.TransferProcessStore;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.event.EventRouter;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.query.CriterionOperatorRegistry;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.util.concurrency.LockManager;
+import org.eclipse.edc.web.spi.WebService;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * METRICS EXTENSION
+ *
+ * Collects Micrometer metrics and exposes them in Prometheus format on the control port:
+ *
+ *   GET http://localhost:9191/api/control/metrics
+ *
+ * What is measured:
+ * ----------------
+ * - edc.store.operation: latency of every AssetIndex, PolicyDefinitionStore and
+ *   ContractDefinitionStore call (see {@link ConnectorMetrics#instrument})
+ * - executor.*: the negotiation and transfer state machine loops. EDC creates their
+ *   executors through ExecutorInstrumentation, which {@link DataPlaneExecutorExtension}
+ *   hands to {@link ConnectorMetrics#monitor}, so every iteration is timed and counted.
+ * - edc.negotiation.* / edc.transfer.*: processes per state, queue depth and state
+ *   transition times (see {@link StateMachineMetrics})
+ * - jvm.*: memory, GC and threads
+ *
+ * With the in-memory stores (EDC's default) this extension registers the same stores EDC
+ * would create, wrapped with timers; the indexed and persistent stores are wrapped by the
+ * extensions providing them. The in-memory AssetIndex is also registered, unwrapped, as
+ * DataAddressResolver, as EDC does.
+ *
+ * Disabled by default (edc.metrics.enabled=false). In that case only a disabled
+ * {@link ConnectorMetrics} is registered and the stores are not wrapped.
+ */
+@Provides({ ConnectorMetrics.class, AssetIndex.class, DataAddressResolver.class, PolicyDefinitionStore.class, ContractDefinitionStore.class })
+public class MetricsExtension implements ServiceExtension {
+
+    @Setting(value = "Collect Micrometer metrics and serve them on <control>/metrics", defaultValue = "false")
+    public static final String METRICS_ENABLED = "edc.metrics.enabled";
+
+    @Setting(value = "Minutes without an event after which a negotiation or transfer is no longer tracked for transition times", defaultValue = "1440")
+    public static final String TRANSITION_MAX_AGE_MINUTES = "edc.metrics.transition.max-age-minutes";
+
+    private static final String IN_MEMORY = "in-memory";
+
+    @Inject
+    private CriterionOperatorRegistry criterionOperatorRegistry;
+
+    @Inject
+    private EventRouter eventRouter;
+
+    @Inject
+    private WebService webService;
+
+    @Override
+    public String name() {
+        return "Metrics Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        if (!context.getSetting(METRICS_ENABLED, false)) {
+            context.registerService(ConnectorMetrics.class, ConnectorMetrics.disabled());
+            return;
+        }
+
+        var transitionMaxAgeMinutes = context.getSetting(TRANSITION_MAX_AGE_MINUTES, 1440L);
+        if (transitionMaxAgeMinutes < 1) {
+            throw new EdcException(TRANSITION_MAX_AGE_MINUTES + " must be positive, was " + transitionMaxAgeMinutes);
+        }
+
+        var registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        new JvmMemoryMetrics().bindTo(registry);
+        new JvmGcMetrics().bindTo(registry);
+        new JvmThreadMetrics().bindTo(registry);
+
+        var metrics = new ConnectorMetrics(registry);
+        context.registerService(ConnectorMetrics.class, metrics);
+
+        // the same stores EDC would create by default, wrapped with timers; indexed and
+        // persistent stores are wrapped by the extensions providing them instead
+        if (IN_MEMORY.equals(context.getSetting(IndexedAssetIndexExtension.ASSET_STORE, IN_MEMORY))) {
+            var assetIndex = new InMemoryAssetIndex(criterionOperatorRegistry);
+            context.registerService(AssetIndex.class, metrics.instrument(AssetIndex.class, assetIndex, "asset"));
+            context.registerService(DataAddressResolver.class, assetIndex);
+        }
+        if (IN_MEMORY.equals(context.getSetting(PersistentStoreExtension.POLICY_DEFINITION_STORE, IN_MEMORY))) {
+            context.registerService(PolicyDefinitionStore.class, metrics.instrument(PolicyDefinitionStore.class,
+                    new InMemoryPolicyDefinitionStore(new LockManager(new ReentrantReadWriteLock(true)), criterionOperatorRegistry),
+                    "policy-definition"));
+        }
+        if (IN_MEMORY.equals(context.getSetting(PersistentStoreExtension.CONTRACT_DEFINITION_STORE, IN_MEMORY))) {
+            context.registerService(ContractDefinitionStore.class, metrics.instrument(ContractDefinitionStore.class,
+                    new InMemoryContractDefinitionStore(criterionOperatorRegistry),
+                    "contract-definition"));
+        }
+
+        var stateMachineMetrics = new StateMachineMetrics(registry, TimeUnit.MINUTES.toMillis(transitionMaxAgeMinutes),
+                () -> context.getService(ContractNegotiationStore.class), () -> context.getService(TransferProcessStore.class));
+        eventRouter.registerSync(ContractNegotiationEvent.class, stateMachineMetrics);
+        eventRouter.registerSync(TransferProcessEvent.class, stateMachineMetrics);
+
+        webService.registerResource("control", new MetricsApiController(registry, stateMachineMetrics));
+
+        context.getMonitor().info("Metrics enabled: Prometheus endpoint at <control>/metrics");
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.edc.extension;
+
+import okhttp3.OkHttpClient;
+import org.eclipse.edc.connector.controlplane.contract.spi.event.contractnegotiation.ContractNegotiationEvent;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.event.EventRouter;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.web.spi.WebService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NEGOTIATION FAST PATH EXTENSION
+ *
+ * A negotiation between two connectors takes several DSP round trips (request, agreement,
+ * verification, finalization). By default each step waits for the next poll of the state
+ * machine, and all DSP messages to one counter-party share at most 5 concurrent
+ * asynchronous HTTP calls (OkHttp's per-host default).
+ *
+ * With edc.negotiation.fast-path.enabled=true:
+ * - the negotiation state machine is woken by every negotiation event instead of polling
+ *   (the adaptive wait strategy of {@link AdaptiveStateMachineExtension}, even when
+ *   edc.state-machine.wait-strategy is 'fixed')
+ * - the dispatcher of the HTTP client ({@link HttpClientExtension}) allows
+ *   edc.negotiation.fast-path.max-requests-per-host concurrent calls per counter-party;
+ *   https counter-parties negotiate HTTP/2 and multiplex them over one connection. To keep
+ *   as many plain http connections alive between calls, raise
+ *   edc.http.client.max-idle-connections as well. With shared runtime resources the
+ *   dispatcher is shared, so the highest limit of the runtimes applies
+ * - every negotiation's latency is recorded per state ({@link NegotiationLatencyTracker})
+ *   and served on GET /api/control/negotiations/latency
+ *
+ * For high negotiation rates also raise edc.negotiation.state-machine.batch-size, the
+ * number of negotiations the state machine moves per state and iteration.
+ */
+public class NegotiationFastPathExtension implements ServiceExtension {
+
+    @Setting(value = "Event-driven negotiation state machine, wider DSP connection pool and per-state latency report", defaultValue = "false")
+    public static final String ENABLED = "edc.negotiation.fast-path.enabled";
+
+    @Setting(value = "Concurrent HTTP calls per counter-party on the fast path", defaultValue = "256")
+    public static final String MAX_REQUESTS_PER_HOST = "edc.negotiation.fast-path.max-requests-per-host";
+
+    @Setting(value = "Number of completed negotiations kept for the latency report", defaultValue = "1000")
+    public static final String LATENCY_WINDOW = "edc.negotiation.fast-path.latency-window";
+
+    @Setting(value = "Minutes without an event after which a negotiation is dropped from the latency report as abandoned", defaultValue = "60")
+    public static final String LATENCY_MAX_AGE_MINUTES = "edc.negotiation.fast-path.latency-max-age-minutes";
+
+    @Inject
+    private EventRouter eventRouter;
+
+    @Inject
+    private WebService webService;
+
+    @Inject
+    private ConnectorMetrics metrics;
+
+    @Inject
+    private OkHttpClient httpClient;
+
+    @Override
+    public String name() {
+        return "Negotiation Fast Path Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        if (!context.getSetting(ENABLED, false)) {
+            return;
+        }
+        var window = context.getSetting(LATENCY_WINDOW, 1000);
+        var maxAgeMinutes = context.getSetting(LATENCY_MAX_AGE_MINUTES, 60L);
+        if (window < 1 || maxAgeMinutes < 1) {
+            throw new EdcException(LATENCY_WINDOW + " and " + LATENCY_MAX_AGE_MINUTES + " must be positive");
+        }
+        var maxRequestsPerHost = context.getSetting(MAX_REQUESTS_PER_HOST, 256);
+        if (maxRequestsPerHost < 1) {
+            throw new EdcException(MAX_REQUESTS_PER_HOST + " must be positive, was " + maxRequestsPerHost);
+        }
+
+        // the dispatcher's limits are the only part of the client that can change after it is built
+        var dispatcher = httpClient.dispatcher();
+        synchronized (dispatcher) {
+            dispatcher.setMaxRequests(Math.max(maxRequestsPerHost, dispatcher.getMaxRequests()));
+            dispatcher.setMaxRequestsPerHost(Math.max(maxRequestsPerHost, dispatcher.getMaxRequestsPerHost()));
+        }
+
+        var tracker = new NegotiationLatencyTracker(window, TimeUnit.MINUTES.toMillis(maxAgeMinutes), metrics.registry());
+        eventRouter.registerSync(ContractNegotiationEvent.class, tracker);
+        webService.registerResource("control", new NegotiationLatencyApiController(tracker));
+
+        context.getMonitor().info("Negotiation fast path: event-driven state machine, up to "
+                + maxRequestsPerHost + " concurrent DSP calls per counter-party");
+    }
+}
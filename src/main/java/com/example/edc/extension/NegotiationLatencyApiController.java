@@ -0,0 +1,38 @@
+package com.example.edc.extension;
+
+import jakarta.json.JsonObject;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+
+/**
+ * Negotiation latency report, registered on the control context by
+ * {@link NegotiationFastPathExtension}:
+ *
+ *   GET /api/control/negotiations/latency?recent=20
+ *
+ * Per-state count/mean/max over the last completed negotiations, plus the state
+ * breakdown of the 'recent' latest ones (see {@link NegotiationLatencyTracker}).
+ */
+@Path("/negotiations/latency")
+public class NegotiationLatencyApiController {
+
+    private final NegotiationLatencyTracker tracker;
+
+    NegotiationLatencyApiController(NegotiationLatencyTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public JsonObject latency(@QueryParam("recent") @DefaultValue("20") int recent) {
+        if (recent < 0) {
+            throw new InvalidRequestException("recent must not be negative");
+        }
+        return tracker.snapshot(recent);
+    }
+}
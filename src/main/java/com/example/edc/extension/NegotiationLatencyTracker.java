@@ -0,0 +1,212 @@
+package com.example.edc.extension;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import org.eclipse.edc.connector.controlplane.contract.spi.event.contractnegotiation.ContractNegotiationEvent;
+import org.eclipse.edc.spi.event.Event;
+import org.eclipse.edc.spi.event.EventEnvelope;
+import org.eclipse.edc.spi.event.EventSubscriber;
+
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency of every contract negotiation, broken down by state.
+ *
+ * Each negotiation event (contract.negotiation.requested, .agreed, ...) marks the entry
+ * into the state of the same name; the time until the next event of that negotiation is
+ * the time spent in that state, including the work the state machine does to leave it
+ * (e.g. REQUESTED covers AGREEING and sending the agreement). A negotiation is complete
+ * with FINALIZED or TERMINATED.
+ *
+ * Negotiations that stall, or are deleted, never complete: an in-flight negotiation without
+ * an event for 'maxAgeMillis' is dropped and counted as abandoned, and at most
+ * {@link #MAX_IN_FLIGHT} negotiations are tracked at a time (the longest idle are dropped
+ * first).
+ *
+ * The last 'window' completed negotiations are kept for {@link #snapshot()}. With metrics
+ * enabled every state duration is also recorded as edc.negotiation.state.duration{state}
+ * and every total as edc.negotiation.duration{outcome}.
+ */
+class NegotiationLatencyTracker implements EventSubscriber {
+
+    static final int MAX_IN_FLIGHT = 10_000;
+
+    private final int window;
+    private final long maxAgeMillis;
+    private final MeterRegistry registry;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Deque<Completed> completed = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger completedCount = new AtomicInteger();
+    private final AtomicLong abandoned = new AtomicLong();
+    private final Map<String, Timer> stateTimers = new ConcurrentHashMap<>();
+
+    private record Completed(String negotiationId, String outcome, long totalMillis, Map<String, Long> stateMillis) {
+    }
+
+    private static final class InFlight {
+        private final long startedAt;
+        private final Map<String, Long> stateMillis = new LinkedHashMap<>();
+        private String state;
+        private long stateSince;
+
+        InFlight(String state, long at) {
+            this.startedAt = at;
+            this.state = state;
+            this.stateSince = at;
+        }
+    }
+
+    /**
+     * @param registry Micrometer registry, null when metrics are disabled
+     */
+    NegotiationLatencyTracker(int window, long maxAgeMillis, MeterRegistry registry) {
+        this.window = window;
+        this.maxAgeMillis = maxAgeMillis;
+        this.registry = registry;
+    }
+
+    @Override
+    public <E extends Event> void on(EventEnvelope<E> envelope) {
+        if (!(envelope.getPayload() instanceof ContractNegotiationEvent event)) {
+            return;
+        }
+        var state = stateOf(event.name());
+        var at = envelope.getAt();
+        if (inFlight.size() >= MAX_IN_FLIGHT && !inFlight.containsKey(event.getContractNegotiationId())) {
+            evict(at);
+        }
+        inFlight.compute(event.getContractNegotiationId(), (id, negotiation) -> {
+            if (negotiation == null) {
+                negotiation = new InFlight(state, at);
+            } else {
+                leave(negotiation, at);
+                negotiation.state = state;
+                negotiation.stateSince = at;
+            }
+            if (state.equals("FINALIZED") || state.equals("TERMINATED")) {
+                complete(new Completed(id, state, Math.max(0, at - negotiation.startedAt), negotiation.stateMillis));
+                return null;
+            }
+            return negotiation;
+        });
+    }
+
+    /**
+     * Negotiations in flight, the per-state statistics over the completed negotiations in
+     * the window, and the most recent of them.
+     */
+    JsonObject snapshot(int recent) {
+        evict(System.currentTimeMillis());
+        var stats = new TreeMap<String, long[]>(); // state -> count, sum, max
+        var totals = new long[3];
+        var latest = Json.createArrayBuilder();
+        var skip = Math.max(0, completedCount.get() - recent);
+        var index = 0;
+        for (var negotiation : completed) {
+            add(totals, negotiation.totalMillis());
+            negotiation.stateMillis().forEach((state, millis) -> add(stats.computeIfAbsent(state, s -> new long[3]), millis));
+            if (index++ >= skip) {
+                var states = Json.createObjectBuilder();
+                negotiation.stateMillis().forEach(states::add);
+                latest.add(Json.createObjectBuilder()
+                        .add("id", negotiation.negotiationId())
+                        .add("outcome", negotiation.outcome())
+                        .add("totalMillis", negotiation.totalMillis())
+                        .add("stateMillis", states));
+            }
+        }
+
+        var states = Json.createObjectBuilder();
+        stats.forEach((state, values) -> states.add(state, statistics(values)));
+        return Json.createObjectBuilder()
+                .add("inFlight", inFlight.size())
+                .add("abandoned", abandoned.get())
+                .add("completed", statistics(totals))
+                .add("states", states)
+                .add("recent", latest)
+                .build();
+    }
+
+    /**
+     * Drops the negotiations idle for longer than maxAgeMillis and, when still at
+     * {@link #MAX_IN_FLIGHT}, the longest idle ones down to three quarters of it.
+     */
+    private void evict(long now) {
+        for (var entry : inFlight.entrySet()) {
+            if (now - entry.getValue().stateSince > maxAgeMillis && inFlight.remove(entry.getKey(), entry.getValue())) {
+                abandoned.incrementAndGet();
+            }
+        }
+        var excess = inFlight.size() - MAX_IN_FLIGHT * 3 / 4;
+        if (inFlight.size() >= MAX_IN_FLIGHT) {
+            inFlight.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().stateSince))
+                    .limit(excess)
+                    .toList()
+                    .forEach(entry -> {
+                        if (inFlight.remove(entry.getKey(), entry.getValue())) {
+                            abandoned.incrementAndGet();
+                        }
+                    });
+        }
+    }
+
+    private void leave(InFlight negotiation, long at) {
+        var millis = Math.max(0, at - negotiation.stateSince);
+        negotiation.stateMillis.merge(negotiation.state, millis, Long::sum);
+        if (registry != null) {
+            stateTimers.computeIfAbsent(negotiation.state, state -> Timer.builder("edc.negotiation.state.duration")
+                    .tag("state", state)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry))
+                    .record(millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void complete(Completed negotiation) {
+        completed.addLast(negotiation);
+        if (completedCount.incrementAndGet() > window && completed.pollFirst() != null) {
+            completedCount.decrementAndGet();
+        }
+        if (registry != null) {
+            Timer.builder("edc.negotiation.duration")
+                    .tag("outcome", negotiation.outcome())
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry)
+                    .record(negotiation.totalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void add(long[] values, long millis) {
+        values[0]++;
+        values[1] += millis;
+        values[2] = Math.max(values[2], millis);
+    }
+
+    private static JsonObject statistics(long[] values) {
+        return Json.createObjectBuilder()
+                .add("count", values[0])
+                .add("meanMillis", values[0] == 0 ? 0 : values[1] / values[0])
+                .add("maxMillis", values[2])
+                .build();
+    }
+
+    /**
+     * contract.negotiation.requested -> REQUESTED
+     */
+    private static String stateOf(String eventName) {
+        return eventName.substring(eventName.lastIndexOf('.') + 1).toUpperCase(Locale.ROOT);
+    }
+}
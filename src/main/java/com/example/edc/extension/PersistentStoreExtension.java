@@ -0,0 +1,149 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.contract.spi.negotiation.store.ContractNegotiationStore;
+import org.eclipse.edc.connector.controlplane.contract.spi.offer.store.ContractDefinitionStore;
+import org.eclipse.edc.connector.controlplane.contract.spi.types.negotiation.ContractNegotiation;
+import org.eclipse.edc.connector.controlplane.contract.spi.types.offer.ContractDefinition;
+import org.eclipse.edc.connector.controlplane.defaults.storage.contractdefinition.InMemoryContractDefinitionStore;
+import org.eclipse.edc.connector.controlplane.defaults.storage.contractnegotiation.InMemoryContractNegotiationStore;
+import org.eclipse.edc.connector.controlplane.defaults.storage.policydefinition.InMemoryPolicyDefinitionStore;
+import org.eclipse.edc.connector.controlplane.defaults.storage.transferprocess.InMemoryTransferProcessStore;
+import org.eclipse.edc.connector.controlplane.policy.spi.PolicyDefinition;
+import org.eclipse.edc.connector.controlplane.policy.spi.store.PolicyDefinitionStore;
+import org.eclipse.edc.connector.controlplane.transfer.spi.store.TransferProcessStore;
+import org.eclipse.edc.connector.controlplane.transfer.spi.types.TransferProcess;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.query.CriterionOperatorRegistry;
+import org.eclipse.edc.spi.system.ExecutorInstrumentation;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.spi.types.TypeManager;
+import org.eclipse.edc.util.concurrency.LockManager;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * PERSISTENT STORE EXTENSION
+ *
+ * Makes the control plane stores survive restarts without a database. Setting a store to
+ * 'persistent' keeps EDC's in-memory implementation for all reads, and records every write
+ * in an append-only log on local disk ({@link StoreJournal}). At startup the log is
+ * replayed, so the store comes back with its previous content.
+ *
+ *   edc.policy.definition.store=persistent
+ *   edc.contract.definition.store=persistent
+ *   edc.contract.negotiation.store=persistent
+ *   edc.transfer.process.store=persistent
+ *   edc.asset.store=persistent         (handled by {@link IndexedAssetIndexExtension})
+ *
+ * Files:
+ * -----
+ * One <store>.log per store in edc.store.persistent.directory. The logs are compacted in the
+ * background every edc.store.persistent.compaction-interval-seconds.
+ *
+ * Durability:
+ * ----------
+ * By default a write is in the OS page cache when the call returns: it survives a crash
+ * of the connector, but not of the machine. edc.store.persistent.fsync=true forces every
+ * write to disk, at the cost of one fsync per write.
+ */
+@Provides({ StoreJournals.class, PolicyDefinitionStore.class, ContractDefinitionStore.class, ContractNegotiationStore.class, TransferProcessStore.class })
+public class PersistentStoreExtension implements ServiceExtension {
+
+    public static final String PERSISTENT_STORE = "persistent";
+
+    public static final String POLICY_DEFINITION_STORE = "edc.policy.definition.store";
+    public static final String CONTRACT_DEFINITION_STORE = "edc.contract.definition.store";
+    public static final String CONTRACT_NEGOTIATION_STORE = "edc.contract.negotiation.store";
+    public static final String TRANSFER_PROCESS_STORE = "edc.transfer.process.store";
+
+    @Setting(value = "Directory of the persistent store logs", defaultValue = "data/stores")
+    public static final String DIRECTORY = "edc.store.persistent.directory";
+
+    @Setting(value = "Force every persistent store write to disk", defaultValue = "false")
+    public static final String FSYNC = "edc.store.persistent.fsync";
+
+    @Setting(value = "Seconds between two compaction runs of the persistent store logs", defaultValue = "60")
+    public static final String COMPACTION_INTERVAL = "edc.store.persistent.compaction-interval-seconds";
+
+    @Inject
+    private TypeManager typeManager;
+
+    @Inject
+    private CriterionOperatorRegistry criterionOperatorRegistry;
+
+    @Inject
+    private Clock clock;
+
+    @Inject
+    private ConnectorMetrics metrics;
+
+    @Inject
+    private ExecutorInstrumentation executorInstrumentation;
+
+    private StoreJournals journals;
+    private long compactionInterval;
+    private ScheduledExecutorService compactionExecutor;
+
+    @Override
+    public String name() {
+        return "Persistent Store Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        journals = new StoreJournals(Path.of(context.getSetting(DIRECTORY, "data/stores")), typeManager.getMapper(),
+                context.getSetting(FSYNC, false), context.getMonitor());
+        compactionInterval = context.getSetting(COMPACTION_INTERVAL, 60L);
+        context.registerService(StoreJournals.class, journals);
+
+        if (isPersistent(context, POLICY_DEFINITION_STORE)) {
+            var store = new InMemoryPolicyDefinitionStore(new LockManager(new ReentrantReadWriteLock(true)), criterionOperatorRegistry);
+            var persistent = journals.open("policy-definitions", PolicyDefinitionStore.class, store,
+                    PolicyDefinition.class, PolicyDefinition::getId, store::create);
+            context.registerService(PolicyDefinitionStore.class, metrics.instrument(PolicyDefinitionStore.class, persistent, "policy-definition"));
+        }
+        if (isPersistent(context, CONTRACT_DEFINITION_STORE)) {
+            var store = new InMemoryContractDefinitionStore(criterionOperatorRegistry);
+            var persistent = journals.open("contract-definitions", ContractDefinitionStore.class, store,
+                    ContractDefinition.class, ContractDefinition::getId, store::save);
+            context.registerService(ContractDefinitionStore.class, metrics.instrument(ContractDefinitionStore.class, persistent, "contract-definition"));
+        }
+        if (isPersistent(context, CONTRACT_NEGOTIATION_STORE)) {
+            var store = new InMemoryContractNegotiationStore(clock, criterionOperatorRegistry);
+            var persistent = journals.open("contract-negotiations", ContractNegotiationStore.class, store,
+                    ContractNegotiation.class, ContractNegotiation::getId, store::save);
+            context.registerService(ContractNegotiationStore.class, metrics.instrument(ContractNegotiationStore.class, persistent, "contract-negotiation"));
+        }
+        if (isPersistent(context, TRANSFER_PROCESS_STORE)) {
+            var store = new InMemoryTransferProcessStore(clock, criterionOperatorRegistry);
+            var persistent = journals.open("transfer-processes", TransferProcessStore.class, store,
+                    TransferProcess.class, TransferProcess::getId, store::save);
+            context.registerService(TransferProcessStore.class, metrics.instrument(TransferProcessStore.class, persistent, "transfer-process"));
+        }
+    }
+
+    @Override
+    public void start() {
+        compactionExecutor = executorInstrumentation.instrument(Executors.newSingleThreadScheduledExecutor(), "Store compaction");
+        journals.scheduleCompaction(compactionExecutor, compactionInterval);
+    }
+
+    @Override
+    public void shutdown() {
+        if (compactionExecutor != null) {
+            compactionExecutor.shutdownNow();
+        }
+        journals.close();
+    }
+
+    private static boolean isPersistent(ServiceExtensionContext context, String storeSetting) {
+        return PERSISTENT_STORE.equals(context.getSetting(storeSetting, "in-memory"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.contract.spi.offer.store.ContractDefinitionStore;
+import org.eclipse.edc.connector.controlplane.policy.spi.store.PolicyDefinitionStore;
+import org.eclipse.edc.policy.engine.spi.PolicyEngine;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * POLICY CACHE EXTENSION
+ *
+ * Takes access policy evaluation out of the catalog hot path. Every catalog request
+ * evaluates the access policy of every contract definition for the requesting
+ * participant; with thousands of definitions that is thousands of policy engine calls per
+ * request, although the answer only changes when the policy or the participant does.
+ *
+ * Registers a {@link CachingContractDefinitionResolver}, used by the catalog cache
+ * ({@link CatalogCacheExtension}):
+ * - policies are analysed once ({@link AnalyzedPolicy}) for the operands they refer to
+ * - the policy engine's decisions are cached per policy, participant identity and the
+ *   claims the policy refers to ({@link PolicyDecisionCache})
+ *
+ * Policies with time-dependent constraints (edc.policy.decision-cache.volatile-operands)
+ * are always evaluated. Contract negotiations are not affected: they keep evaluating
+ * through EDC's policy engine.
+ */
+@Provides(CachingContractDefinitionResolver.class)
+public class PolicyCacheExtension implements ServiceExtension {
+
+    private static final String DEFAULT_VOLATILE_OPERANDS = "inForceDate,dateTime,elapsedTime,POLICY_EVALUATION_TIME";
+
+    @Setting(value = "Cache catalog access policy decisions per participant", defaultValue = "true")
+    public static final String ENABLED = "edc.policy.decision-cache.enabled";
+
+    @Setting(value = "Maximum number of cached policy decisions", defaultValue = "10000")
+    public static final String MAX_ENTRIES = "edc.policy.decision-cache.max-entries";
+
+    @Setting(value = "Seconds a cached policy decision stays valid", defaultValue = "60")
+    public static final String TTL_SECONDS = "edc.policy.decision-cache.ttl-seconds";
+
+    @Setting(value = "Comma-separated left operands that make a policy uncacheable", defaultValue = DEFAULT_VOLATILE_OPERANDS)
+    public static final String VOLATILE_OPERANDS = "edc.policy.decision-cache.volatile-operands";
+
+    @Inject
+    private ContractDefinitionStore contractDefinitionStore;
+
+    @Inject
+    private PolicyDefinitionStore policyDefinitionStore;
+
+    @Inject
+    private PolicyEngine policyEngine;
+
+    @Override
+    public String name() {
+        return "Policy Cache Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        if (!context.getSetting(ENABLED, true)) {
+            return;
+        }
+
+        var maxEntries = context.getSetting(MAX_ENTRIES, 10_000);
+        var ttlSeconds = context.getSetting(TTL_SECONDS, 60L);
+        if (maxEntries < 1 || ttlSeconds < 0) {
+            throw new EdcException(MAX_ENTRIES + " must be positive and " + TTL_SECONDS + " must not be negative");
+        }
+        var volatileOperands = Arrays.stream(context.getSetting(VOLATILE_OPERANDS, DEFAULT_VOLATILE_OPERANDS).split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toSet());
+
+        context.registerService(CachingContractDefinitionResolver.class, new CachingContractDefinitionResolver(contractDefinitionStore,
+                policyDefinitionStore, policyEngine, new PolicyDecisionCache(maxEntries, ttlSeconds * 1000), volatileOperands,
+                context.getMonitor()));
+        context.getMonitor().info("Policy decision cache: up to " + maxEntries + " decisions, " + ttlSeconds + "s TTL");
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.spi.agent.ParticipantAgent;
+import org.eclipse.edc.spi.result.Result;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of policy engine decisions, keyed by analysed policy and participant: its
+ * identity and the claims and attributes the policy's constraints refer to
+ * ({@link AnalyzedPolicy#referenced}). Two requests of the same participant against the
+ * same policy version get the same answer, so only the first one runs the policy engine.
+ * Every decision comes from the engine, with its validators and functions; nothing is
+ * decided here.
+ *
+ * Decisions expire after ttlMillis, so claims checked by custom functions against
+ * external state are re-evaluated regularly. When maxEntries is reached, expired entries
+ * are dropped first and then arbitrary ones, down to three quarters of the limit.
+ */
+class PolicyDecisionCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<DecisionKey, Decision> decisions = new ConcurrentHashMap<>();
+
+    private record DecisionKey(AnalyzedPolicy policy, String identity, Map<String, Object> claims, Map<String, String> attributes) {
+    }
+
+    private record Decision(Result<Void> result, long expiresAt) {
+    }
+
+    PolicyDecisionCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+    }
+
+    Result<Void> evaluate(AnalyzedPolicy policy, ParticipantAgent agent, Supplier<Result<Void>> evaluation) {
+        if (!policy.cacheable()) {
+            return evaluation.get();
+        }
+
+        var key = new DecisionKey(policy, agent.getIdentity(), policy.referenced(agent.getClaims()),
+                policy.referenced(agent.getAttributes()));
+        var now = System.currentTimeMillis();
+        var cached = decisions.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.result();
+        }
+
+        var result = evaluation.get();
+        if (decisions.size() >= maxEntries) {
+            evict(now);
+        }
+        decisions.put(key, new Decision(result, now + ttlMillis));
+        return result;
+    }
+
+    int size() {
+        return decisions.size();
+    }
+
+    private void evict(long now) {
+        decisions.values().removeIf(decision -> decision.expiresAt() <= now);
+        var iterator = decisions.keySet().iterator();
+        while (decisions.size() > maxEntries * 3 / 4 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
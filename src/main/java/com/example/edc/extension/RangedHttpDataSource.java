@@ -0,0 +1,332 @@
+package com.example.edc.extension;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.eclipse.edc.connector.dataplane.spi.pipeline.DataSource;
+import org.eclipse.edc.connector.dataplane.spi.pipeline.StreamResult;
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * HttpData source that pulls a large asset as parallel byte ranges.
+ *
+ * The first request of a GET source asks for the first chunk (Range:
+ * bytes=0-chunkSize-1). A server that ignores ranges, or any other method, answers 200 with the whole asset, which is then streamed as usual. A 206
+ * answer tells the total size from Content-Range; the asset is then read as consecutive
+ * chunks, up to 'parallelism' of them fetched at the same time over separate connections,
+ * and handed to the sink strictly in order. Chunks after the first carry If-Range with the
+ * validator of the first answer - its ETag when that is strong, else its Last-Modified -
+ * so a resource that changes mid-transfer fails the transfer instead of mixing versions.
+ * Without either (or with a weak ETag only, which If-Range does not accept) a change
+ * could not be detected: the first answer is dropped and the asset read with one request.
+ *
+ * Resume:
+ * ------
+ * When a chunk's connection breaks, only the rest of that chunk is requested again, from
+ * the last byte received, up to 'retries' times. The transfer as a whole is not retried.
+ * Closing the part stream cancels the requests still running.
+ *
+ * Memory: every chunk in flight is held on the heap until the sink has read it, so one
+ * transfer uses up to parallelism x chunkSize bytes.
+ */
+class RangedHttpDataSource implements DataSource {
+
+    private static final int PARTIAL_CONTENT = 206;
+
+    private final String processId;
+    private final String name;
+    private final Request request;
+    private final boolean rangeable;
+    private final OkHttpClient httpClient;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int retries;
+    private final ExecutorService executor;
+    private final Monitor monitor;
+
+    RangedHttpDataSource(String processId, String name, Request request, boolean rangeable, OkHttpClient httpClient,
+                         int chunkSize, int parallelism, int retries, ExecutorService executor, Monitor monitor) {
+        this.processId = processId;
+        this.name = name;
+        this.request = request;
+        this.rangeable = rangeable;
+        this.httpClient = httpClient;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.retries = retries;
+        this.executor = executor;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public StreamResult<Stream<Part>> openPartStream() {
+        var call = httpClient.newCall(rangeable ? request.newBuilder().header("Range", range(0, chunkSize - 1)).build() : request);
+        Response first;
+        try {
+            first = call.execute();
+        } catch (IOException e) {
+            return StreamResult.error("Transfer " + processId + ": source not reachable: " + e.getMessage());
+        }
+        if (!first.isSuccessful()) {
+            first.close();
+            return StreamResult.error("Transfer " + processId + ": source answered " + first.code());
+        }
+
+        var total = first.code() == PARTIAL_CONTENT ? totalSize(first.header("Content-Range")) : -1;
+        if (total < 0) {
+            return whole(first); // no ranges: the answer is the whole asset
+        }
+        var validator = validator(first);
+        if (validator == null) {
+            first.close();
+            monitor.debug(() -> "Transfer " + processId + ": source has no strong validator, reading it with one request");
+            return whole(request);
+        }
+        var ranged = request.newBuilder().header("If-Range", validator).build();
+        var stream = new RangedInputStream(ranged, total, call, first);
+        return StreamResult.success(Stream.of(new HttpPart(name, first.header("Content-Type"), total, stream)));
+    }
+
+    @Override
+    public void close() {
+        // every part closes its own connections
+    }
+
+    private StreamResult<Stream<Part>> whole(Request request) {
+        Response response;
+        try {
+            response = httpClient.newCall(request).execute();
+        } catch (IOException e) {
+            return StreamResult.error("Transfer " + processId + ": source not reachable: " + e.getMessage());
+        }
+        if (!response.isSuccessful()) {
+            response.close();
+            return StreamResult.error("Transfer " + processId + ": source answered " + response.code());
+        }
+        return whole(response);
+    }
+
+    private StreamResult<Stream<Part>> whole(Response response) {
+        var body = response.body();
+        return StreamResult.success(Stream.of(new HttpPart(name, response.header("Content-Type"), body.contentLength(), body.byteStream())));
+    }
+
+    /**
+     * The If-Range validator of a response: its ETag when that is strong, else its
+     * Last-Modified date, null when there is neither.
+     */
+    private static String validator(Response response) {
+        var etag = response.header("ETag");
+        if (etag != null && !etag.startsWith("W/")) {
+            return etag;
+        }
+        return response.header("Last-Modified");
+    }
+
+    /**
+     * Total size from a Content-Range header (bytes 0-1023/4096), -1 when unknown.
+     */
+    private static long totalSize(String contentRange) {
+        if (contentRange == null || contentRange.endsWith("/*")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentRange.substring(contentRange.lastIndexOf('/') + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String range(long first, long last) {
+        return "bytes=" + first + "-" + last;
+    }
+
+    private record HttpPart(String name, String mediaType, long size, InputStream stream) implements Part {
+
+        @Override
+        public InputStream openStream() {
+            return stream;
+        }
+
+        @Override
+        public String mediaType() {
+            return mediaType != null ? mediaType : Part.super.mediaType();
+        }
+    }
+
+    /**
+     * The asset's bytes in order, read from a window of chunks fetched in parallel. A
+     * chunk is scheduled whenever one leaves the window. The calls of the chunks being
+     * fetched are kept, so that closing the stream can cancel them. The stream may be
+     * closed from another thread while it is read, so the window is only touched while
+     * holding its monitor.
+     */
+    private final class RangedInputStream extends InputStream {
+        private final Request request;
+        private final long total;
+        private final Deque<Future<byte[]>> window = new ArrayDeque<>();
+        private final Set<Call> calls = ConcurrentHashMap.newKeySet();
+        private volatile boolean closed;
+        private long nextChunk;
+        private byte[] current = new byte[0];
+        private int position;
+
+        RangedInputStream(Request request, long total, Call firstCall, Response first) {
+            this.request = request;
+            this.total = total;
+            calls.add(firstCall);
+            window.add(CompletableFuture.supplyAsync(() -> fetch(0, firstCall, first), executor));
+            nextChunk = chunkSize;
+            while (window.size() < parallelism && schedule()) {
+                // fill the window
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            return available() > 0 || advance() ? current[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (available() == 0 && !advance()) {
+                return -1;
+            }
+            var count = Math.min(length, available());
+            System.arraycopy(current, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return current.length - position;
+        }
+
+        @Override
+        public void close() {
+            synchronized (window) {
+                closed = true;
+                window.forEach(chunk -> chunk.cancel(true)); // chunks not started yet
+                window.clear();
+            }
+            calls.forEach(Call::cancel); // chunks being fetched
+        }
+
+        private boolean advance() throws IOException {
+            Future<byte[]> next;
+            synchronized (window) {
+                next = window.poll();
+                if (next == null) {
+                    return false;
+                }
+                schedule();
+            }
+            try {
+                current = next.get();
+                position = 0;
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Transfer " + processId + " interrupted");
+            } catch (ExecutionException e) {
+                close();
+                var cause = e.getCause() instanceof CompletionException completion ? completion.getCause() : e.getCause();
+                throw cause instanceof IOException io ? io : new IOException(cause);
+            }
+        }
+
+        private boolean schedule() {
+            if (closed || nextChunk >= total) {
+                return false;
+            }
+            var start = nextChunk;
+            window.add(CompletableFuture.supplyAsync(() -> fetch(start, null, null), executor));
+            nextChunk += chunkSize;
+            return true;
+        }
+
+        /**
+         * Reads the chunk starting at 'start', resuming after the last byte received when
+         * the connection breaks. 'openCall' and 'open' are the already sent request for the
+         * chunk and its response, if any.
+         */
+        private byte[] fetch(long start, Call openCall, Response open) {
+            var data = new byte[(int) Math.min(chunkSize, total - start)];
+            var received = 0;
+            var call = openCall;
+            var response = open;
+            for (var attempt = 0; ; attempt++) {
+                try {
+                    if (response == null) {
+                        call = newCall(request.newBuilder()
+                                .header("Range", range(start + received, start + data.length - 1))
+                                .build());
+                        response = call.execute();
+                    }
+                    if (response.code() != PARTIAL_CONTENT) {
+                        // changed resource (If-Range) or range refused: resuming cannot help
+                        throw new CompletionException(new IOException("Transfer " + processId + ": source answered " + response.code()
+                                + " for bytes " + (start + received) + "-" + (start + data.length - 1)));
+                    }
+                    try (var in = response.body().byteStream()) {
+                        int read;
+                        while (received < data.length && (read = in.read(data, received, data.length - received)) != -1) {
+                            received += read;
+                        }
+                    }
+                    if (received < data.length) {
+                        throw new EOFException("Transfer " + processId + ": range ended after " + received + " of " + data.length + " bytes");
+                    }
+                    return data;
+                } catch (IOException e) {
+                    if (closed || attempt >= retries) {
+                        throw new CompletionException(e);
+                    }
+                    var resumeAt = start + received;
+                    monitor.debug(() -> "Transfer " + processId + ": resuming at byte " + resumeAt + " after " + e.getMessage());
+                } finally {
+                    if (response != null) {
+                        response.close();
+                    }
+                    if (call != null) {
+                        calls.remove(call);
+                    }
+                }
+                response = null;
+            }
+        }
+
+        /**
+         * A call registered for cancellation; cancelled right away when the stream was
+         * closed in the meantime.
+         */
+        private Call newCall(Request request) {
+            var call = httpClient.newCall(request);
+            calls.add(call);
+            if (closed) {
+                call.cancel();
+            }
+            return call;
+        }
+    }
+}
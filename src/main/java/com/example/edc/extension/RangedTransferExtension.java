@@ -0,0 +1,99 @@
+package com.example.edc.extension;
+
+import okhttp3.OkHttpClient;
+import org.eclipse.edc.connector.dataplane.http.spi.HttpRequestParamsProvider;
+import org.eclipse.edc.connector.dataplane.spi.pipeline.PipelineService;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.system.ExecutorInstrumentation;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+
+import java.util.concurrent.Executors;
+
+/**
+ * RANGED TRANSFER EXTENSION
+ *
+ * A single HTTP pull is limited by what one TCP connection achieves, which on long
+ * distances is far below the available bandwidth. With edc.dataplane.http.ranged.enabled=true
+ * HttpData sources are read by {@link RangedHttpDataSource}: when the upstream server
+ * supports Range requests, the asset is fetched as chunks of
+ * edc.dataplane.http.ranged.chunk-size-mb, edc.dataplane.http.ranged.parallelism of them at
+ * a time, and passed to the sink in order. Any sink works unchanged, and as the total size
+ * is known up front, sinks can upload it with a Content-Length.
+ *
+ * A broken chunk is resumed from its last received byte, up to
+ * edc.dataplane.http.ranged.retries times, instead of failing the transfer (which the
+ * control plane would then start over from the first byte). Servers without range support
+ * are read with one request, as before, and so are servers without a strong validator
+ * (strong ETag or Last-Modified), as a change mid-transfer could not be detected.
+ *
+ * The chunks are fetched with the connector's OkHttpClient rather than EdcHttpClient: the
+ * source resumes broken chunks on its own, and keeps the calls to cancel them when the
+ * transfer is closed.
+ *
+ * Memory: up to parallelism x chunk size per running transfer (default 4 x 8 MB).
+ *
+ * The factory is registered for the HttpData type and replaces the source factory of
+ * data-plane-http (this extension injects HttpRequestParamsProvider, so it always
+ * initializes after it). Its executor is named "HttpDataRanges", so with
+ * edc.dataplane.executor=virtual the chunks are fetched on virtual threads.
+ */
+public class RangedTransferExtension implements ServiceExtension {
+
+    @Setting(value = "Fetch HttpData sources as parallel byte ranges when the server supports them", defaultValue = "false")
+    public static final String ENABLED = "edc.dataplane.http.ranged.enabled";
+
+    @Setting(value = "Size of one range in MB", defaultValue = "8")
+    public static final String CHUNK_SIZE_MB = "edc.dataplane.http.ranged.chunk-size-mb";
+
+    @Setting(value = "Ranges fetched at the same time per transfer", defaultValue = "4")
+    public static final String PARALLELISM = "edc.dataplane.http.ranged.parallelism";
+
+    @Setting(value = "Times a broken range is resumed before the transfer fails", defaultValue = "3")
+    public static final String RETRIES = "edc.dataplane.http.ranged.retries";
+
+    @Setting(value = "Threads fetching ranges for all transfers (platform executor only)", defaultValue = "32")
+    public static final String THREADS = "edc.dataplane.http.ranged.threads";
+
+    @Inject
+    private PipelineService pipelineService;
+
+    @Inject
+    private HttpRequestParamsProvider requestParamsProvider;
+
+    @Inject
+    private OkHttpClient httpClient;
+
+    @Inject
+    private ExecutorInstrumentation executorInstrumentation;
+
+    @Override
+    public String name() {
+        return "Ranged Transfer Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        if (!context.getSetting(ENABLED, false)) {
+            return;
+        }
+
+        var chunkSizeMb = context.getSetting(CHUNK_SIZE_MB, 8);
+        var parallelism = context.getSetting(PARALLELISM, 4);
+        var retries = context.getSetting(RETRIES, 3);
+        var threads = context.getSetting(THREADS, 32);
+        if (chunkSizeMb < 1 || chunkSizeMb > 1024 || parallelism < 1 || threads < 1 || retries < 0) {
+            throw new EdcException(CHUNK_SIZE_MB + " must be between 1 and 1024, " + PARALLELISM + " and " + THREADS
+                    + " must be positive, " + RETRIES + " must not be negative");
+        }
+
+        var monitor = context.getMonitor();
+        var executor = executorInstrumentation.instrument(Executors.newFixedThreadPool(threads), "HttpDataRanges");
+        pipelineService.registerFactory(new RangedHttpDataSourceFactory(requestParamsProvider, httpClient,
+                chunkSizeMb * 1024 * 1024, parallelism, retries, executor, monitor));
+
+        monitor.info("Ranged transfers: HttpData sources in " + parallelism + " parallel ranges of " + chunkSizeMb + " MB");
+    }
+}
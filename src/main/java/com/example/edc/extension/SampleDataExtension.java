@@ -8,6 +8,7 @@ import org.eclipse.edc.connector.controlplane.policy.spi.PolicyDefinition;
 import org.eclipse.edc.connector.controlplane.policy.spi.store.PolicyDefinitionStore;
 import org.eclipse.edc.policy.model.Policy;
 import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.spi.monitor.Monitor;
 import org.eclipse.edc.spi.system.ServiceExtension;
 import org.eclipse.edc.spi.system.ServiceExtensionContext;
 
@@ -64,14 +65,23 @@ public class SampleDataExtension implements ServiceExtension {
     @Inject
     private ContractDefinitionStore contractStore;
 
+    private Monitor monitor;
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        monitor = context.getMonitor();
+    }
+
     /**
      * This method is called when the connector starts.
      * We use it to pre-populate sample data for demonstration.
+     *
+     * Seeding happens in start() rather than initialize(): every store and listener is set
+     * up by then, and with edc.boot.fast=true the runtime can run it in the background
+     * after boot (see ProfilingRuntime).
      */
     @Override
-    public void initialize(ServiceExtensionContext context) {
-        var monitor = context.getMonitor();
-        
+    public void start() {
         monitor.info("========================================");
         monitor.info("Sample Data Extension: Initializing");
         monitor.info("========================================");
@@ -113,7 +123,7 @@ public class SampleDataExtension implements ServiceExtension {
      * We're registering a "Market Data API" that provides financial market data.
      * In a real scenario, this could be your own Bloomberg terminal, Reuters feed, or proprietary database.
      */
-    private void registerSampleAsset(org.eclipse.edc.spi.monitor.Monitor monitor) {
+    private void registerSampleAsset(Monitor monitor) {
         monitor.info("Creating sample asset: Market Data API");
 
         // Build the asset with metadata
@@ -133,6 +143,9 @@ public class SampleDataExtension implements ServiceExtension {
                         .type("HttpData")  // Type of data source (HTTP, S3, Database, etc.)
                         .property("baseUrl", "https://api.marketdata.example.com/v1/equities/prices")
                         .property("method", "GET")
+                        // Pulled by many consumers: with edc.dataplane.http.cache.enabled the
+                        // upstream response is served from the local cache for 30 seconds
+                        .property(HttpResponseCacheExtension.TTL_PROPERTY, "30")
                         .build())
                 .build();
 
@@ -172,7 +185,7 @@ public class SampleDataExtension implements ServiceExtension {
      * Note: This is a simplified policy for demonstration. In production,
      * you would implement actual enforcement mechanisms for these constraints.
      */
-    private void registerSamplePolicy(org.eclipse.edc.spi.monitor.Monitor monitor) {
+    private void registerSamplePolicy(Monitor monitor) {
         monitor.info("Creating sample policy: Financial Research Policy");
 
         // Build a policy with financial data constraints
@@ -230,7 +243,7 @@ public class SampleDataExtension implements ServiceExtension {
      * ---------------
      * We link our market data asset with our financial research policy.
      */
-    private void registerContractDefinition(org.eclipse.edc.spi.monitor.Monitor monitor) {
+    private void registerContractDefinition(Monitor monitor) {
         monitor.info("Creating contract definition");
 
         var contractDef = ContractDefinition.Builder.newInstance()
@@ -0,0 +1,283 @@
+package com.example.edc.extension;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One runtime's executor on top of the JVM-wide scheduler and worker pool of
+ * {@link SharedRuntimeResources}.
+ *
+ * Every task runs on the shared workers; the shared scheduler only times delayed and
+ * periodic tasks and hands them over when they are due. At most 'concurrency' tasks of
+ * the view run at the same time, queued tasks start in submission order. So a view keeps
+ * the concurrency of the executor it replaces: a single-thread executor stays serial (a
+ * state machine never runs two iterations at once), a fixed pool of N threads stays
+ * bounded to N, a cached pool stays unbounded.
+ *
+ * Shutting the view down only affects the tasks submitted through it: pending and queued
+ * tasks are cancelled, running ones finish. The shared pools keep running for the other
+ * runtimes.
+ *
+ * A task can look up the view it runs on ({@link #current()}), and a delayed task can be
+ * run before it is due ({@link #expedite()}): this is how {@link AdaptiveWaitStrategy}
+ * wakes a state machine without blocking a shared worker.
+ */
+final class SharedExecutorView extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private static final ThreadLocal<SharedExecutorView> CURRENT = new ThreadLocal<>();
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService workers;
+    private final int concurrency;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final Set<Future<?>> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean expediteNext = new AtomicBoolean();
+    private volatile boolean shutdown;
+
+    /**
+     * @param concurrency tasks of this view that may run at the same time, 1 for serial
+     */
+    SharedExecutorView(ScheduledExecutorService scheduler, ExecutorService workers, int concurrency) {
+        this.scheduler = scheduler;
+        this.workers = workers;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * The view whose task runs on the calling thread, null outside of a view.
+     */
+    static SharedExecutorView current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the pending delayed (one-shot) tasks of this view now instead of when they are
+     * due. Without one, the next delayed task scheduled runs right away.
+     */
+    void expedite() {
+        var expedited = false;
+        for (var future : pending) {
+            if (future instanceof ScheduledTask<?> task && task.fireNow()) {
+                expedited = true;
+            }
+        }
+        if (!expedited) {
+            expediteNext.set(true);
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        var task = new FutureTask<Void>(command, null) {
+            @Override
+            protected void done() {
+                pending.remove(this);
+            }
+        };
+        dispatch(track(task));
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(Executors.callable(command), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        var time = expediteNext.getAndSet(false) ? System.nanoTime() : System.nanoTime() + unit.toNanos(delay);
+        return track(new ScheduledTask<>(callable, time, 0)).arm();
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        return periodic(command, initialDelay, unit.toNanos(period), unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        return periodic(command, initialDelay, -unit.toNanos(delay), unit);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        pending.forEach(future -> future.cancel(false));
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        pending.forEach(future -> future.cancel(true));
+        return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && running.get() == 0 && pending.stream().allMatch(Future::isDone);
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        var deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isTerminated()) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private ScheduledFuture<?> periodic(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period == 0) {
+            throw new IllegalArgumentException("period must not be 0");
+        }
+        return track(new ScheduledTask<>(Executors.callable(command, null), System.nanoTime() + unit.toNanos(initialDelay), period)).arm();
+    }
+
+    private <F extends Future<?>> F track(F future) {
+        if (shutdown) {
+            future.cancel(false);
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        pending.add(future);
+        return future;
+    }
+
+    /**
+     * Queues a due task and starts queued tasks while fewer than 'concurrency' run.
+     */
+    private void dispatch(Runnable task) {
+        queue.add(task);
+        drain();
+    }
+
+    private void drain() {
+        while (!queue.isEmpty()) {
+            var current = running.get();
+            if (current >= concurrency) {
+                return; // a running task drains the queue when it ends
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            var task = queue.poll();
+            if (task == null) {
+                running.decrementAndGet();
+                continue;
+            }
+            try {
+                workers.execute(() -> {
+                    CURRENT.set(this);
+                    try {
+                        task.run();
+                    } finally {
+                        CURRENT.remove();
+                        running.decrementAndGet();
+                        drain();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                running.decrementAndGet();
+                if (task instanceof Future<?> future) {
+                    future.cancel(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * A delayed or periodic task of this view: the shared scheduler fires it, the view runs
+     * it. period > 0 is a fixed rate, period < 0 a fixed delay, 0 runs once.
+     */
+    private final class ScheduledTask<V> extends FutureTask<V> implements ScheduledFuture<V> {
+        private final long period;
+        private volatile long time;
+        private volatile ScheduledFuture<?> timer;
+
+        ScheduledTask(Callable<V> callable, long time, long period) {
+            super(callable);
+            this.time = time;
+            this.period = period;
+        }
+
+        ScheduledTask<V> arm() {
+            timer = scheduler.schedule(() -> dispatch(this), time - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (isCancelled()) {
+                timer.cancel(false);
+            }
+            return this;
+        }
+
+        /**
+         * Dispatches a one-shot task whose timer has not fired yet; false if it has, or the
+         * task is periodic.
+         */
+        boolean fireNow() {
+            var armed = timer;
+            if (period != 0 || armed == null || !armed.cancel(false)) {
+                return false;
+            }
+            dispatch(this);
+            return true;
+        }
+
+        @Override
+        public void run() {
+            if (period == 0) {
+                super.run();
+            } else if (runAndReset() && !shutdown) {
+                time = period > 0 ? time + period : System.nanoTime() - period;
+                arm();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            var cancelled = super.cancel(mayInterruptIfRunning);
+            var armed = timer;
+            if (armed != null) {
+                armed.cancel(false);
+            }
+            queue.remove(this);
+            return cancelled;
+        }
+
+        @Override
+        protected void done() {
+            pending.remove(this);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.edc.extension;
+
+import jakarta.json.JsonValue;
+import okhttp3.OkHttpClient;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SHARED RUNTIME RESOURCES
+ *
+ * Objects shared by all connector runtimes ("tenants") hosted in one JVM, see
+ * com.example.edc.TenantRuntime. Each runtime keeps its own configuration, services and
+ * stores; only thread-safe objects that do not depend on a runtime's data are shared:
+ *
+ * - the compiled JSON-LD contexts of {@link CachingJsonLd}: an inline @context compiles to
+ *   the same prefix table in every runtime
+ * - a scheduler and a worker pool that EDC's executors are mapped onto
+ *   ({@link SharedExecutorView}), instead of a few threads per state machine and tenant.
+ *   The scheduler only times delayed tasks; all work runs on the worker pool (virtual
+ *   threads on Java 21, a cached pool otherwise), each view limited to the concurrency of
+ *   the executor it replaces.
+ * - the connection pool and dispatcher of the OkHttpClient
+ *
+ * The extensions use them when edc.runtime.shared-resources=true, which the tenant
+ * runtime sets. A single connector per JVM keeps EDC's own executors and HTTP client.
+ */
+public final class SharedRuntimeResources {
+
+    @Setting(value = "Use the JVM-wide executors, HTTP connection pool and JSON-LD context cache", defaultValue = "false")
+    public static final String SHARED = "edc.runtime.shared-resources";
+
+    private static final Map<JsonValue, Optional<CompiledJsonLdContext>> JSON_LD_CONTEXTS = new ConcurrentHashMap<>();
+
+    private static ScheduledExecutorService scheduler;
+    private static ExecutorService workers;
+    private static OkHttpClient httpClient;
+
+    private SharedRuntimeResources() {
+    }
+
+    public static boolean enabled(ServiceExtensionContext context) {
+        return context.getSetting(SHARED, false);
+    }
+
+    static Map<JsonValue, Optional<CompiledJsonLdContext>> jsonLdContexts() {
+        return JSON_LD_CONTEXTS;
+    }
+
+    /**
+     * A view on the shared pools that replaces an executor EDC just created, with the same
+     * concurrency. The created executor has not started any thread yet and is shut down.
+     */
+    static ScheduledExecutorService executor(ExecutorService created) {
+        var concurrency = concurrency(created);
+        created.shutdown();
+        synchronized (SharedRuntimeResources.class) {
+            if (scheduler == null) {
+                var threads = new AtomicInteger();
+                var pool = new ScheduledThreadPoolExecutor(2, task -> {
+                    var thread = new Thread(task, "shared-scheduler-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                pool.setRemoveOnCancelPolicy(true);
+                scheduler = pool;
+                workers = VirtualThreads.available() ? VirtualThreads.newExecutor() : Executors.newCachedThreadPool(task -> {
+                    var thread = new Thread(task, "shared-worker-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            return new SharedExecutorView(scheduler, workers, concurrency);
+        }
+    }
+
+    /**
+     * Threads the executor would run tasks on at most: the pool size of a
+     * ThreadPoolExecutor (its core size when the queue is unbounded, as no thread beyond it
+     * is ever started), the parallelism of a ForkJoinPool, and 1 for anything else, which
+     * covers Executors.newSingleThread(Scheduled)Executor (a wrapper around a pool).
+     */
+    static int concurrency(ExecutorService executor) {
+        if (executor instanceof ScheduledThreadPoolExecutor pool) {
+            return Math.max(1, pool.getCorePoolSize());
+        }
+        if (executor instanceof ThreadPoolExecutor pool) {
+            var unboundedQueue = pool.getQueue().remainingCapacity() == Integer.MAX_VALUE;
+            return Math.max(1, unboundedQueue ? pool.getCorePoolSize() : pool.getMaximumPoolSize());
+        }
+        if (executor instanceof ForkJoinPool pool) {
+            return pool.getParallelism();
+        }
+        return 1;
+    }
+
+    /**
+     * The JVM-wide client; derive per-runtime clients with newBuilder(), which keeps its
+     * connection pool and dispatcher.
+     */
+    static synchronized OkHttpClient httpClient() {
+        if (httpClient == null) {
+            httpClient = new OkHttpClient();
+        }
+        return httpClient;
+    }
+}
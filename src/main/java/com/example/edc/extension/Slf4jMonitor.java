@@ -0,0 +1,122 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * Monitor that writes to SLF4J (logback, see logback.xml) instead of System.out.
+ *
+ * Every call checks the logger's level first: a disabled message is neither built nor
+ * handed to the appender. Messages passed as a Supplier are only evaluated when their
+ * level is enabled, so hot paths log with monitor.debug(() -> "..." + id) and pay nothing
+ * while debug is off. Exceptions are passed to the logger as they are and only rendered
+ * by the appender.
+ */
+public class Slf4jMonitor implements Monitor {
+
+    private final Logger logger;
+
+    public Slf4jMonitor(String loggerName) {
+        this(LoggerFactory.getLogger(loggerName));
+    }
+
+    Slf4jMonitor(Logger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public void severe(Supplier<String> supplier, Throwable... errors) {
+        if (logger.isErrorEnabled()) {
+            severe(supplier.get(), errors);
+        }
+    }
+
+    @Override
+    public void severe(String message, Throwable... errors) {
+        if (!logger.isErrorEnabled()) {
+            return;
+        }
+        if (errors == null || errors.length == 0) {
+            logger.error(message);
+        } else {
+            for (var error : errors) {
+                logger.error(message, error);
+            }
+        }
+    }
+
+    @Override
+    public void warning(Supplier<String> supplier, Throwable... errors) {
+        if (logger.isWarnEnabled()) {
+            warning(supplier.get(), errors);
+        }
+    }
+
+    @Override
+    public void warning(String message, Throwable... errors) {
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        if (errors == null || errors.length == 0) {
+            logger.warn(message);
+        } else {
+            for (var error : errors) {
+                logger.warn(message, error);
+            }
+        }
+    }
+
+    @Override
+    public void info(Supplier<String> supplier, Throwable... errors) {
+        if (logger.isInfoEnabled()) {
+            info(supplier.get(), errors);
+        }
+    }
+
+    @Override
+    public void info(String message, Throwable... errors) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        if (errors == null || errors.length == 0) {
+            logger.info(message);
+        } else {
+            for (var error : errors) {
+                logger.info(message, error);
+            }
+        }
+    }
+
+    @Override
+    public void debug(Supplier<String> supplier, Throwable... errors) {
+        if (logger.isDebugEnabled()) {
+            debug(supplier.get(), errors);
+        }
+    }
+
+    @Override
+    public void debug(String message, Throwable... errors) {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+        if (errors == null || errors.length == 0) {
+            logger.debug(message);
+        } else {
+            for (var error : errors) {
+                logger.debug(message, error);
+            }
+        }
+    }
+
+    /**
+     * A monitor for the child logger NAME.PREFIX, so the prefix (e.g. a tenant name) is
+     * part of every line's logger field and can have its own level in logback.xml.
+     */
+    @Override
+    public Monitor withPrefix(String prefix) {
+        return new Slf4jMonitor(logger.getName() + "." + prefix);
+    }
+}
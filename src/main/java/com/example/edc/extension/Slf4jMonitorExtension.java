@@ -0,0 +1,36 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.system.MonitorExtension;
+
+/**
+ * SLF4J MONITOR EXTENSION
+ *
+ * Without a MonitorExtension EDC logs through its ConsoleMonitor, which formats every
+ * message and writes it synchronously to System.out on the calling thread, whatever the
+ * log level. This extension (loaded through
+ * META-INF/services/org.eclipse.edc.spi.system.MonitorExtension, before any other
+ * extension) replaces it with {@link Slf4jMonitor}:
+ *
+ * - level-guarded: disabled messages cost a level check, suppliers are not evaluated
+ * - asynchronous: logback.xml routes all output through an AsyncAppender, a bounded
+ *   queue drained by one background thread, so request threads never wait on the console
+ * - structured: switch the console encoder in logback.xml to the JSON encoder to get one
+ *   JSON object per line
+ *
+ * Levels are configured in logback.xml: the Monitor logs as "org.eclipse.edc.monitor".
+ */
+public class Slf4jMonitorExtension implements MonitorExtension {
+
+    public static final String LOGGER_NAME = "org.eclipse.edc.monitor";
+
+    @Override
+    public String name() {
+        return "SLF4J Monitor Extension";
+    }
+
+    @Override
+    public Monitor getMonitor() {
+        return new Slf4jMonitor(LOGGER_NAME);
+    }
+}
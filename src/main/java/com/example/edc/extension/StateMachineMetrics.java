@@ -0,0 +1,161 @@
+package com.example.edc.extension;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.eclipse.edc.connector.controlplane.contract.spi.event.contractnegotiation.ContractNegotiationEvent;
+import org.eclipse.edc.connector.controlplane.contract.spi.negotiation.store.ContractNegotiationStore;
+import org.eclipse.edc.connector.controlplane.contract.spi.types.negotiation.ContractNegotiationStates;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessEvent;
+import org.eclipse.edc.connector.controlplane.transfer.spi.store.TransferProcessStore;
+import org.eclipse.edc.connector.controlplane.transfer.spi.types.TransferProcessStates;
+import org.eclipse.edc.spi.event.Event;
+import org.eclipse.edc.spi.event.EventEnvelope;
+import org.eclipse.edc.spi.event.EventSubscriber;
+import org.eclipse.edc.spi.query.QuerySpec;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * STATE MACHINE METRICS
+ *
+ * Metrics for the contract negotiation and transfer process state machines:
+ *
+ * - edc.negotiation.processes / edc.transfer.processes{state=...}: how many entities are in
+ *   each state, computed from the stores once per scrape ({@link #refresh()})
+ * - edc.negotiation.queue.depth / edc.transfer.queue.depth: entities the state machine
+ *   still has to act on (INITIAL and all "...ING" states)
+ * - edc.negotiation.transition / edc.transfer.transition{event=...}: time between two
+ *   consecutive events of the same entity, i.e. how long a state transition took
+ *
+ * For the transition times the time of each entity's last event is kept until its final
+ * event. Entities without an event for 'maxAgeMillis' (e.g. deleted from the store, or
+ * stuck) are dropped, as are the longest idle ones when more than {@link #MAX_TRACKED}
+ * are tracked.
+ *
+ * The state machine loops themselves are timed through the executor instrumentation
+ * registered by {@link MetricsExtension} (executor.* meters).
+ */
+class StateMachineMetrics implements EventSubscriber {
+
+    static final int MAX_TRACKED = 10_000;
+
+    private final MeterRegistry registry;
+    private final long maxAgeMillis;
+    private final Supplier<ContractNegotiationStore> negotiationStore;
+    private final Supplier<TransferProcessStore> transferProcessStore;
+
+    private volatile Map<String, Long> negotiationsPerState = Map.of();
+    private volatile Map<String, Long> transfersPerState = Map.of();
+    private final Map<String, Long> lastEventAt = new ConcurrentHashMap<>();
+    private final Map<String, Timer> transitionTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> eventCounters = new ConcurrentHashMap<>();
+
+    /**
+     * The stores are looked up on first use: they may be provided by extensions that
+     * themselves depend on metrics (e.g. the persistent stores).
+     */
+    StateMachineMetrics(MeterRegistry registry, long maxAgeMillis,
+                        Supplier<ContractNegotiationStore> negotiationStore, Supplier<TransferProcessStore> transferProcessStore) {
+        this.registry = registry;
+        this.maxAgeMillis = maxAgeMillis;
+        this.negotiationStore = negotiationStore;
+        this.transferProcessStore = transferProcessStore;
+
+        for (var state : ContractNegotiationStates.values()) {
+            Gauge.builder("edc.negotiation.processes", () -> negotiationsPerState.getOrDefault(state.name(), 0L))
+                    .tag("state", state.name())
+                    .register(registry);
+        }
+        for (var state : TransferProcessStates.values()) {
+            Gauge.builder("edc.transfer.processes", () -> transfersPerState.getOrDefault(state.name(), 0L))
+                    .tag("state", state.name())
+                    .register(registry);
+        }
+        Gauge.builder("edc.negotiation.queue.depth", () -> queueDepth(negotiationsPerState)).register(registry);
+        Gauge.builder("edc.transfer.queue.depth", () -> queueDepth(transfersPerState)).register(registry);
+    }
+
+    /**
+     * Re-counts the entities per state. Called right before the registry is scraped, so the
+     * store scan happens once per scrape and never on the request path.
+     */
+    void refresh() {
+        negotiationsPerState = negotiationStore.get().queryNegotiations(QuerySpec.max())
+                .collect(Collectors.groupingBy(n -> ContractNegotiationStates.from(n.getState()).name(), Collectors.counting()));
+        transfersPerState = transferProcessStore.get().findAll(QuerySpec.max())
+                .collect(Collectors.groupingBy(t -> TransferProcessStates.from(t.getState()).name(), Collectors.counting()));
+        evict(System.currentTimeMillis());
+    }
+
+    @Override
+    public <E extends Event> void on(EventEnvelope<E> envelope) {
+        var event = envelope.getPayload();
+        if (event instanceof TransferProcessEvent transferEvent) {
+            record("edc.transfer", transferEvent.getTransferProcessId(), event.name(), envelope.getAt());
+        } else if (event instanceof ContractNegotiationEvent negotiationEvent) {
+            record("edc.negotiation", negotiationEvent.getContractNegotiationId(), event.name(), envelope.getAt());
+        }
+    }
+
+    private void record(String prefix, String entityId, String eventName, long at) {
+        counter(prefix + ".events", eventName).increment();
+
+        if (lastEventAt.size() >= MAX_TRACKED && !lastEventAt.containsKey(entityId)) {
+            evict(at);
+        }
+        var previous = lastEventAt.put(entityId, at);
+        if (previous != null && at >= previous) {
+            timer(prefix + ".transition", eventName).record(at - previous, TimeUnit.MILLISECONDS);
+        }
+        if (isFinal(eventName)) {
+            lastEventAt.remove(entityId);
+        }
+    }
+
+    /**
+     * Drops the entities without an event for longer than maxAgeMillis and, when still at
+     * {@link #MAX_TRACKED}, the longest idle ones down to three quarters of it.
+     */
+    private void evict(long now) {
+        lastEventAt.entrySet().removeIf(entry -> now - entry.getValue() > maxAgeMillis);
+        var excess = lastEventAt.size() - MAX_TRACKED * 3 / 4;
+        if (lastEventAt.size() >= MAX_TRACKED) {
+            lastEventAt.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(lastEventAt::remove);
+        }
+    }
+
+    private Counter counter(String name, String eventName) {
+        return eventCounters.computeIfAbsent(name + eventName, k -> Counter.builder(name).tag("event", eventName).register(registry));
+    }
+
+    private Timer timer(String name, String eventName) {
+        return transitionTimers.computeIfAbsent(name + eventName, k -> Timer.builder(name)
+                .tag("event", eventName)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry));
+    }
+
+    private static boolean isFinal(String eventName) {
+        var lower = eventName.toLowerCase();
+        return lower.endsWith("terminated") || lower.endsWith("finalized") || lower.endsWith("deprovisioned") || lower.endsWith("completed");
+    }
+
+    private static long queueDepth(Map<String, Long> perState) {
+        return perState.entrySet().stream()
+                .filter(e -> e.getKey().equals("INITIAL") || e.getKey().endsWith("ING"))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.edc.extension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.persistence.EdcPersistenceException;
+import org.eclipse.edc.spi.result.StoreResult;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * STORE JOURNAL
+ *
+ * Append-only log that makes an in-memory store survive restarts. Every successful write
+ * to the store appends one record; at startup the log is replayed into a fresh store.
+ *
+ * File format (one file per store):
+ * --------------------------------
+ *   [int length][int crc32][byte op][int idLength][id][entity JSON]
+ *
+ * length and crc32 cover everything after the crc. op is PUT (entity JSON follows) or
+ * DELETE (no JSON).
+ *
+ * Recovery:
+ * --------
+ * The file is scanned once with positional reads to build the index id -> offset of the
+ * latest record. Only the live records are deserialized and loaded. A record cut short by
+ * a crash (or with a wrong checksum) ends the scan, and the file is truncated there.
+ * Offsets are longs, so the log is not limited to 2 GB; a single record is.
+ *
+ * A write that the store applied but that cannot be appended is rolled back from the file
+ * (a torn record would hide all later ones from the next replay) and surfaces as
+ * EdcPersistenceException: the store then holds a change the log does not have.
+ *
+ * Compaction:
+ * ----------
+ * Updates and deletes leave older records behind as garbage. {@link #compactIfNeeded()}
+ * copies the live records into a new file and atomically swaps it in once more than half
+ * of the file is garbage. The log stays open until the swap succeeded, so a failed
+ * compaction leaves the journal usable (no file is mapped, which would block the swap on
+ * Windows).
+ */
+class StoreJournal<E> {
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER = 8; // length + crc
+    private static final int MAX_RECORD = Integer.MAX_VALUE - HEADER - 16;
+    private static final long MIN_COMPACTION_SIZE = 1024 * 1024;
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path file;
+    private final Class<E> type;
+    private final Function<E, String> idOf;
+    private final ObjectMapper mapper;
+    private final boolean fsync;
+    private final Monitor monitor;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+    private final Map<String, Location> index = new HashMap<>();
+    private FileChannel channel;
+    private long size;
+    private long garbage;
+
+    private record Location(long offset, int length) {
+    }
+
+    StoreJournal(Path file, Class<E> type, Function<E, String> idOf, ObjectMapper mapper, boolean fsync, Monitor monitor) {
+        this.file = file;
+        this.type = type;
+        this.idOf = idOf;
+        this.mapper = mapper;
+        this.fsync = fsync;
+        this.monitor = monitor;
+        for (var i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Opens the log, drops a torn tail and loads the latest version of every entity.
+     *
+     * @return number of entities loaded
+     */
+    synchronized int replay(Consumer<E> loader) {
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            var fileSize = channel.size();
+            var header = ByteBuffer.allocate(HEADER);
+
+            long position = 0;
+            while (position + HEADER <= fileSize) {
+                readFully(header.clear(), position);
+                var length = header.getInt(0);
+                if (length < 5 || length > MAX_RECORD || position + HEADER + length > fileSize) {
+                    break;
+                }
+                var record = ByteBuffer.allocate(length);
+                readFully(record, position + HEADER);
+                var idLength = record.getInt(1);
+                if (header.getInt(4) != crc(record, 0, length) || idLength < 0 || idLength > length - 5) {
+                    break;
+                }
+                var id = new String(record.array(), 5, idLength, StandardCharsets.UTF_8);
+                var previous = record.get(0) == PUT
+                        ? index.put(id, new Location(position, HEADER + length))
+                        : index.remove(id);
+                // same accounting as append(): a DELETE record is garbage itself
+                garbage += (previous != null ? previous.length() : 0) + (record.get(0) == DELETE ? HEADER + length : 0);
+                position += HEADER + length;
+            }
+            if (position < fileSize) {
+                monitor.warning(file + ": dropping " + (fileSize - position) + " bytes of incomplete records after offset " + position);
+                channel.truncate(position);
+            }
+            size = position;
+            channel.position(size);
+
+            for (var location : index.values()) {
+                loader.accept(readEntity(location));
+            }
+            return index.size();
+        } catch (IOException e) {
+            throw new EdcException("Cannot replay " + file, e);
+        }
+    }
+
+    /**
+     * Wraps a store so that every successful create/update/save/delete is appended to this
+     * journal. Writes to the same id are serialized, so the log order matches the order in
+     * which the store applied them.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T journaled(Class<T> storeType, T store, Set<String> putMethods, Set<String> deleteMethods) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            var put = putMethods.contains(method.getName()) && args != null && args.length == 1 && type.isInstance(args[0]);
+            var delete = deleteMethods.contains(method.getName()) && args != null && args.length == 1 && args[0] instanceof String;
+            if (!put && !delete) {
+                return invoke(store, method, args);
+            }
+
+            var id = put ? idOf.apply((E) args[0]) : (String) args[0];
+            var lock = stripes[Math.floorMod(id.hashCode(), LOCK_STRIPES)];
+            lock.lock();
+            try {
+                var result = invoke(store, method, args);
+                if (!(result instanceof StoreResult<?> storeResult && storeResult.failed())) {
+                    try {
+                        if (put) {
+                            append(PUT, id, mapper.writeValueAsBytes(args[0]));
+                        } else {
+                            append(DELETE, id, new byte[0]);
+                        }
+                    } catch (IOException e) {
+                        throw new EdcPersistenceException("Applied " + method.getName() + " of " + id
+                                + " but cannot journal it to " + file + ", it is lost on restart", e);
+                    }
+                }
+                return result;
+            } finally {
+                lock.unlock();
+            }
+        };
+        return (T) Proxy.newProxyInstance(storeType.getClassLoader(), new Class<?>[]{ storeType }, handler);
+    }
+
+    /**
+     * Rewrites the log without garbage if more than half of it is garbage.
+     *
+     * @return true if the log was compacted
+     */
+    synchronized boolean compactIfNeeded() {
+        if (size < MIN_COMPACTION_SIZE || garbage * 2 < size) {
+            return false;
+        }
+        var compacted = file.resolveSibling(file.getFileName() + ".compact");
+        var newIndex = new HashMap<String, Location>();
+        long position = 0;
+        try {
+            try (var target = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                for (var entry : index.entrySet()) {
+                    var location = entry.getValue();
+                    var record = ByteBuffer.allocate(location.length());
+                    readFully(record, location.offset());
+                    record.flip();
+                    while (record.hasRemaining()) {
+                        target.write(record);
+                    }
+                    newIndex.put(entry.getKey(), new Location(position, location.length()));
+                    position += location.length();
+                }
+                target.force(true);
+            }
+            // the old channel stays open: if the swap fails, the journal goes on as before
+            Files.move(compacted, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(compacted);
+            } catch (IOException ignored) {
+                // left for the next compaction to overwrite
+            }
+            throw new EdcException("Cannot compact " + file, e);
+        }
+
+        var replaced = channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(position);
+        } catch (IOException e) {
+            channel = null;
+            throw new EdcException("Compacted " + file + " but cannot reopen it", e);
+        } finally {
+            try {
+                replaced.close();
+            } catch (IOException e) {
+                monitor.warning("Cannot close replaced " + file, e);
+            }
+        }
+
+        monitor.debug(file + ": compacted " + size + " -> " + position + " bytes");
+        index.clear();
+        index.putAll(newIndex);
+        size = position;
+        garbage = 0;
+        return true;
+    }
+
+    synchronized void close() {
+        try {
+            if (channel != null) {
+                channel.force(true);
+                channel.close();
+            }
+        } catch (IOException e) {
+            monitor.warning("Cannot close " + file, e);
+        }
+    }
+
+    private synchronized void append(byte op, String id, byte[] payload) throws IOException {
+        if (channel == null) {
+            throw new IOException(file + " is not open");
+        }
+        var idBytes = id.getBytes(StandardCharsets.UTF_8);
+        var length = 1L + 4 + idBytes.length + payload.length;
+        if (length > MAX_RECORD) {
+            throw new IOException("Record of " + id + " exceeds " + MAX_RECORD + " bytes");
+        }
+        var buffer = ByteBuffer.allocate(HEADER + (int) length);
+        buffer.putInt((int) length).putInt(0).put(op).putInt(idBytes.length).put(idBytes).put(payload);
+        buffer.putInt(4, crc(buffer, HEADER, (int) length));
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            // drop the partial record, later appends would be unreachable behind it
+            try {
+                channel.truncate(size);
+                channel.position(size);
+            } catch (IOException truncation) {
+                e.addSuppressed(truncation);
+            }
+            throw e;
+        }
+
+        var previous = op == PUT ? index.put(id, new Location(size, buffer.limit())) : index.remove(id);
+        garbage += (previous != null ? previous.length() : 0) + (op == DELETE ? buffer.limit() : 0);
+        size += buffer.limit();
+    }
+
+    private E readEntity(Location location) throws IOException {
+        var record = ByteBuffer.allocate(location.length() - HEADER);
+        readFully(record, location.offset() + HEADER);
+        var start = 5 + record.getInt(1);
+        return mapper.readValue(record.array(), start, record.capacity() - start, type);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException(file + " ends before offset " + (position + buffer.limit()));
+            }
+        }
+    }
+
+    private static int crc(ByteBuffer buffer, int offset, int length) {
+        var crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
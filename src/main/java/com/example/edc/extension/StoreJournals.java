@@ -0,0 +1,75 @@
+package com.example.edc.extension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Opens the {@link StoreJournal}s of the persistent stores (one file per store in the same
+ * directory) and compacts them periodically. Registered by {@link PersistentStoreExtension}.
+ */
+public class StoreJournals {
+
+    static final Set<String> PUT_METHODS = Set.of("create", "update", "updateAsset", "save");
+    static final Set<String> DELETE_METHODS = Set.of("delete", "deleteById");
+
+    private final Path directory;
+    private final ObjectMapper mapper;
+    private final boolean fsync;
+    private final Monitor monitor;
+    private final List<StoreJournal<?>> journals = new CopyOnWriteArrayList<>();
+
+    StoreJournals(Path directory, ObjectMapper mapper, boolean fsync, Monitor monitor) {
+        this.directory = directory;
+        this.mapper = mapper;
+        this.fsync = fsync;
+        this.monitor = monitor;
+    }
+
+    /**
+     * Replays the journal 'name' into the given store and returns the store wrapped so that
+     * its writes are journaled from now on.
+     *
+     * @param storeType the store interface, e.g. AssetIndex.class
+     * @param store     a fresh, empty store
+     * @param loader    how to put one replayed entity into the store
+     */
+    public <T, E> T open(String name, Class<T> storeType, T store, Class<E> entityType, Function<E, String> idOf, Consumer<E> loader) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new EdcException("Cannot create store directory " + directory, e);
+        }
+        var journal = new StoreJournal<>(directory.resolve(name + ".log"), entityType, idOf, mapper, fsync, monitor);
+        var start = System.currentTimeMillis();
+        var loaded = journal.replay(loader);
+        monitor.info("Persistent store '" + name + "': recovered " + loaded + " entries in " + (System.currentTimeMillis() - start) + " ms");
+        journals.add(journal);
+        return journal.journaled(storeType, store, PUT_METHODS, DELETE_METHODS);
+    }
+
+    void scheduleCompaction(ScheduledExecutorService executor, long intervalSeconds) {
+        executor.scheduleWithFixedDelay(() -> journals.forEach(journal -> {
+            try {
+                journal.compactIfNeeded();
+            } catch (RuntimeException e) {
+                monitor.warning("Store compaction failed", e);
+            }
+        }), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    void close() {
+        journals.forEach(StoreJournal::close);
+    }
+}
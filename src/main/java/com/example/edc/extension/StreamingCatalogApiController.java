@@ -0,0 +1,155 @@
+package com.example.edc.extension;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.edc.connector.controlplane.catalog.spi.CatalogRequestMessage;
+import org.eclipse.edc.connector.controlplane.catalog.spi.Dataset;
+import org.eclipse.edc.connector.controlplane.services.spi.protocol.ProtocolTokenValidator;
+import org.eclipse.edc.jsonld.spi.JsonLd;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.agent.ParticipantAgent;
+import org.eclipse.edc.spi.iam.TokenRepresentation;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.transform.spi.TypeTransformerRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Iterator;
+
+/**
+ * Paginated, streaming variant of the DSP catalog request, registered on the protocol
+ * context by {@link CatalogCacheExtension}:
+ *
+ *   GET /api/dsp/catalog/datasets?limit=500&cursor=...
+ *
+ * The standard DSP endpoint (POST /catalog/request) builds the whole catalog as one
+ * JSON-LD document before sending it. Here the datasets are pulled one by one from
+ * {@link MaterializedDatasetResolver#queryAfter}, transformed and written straight to the
+ * response, so only one dataset is on the heap at a time and the first bytes go out
+ * before the page is complete.
+ *
+ * The whole document is expanded JSON-LD (full IRIs, values as @value/@id objects in
+ * arrays, no @context): the catalog header is expanded once, every dataset right after it
+ * is transformed, so the page needs no compaction pass over the whole tree and a client
+ * reads it like any expanded DSP catalog. When more datasets follow, it ends with an
+ * edc:nextCursor; the cursor is the opaque (base64url) ID of the last asset on the page.
+ */
+@Path("/catalog/datasets")
+public class StreamingCatalogApiController {
+
+    private static final String DCAT = "http://www.w3.org/ns/dcat#";
+    private static final String DSPACE = "https://w3id.org/dspace/v0.8/";
+    private static final String EDC = "https://w3id.org/edc/v0.0.1/ns/";
+    private static final String CATALOG_REQUEST_SCOPE = "request.catalog";
+    private static final int FLUSH_INTERVAL = 100;
+
+    private final MaterializedDatasetResolver datasetResolver;
+    private final ProtocolTokenValidator tokenValidator;
+    private final TypeTransformerRegistry transformerRegistry;
+    private final JsonLd jsonLd;
+    private final JsonObject header;
+    private final int maxPageSize;
+    private final Monitor monitor;
+
+    StreamingCatalogApiController(MaterializedDatasetResolver datasetResolver, ProtocolTokenValidator tokenValidator,
+                                  TypeTransformerRegistry transformerRegistry, JsonLd jsonLd, String participantId,
+                                  int maxPageSize, Monitor monitor) {
+        this.datasetResolver = datasetResolver;
+        this.tokenValidator = tokenValidator;
+        this.transformerRegistry = transformerRegistry.forContext("dsp-api");
+        this.jsonLd = jsonLd;
+        var header = jsonLd.expand(Json.createObjectBuilder()
+                .add("@id", participantId + "/catalog")
+                .add("@type", DCAT + "Catalog")
+                .add(DSPACE + "participantId", participantId)
+                .build());
+        if (header.failed()) {
+            throw new EdcException("Invalid catalog header: " + header.getFailureDetail());
+        }
+        this.header = header.getContent();
+        this.maxPageSize = maxPageSize;
+        this.monitor = monitor;
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response datasets(@HeaderParam(HttpHeaders.AUTHORIZATION) String token,
+                             @QueryParam("cursor") String cursor,
+                             @QueryParam("limit") Integer limit) {
+        if (token == null) {
+            return Response.status(Response.Status.UNAUTHORIZED).build();
+        }
+        var pageSize = limit == null ? maxPageSize : Math.min(limit, maxPageSize);
+        if (pageSize < 1) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("limit must be positive").build();
+        }
+        String afterAssetId;
+        try {
+            afterAssetId = cursor == null ? null : new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("invalid cursor").build();
+        }
+
+        // same verification as the DSP catalog endpoint, done before the response is committed
+        var message = CatalogRequestMessage.Builder.newInstance()
+                .protocol("dataspace-protocol-http")
+                .querySpec(QuerySpec.Builder.newInstance().limit(pageSize).build())
+                .build();
+        var agent = tokenValidator.verify(TokenRepresentation.Builder.newInstance().token(token).build(), CATALOG_REQUEST_SCOPE, message);
+        if (agent.failed()) {
+            return Response.status(Response.Status.UNAUTHORIZED).build();
+        }
+
+        StreamingOutput body = output -> {
+            try (var generator = Json.createGenerator(output);
+                 var datasets = datasetResolver.queryAfter(agent.getContent(), afterAssetId)) {
+                writePage(generator, datasets.iterator(), pageSize);
+            }
+        };
+        return Response.ok(body, MediaType.APPLICATION_JSON).build();
+    }
+
+    private void writePage(JsonGenerator generator, Iterator<Dataset> datasets, int pageSize) {
+        generator.writeStartObject();
+        header.forEach(generator::write);
+        generator.writeStartArray(DCAT + "dataset");
+        // the client sees the catalog header before the first dataset is resolved
+        generator.flush();
+
+        String lastId = null;
+        var written = 0;
+        while (written < pageSize && datasets.hasNext()) {
+            var dataset = datasets.next();
+            var json = transformerRegistry.transform(dataset, JsonObject.class).compose(jsonLd::expand);
+            if (json.failed()) {
+                monitor.warning("Dataset " + dataset.getId() + " skipped in streamed catalog: " + json.getFailureDetail());
+            } else {
+                generator.write(json.getContent());
+            }
+            lastId = dataset.getId();
+            if (++written % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        }
+        generator.writeEnd();
+
+        if (lastId != null && datasets.hasNext()) {
+            var nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
+            generator.writeStartArray(EDC + "nextCursor")
+                    .writeStartObject().write("@value", nextCursor).writeEnd()
+                    .writeEnd();
+        }
+        generator.writeEnd();
+    }
+}
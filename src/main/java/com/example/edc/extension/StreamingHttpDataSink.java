@@ -0,0 +1,135 @@
+package com.example.edc.extension;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import org.eclipse.edc.connector.dataplane.spi.pipeline.DataSink;
+import org.eclipse.edc.connector.dataplane.spi.pipeline.DataSource;
+import org.eclipse.edc.connector.dataplane.spi.pipeline.StreamResult;
+import org.eclipse.edc.http.spi.EdcHttpClient;
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * HttpData sink that streams each part from the source to the destination.
+ *
+ * EDC's HttpDataSink reads a part completely into a byte array when the destination
+ * does not accept chunked uploads, which for a multi-gigabyte asset means a
+ * multi-gigabyte heap allocation. Here the part is copied with Okio's writeAll: the
+ * source stream is read straight into the request's own (pooled) segments, which are
+ * written to the socket as they fill up, without any intermediate buffer. The next read
+ * only happens once the socket accepted the previous segments, so a slow destination
+ * slows down the source instead of filling memory.
+ *
+ * A destination with nonChunkedTransfer needs a Content-Length up front. A part that does
+ * not know its size (HttpData sources never do) is then first copied to a temporary file,
+ * which is uploaded with its length and deleted afterwards: disk instead of heap.
+ */
+class StreamingHttpDataSink implements DataSink {
+
+    private final String processId;
+    private final Function<RequestBody, Request> requestFactory;
+    private final String contentType;
+    private final boolean nonChunked;
+    private final EdcHttpClient httpClient;
+    private final ExecutorService executor;
+    private final Monitor monitor;
+
+    StreamingHttpDataSink(String processId, Function<RequestBody, Request> requestFactory, String contentType,
+                          boolean nonChunked, EdcHttpClient httpClient, ExecutorService executor, Monitor monitor) {
+        this.processId = processId;
+        this.requestFactory = requestFactory;
+        this.contentType = contentType;
+        this.nonChunked = nonChunked;
+        this.httpClient = httpClient;
+        this.executor = executor;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public CompletableFuture<StreamResult<Object>> transfer(DataSource source) {
+        return CompletableFuture.supplyAsync(() -> transferParts(source), executor);
+    }
+
+    private StreamResult<Object> transferParts(DataSource source) {
+        try (source) {
+            var parts = source.openPartStream();
+            if (parts.failed()) {
+                return StreamResult.error(parts.getFailureDetail());
+            }
+            try (var stream = parts.getContent()) {
+                for (var iterator = stream.iterator(); iterator.hasNext(); ) {
+                    var part = iterator.next();
+                    var spooled = nonChunked && part.size() < 0 ? spool(part) : null;
+                    try (var response = httpClient.execute(requestFactory.apply(new PartRequestBody(part, spooled)))) {
+                        if (!response.isSuccessful()) {
+                            return StreamResult.error("Transfer " + processId + ": destination answered " + response.code() + " for part " + part.name());
+                        }
+                    } finally {
+                        if (spooled != null) {
+                            Files.deleteIfExists(spooled);
+                        }
+                    }
+                }
+            }
+            return StreamResult.success();
+        } catch (Exception e) {
+            monitor.severe("Transfer " + processId + " failed", e);
+            return StreamResult.error("Transfer " + processId + " failed: " + e.getMessage());
+        }
+    }
+
+    private static Path spool(DataSource.Part part) throws IOException {
+        var file = Files.createTempFile("edc-sink-", ".part");
+        try (var in = part.openStream(); var out = Okio.buffer(Okio.sink(file))) {
+            out.writeAll(Okio.source(in));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Streams the part, or its spooled copy when there is one.
+     */
+    private final class PartRequestBody extends RequestBody {
+        private final DataSource.Part part;
+        private final Path spooled;
+
+        PartRequestBody(DataSource.Part part, Path spooled) {
+            this.part = part;
+            this.spooled = spooled;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return MediaType.parse(contentType != null ? contentType : part.mediaType());
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return spooled != null ? Files.size(spooled) : part.size(); // -1 when unknown: chunked upload
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return true; // the source stream can only be read once
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            try (var in = spooled != null ? Okio.source(spooled) : Okio.source(part.openStream())) {
+                sink.writeAll(in);
+            }
+        }
+    }
+}
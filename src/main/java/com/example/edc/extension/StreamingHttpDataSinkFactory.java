@@ -0,0 +1,80 @@
+package com.example.edc.extension;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.eclipse.edc.connector.dataplane.http.spi.HttpRequestParams;
+import org.eclipse.edc.connector.dataplane.http.spi.HttpRequestParamsProvider;
+import org.eclipse.edc.connector.dataplane.spi.pipeline.DataSink;
+import org.eclipse.edc.connector.dataplane.spi.pipeline.DataSinkFactory;
+import org.eclipse.edc.http.spi.EdcHttpClient;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.result.Result;
+import org.eclipse.edc.spi.types.domain.transfer.DataFlowStartMessage;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates {@link StreamingHttpDataSink}s for HttpData destinations. Destination URL,
+ * method and headers are resolved by EDC's HttpRequestParamsProvider, exactly as for the
+ * default HttpData sink.
+ */
+class StreamingHttpDataSinkFactory implements DataSinkFactory {
+
+    static final String HTTP_DATA = "HttpData";
+
+    private final HttpRequestParamsProvider requestParamsProvider;
+    private final EdcHttpClient httpClient;
+    private final ExecutorService executor;
+    private final Monitor monitor;
+
+    StreamingHttpDataSinkFactory(HttpRequestParamsProvider requestParamsProvider, EdcHttpClient httpClient,
+                                 ExecutorService executor, Monitor monitor) {
+        this.requestParamsProvider = requestParamsProvider;
+        this.httpClient = httpClient;
+        this.executor = executor;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public String supportedType() {
+        return HTTP_DATA;
+    }
+
+    @Override
+    public Result<Void> validateRequest(DataFlowStartMessage request) {
+        try {
+            requestParamsProvider.provideSinkParams(request);
+            return Result.success();
+        } catch (Exception e) {
+            return Result.failure("Invalid HttpData destination: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public DataSink createSink(DataFlowStartMessage request) {
+        var params = requestParamsProvider.provideSinkParams(request);
+        return new StreamingHttpDataSink(request.getProcessId(), body -> toRequest(params, body), params.getContentType(),
+                params.isNonChunkedTransfer(), httpClient, executor, monitor);
+    }
+
+    /**
+     * The request described by params; also used for HttpData sources by
+     * {@link RangedHttpDataSourceFactory} (without body).
+     */
+    static Request toRequest(HttpRequestParams params, RequestBody body) {
+        var url = HttpUrl.get(params.getBaseUrl()).newBuilder();
+        var path = params.getPath();
+        if (path != null && !path.isBlank()) {
+            url.addPathSegments(path.startsWith("/") ? path.substring(1) : path);
+        }
+        var query = params.getQueryParams();
+        if (query != null && !query.isBlank()) {
+            url.query(query);
+        }
+
+        var builder = new Request.Builder().url(url.build());
+        params.getHeaders().forEach(builder::header);
+        return builder.method(params.getMethod(), body).build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.dataplane.http.spi.HttpRequestParamsProvider;
+import org.eclipse.edc.connector.dataplane.spi.pipeline.PipelineService;
+import org.eclipse.edc.http.spi.EdcHttpClient;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.system.ExecutorInstrumentation;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+
+import java.util.concurrent.Executors;
+
+/**
+ * STREAMING TRANSFER EXTENSION
+ *
+ * With edc.dataplane.http.streaming=true, HttpData destinations are written by
+ * {@link StreamingHttpDataSink} instead of EDC's HttpDataSink: parts are streamed from the
+ * source into the request body, so a transfer needs the same (small) amount of memory no
+ * matter how large the asset is.
+ *
+ * Memory:
+ * ------
+ * A running part holds a few of OkHttp's pooled 8 KB segments; the number of parts
+ * streamed at the same time is bounded by edc.dataplane.http.streaming.threads (or, with
+ * edc.dataplane.executor=virtual, by the per-destination limit).
+ *
+ * The factory is registered for the HttpData type and replaces the one registered by
+ * data-plane-http (this extension injects HttpRequestParamsProvider, so it always
+ * initializes after it). Its executor is named "HttpDataSink", so with
+ * edc.dataplane.executor=virtual it runs on virtual threads as well.
+ */
+public class StreamingTransferExtension implements ServiceExtension {
+
+    @Setting(value = "Stream HttpData transfers from source to destination without reading parts into memory", defaultValue = "false")
+    public static final String STREAMING = "edc.dataplane.http.streaming";
+
+    @Setting(value = "Threads for streaming transfers (platform executor only)", defaultValue = "20")
+    public static final String THREADS = "edc.dataplane.http.streaming.threads";
+
+    @Inject
+    private PipelineService pipelineService;
+
+    @Inject
+    private HttpRequestParamsProvider requestParamsProvider;
+
+    @Inject
+    private EdcHttpClient httpClient;
+
+    @Inject
+    private ExecutorInstrumentation executorInstrumentation;
+
+    @Override
+    public String name() {
+        return "Streaming Transfer Extension";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        if (!context.getSetting(STREAMING, false)) {
+            return;
+        }
+
+        var threads = context.getSetting(THREADS, 20);
+        if (threads < 1) {
+            throw new EdcException(THREADS + " must be positive");
+        }
+
+        var monitor = context.getMonitor();
+        var executor = executorInstrumentation.instrument(Executors.newFixedThreadPool(threads), "HttpDataSink");
+        pipelineService.registerFactory(new StreamingHttpDataSinkFactory(requestParamsProvider, httpClient, executor, monitor));
+
+        monitor.info("Streaming transfers: HttpData sink streaming parts on " + threads + " threads");
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.edc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BATCH MANAGEMENT API TEST SUITE
+ * ===============================
+ *
+ * Integration tests of the batch endpoints registered by BatchManagementApiExtension:
+ *
+ *   POST /v3/batch/{assets|policydefinitions|contractdefinitions}          create
+ *   PUT  /v3/batch/{assets|policydefinitions|contractdefinitions}          update
+ *   POST /v3/batch/{assets|policydefinitions|contractdefinitions}/delete   delete
+ *
+ * Every response lists one result per item, so the tests check both the counts and the
+ * entities afterwards through the single-item endpoints. Batch items go through the same
+ * entity services as those endpoints: a policy still used by a contract definition cannot
+ * be deleted, and an asset without a data address is rejected.
+ *
+ * PREREQUISITES: same as {@link EdcManagementApiIT} - a connector on localhost:8181 with
+ * edc.batch.api.enabled (the default).
+ *
+ * HOW TO RUN:
+ *   mvn verify -Dit.test=BatchManagementApiIT
+ *
+ * Tests run in order and build on each other; every run uses its own IDs.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("EDC Batch Management API Integration Tests")
+class BatchManagementApiIT {
+
+    private static final String BASE_URL = ManagementApiRequests.DEFAULT_BASE_URL;
+
+    private static final String RUN_ID = String.valueOf(System.currentTimeMillis());
+    private static final String ASSET_1 = "batch-asset-1-" + RUN_ID;
+    private static final String ASSET_2 = "batch-asset-2-" + RUN_ID;
+    private static final String POLICY = "batch-policy-" + RUN_ID;
+    private static final String CONTRACT_DEFINITION = "batch-contract-definition-" + RUN_ID;
+
+    private static HttpClient httpClient;
+    private static ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void setup() {
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        objectMapper = new ObjectMapper();
+        System.out.println("→ Batch API tests, run " + RUN_ID + " against " + BASE_URL);
+    }
+
+    @BeforeEach
+    void beforeEachTest(TestInfo testInfo) {
+        System.out.println("\n→ Running: " + testInfo.getDisplayName());
+    }
+
+    // =============================================================================
+    // ASSETS
+    // =============================================================================
+
+    @Test
+    @Order(1)
+    @DisplayName("1. POST /v3/batch/assets - NDJSON creates every valid asset, rejects the invalid one")
+    void testCreateAssets() throws Exception {
+        var invalid = """
+                {"@context":{"edc":"https://w3id.org/edc/v0.0.1/ns/"},"@id":"batch-invalid-%s","properties":{"name":"no data address"}}
+                """.formatted(RUN_ID);
+        var body = oneLine(ManagementApiRequests.assetJson(ASSET_1, "Batch Asset 1")) + "\n"
+                + oneLine(ManagementApiRequests.assetJson(ASSET_2, "Batch Asset 2")) + "\n"
+                + invalid.strip() + "\n";
+
+        var result = send(ManagementApiRequests.post(BASE_URL, "/v3/batch/assets", body, "application/x-ndjson"));
+
+        assertEquals(2, result.get("succeeded").asInt(), "Both valid assets should be created");
+        assertEquals(1, result.get("failed").asInt(), "The asset without data address should fail");
+        assertEquals("created", result.get("results").get(0).get("status").asText());
+        assertEquals("failed", result.get("results").get(2).get("status").asText());
+        assertEquals(200, get("/v3/assets/" + ASSET_1).statusCode());
+        assertEquals(200, get("/v3/assets/" + ASSET_2).statusCode());
+        assertEquals(404, get("/v3/assets/batch-invalid-" + RUN_ID).statusCode());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("2. PUT /v3/batch/assets - JSON array updates the assets")
+    void testUpdateAssets() throws Exception {
+        var body = "[" + ManagementApiRequests.assetJson(ASSET_1, "Batch Asset 1 (updated)") + "]";
+
+        var result = send(ManagementApiRequests.put(BASE_URL, "/v3/batch/assets", body));
+
+        assertEquals(1, result.get("succeeded").asInt());
+        assertEquals("updated", result.get("results").get(0).get("status").asText());
+        var asset = objectMapper.readTree(get("/v3/assets/" + ASSET_1).body());
+        assertEquals("Batch Asset 1 (updated)", asset.get("properties").get("name").asText());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("3. GET /v3/assets/batch - not shadowed by the batch endpoints")
+    void testBatchIsNotAnAssetPath() throws Exception {
+        assertEquals(404, get("/v3/assets/batch").statusCode(),
+                "GET /v3/assets/batch should be EDC's asset lookup (no asset 'batch'), not a batch endpoint");
+    }
+
+    // =============================================================================
+    // POLICY AND CONTRACT DEFINITIONS
+    // =============================================================================
+
+    @Test
+    @Order(4)
+    @DisplayName("4. POST /v3/batch/policydefinitions and /contractdefinitions - create")
+    void testCreatePolicyAndContractDefinition() throws Exception {
+        var policies = send(ManagementApiRequests.post(BASE_URL, "/v3/batch/policydefinitions", "[" + policyJson(POLICY) + "]"));
+        assertEquals(1, policies.get("succeeded").asInt());
+
+        var definitions = send(ManagementApiRequests.post(BASE_URL, "/v3/batch/contractdefinitions",
+                "[" + contractDefinitionJson(CONTRACT_DEFINITION, POLICY, ASSET_1) + "]"));
+        assertEquals(1, definitions.get("succeeded").asInt());
+
+        assertEquals(200, get("/v3/policydefinitions/" + POLICY).statusCode());
+        assertEquals(200, get("/v3/contractdefinitions/" + CONTRACT_DEFINITION).statusCode());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("5. POST /v3/batch/policydefinitions/delete - a referenced policy is kept")
+    void testDeleteReferencedPolicyFails() throws Exception {
+        var result = send(ManagementApiRequests.post(BASE_URL, "/v3/batch/policydefinitions/delete", "[\"" + POLICY + "\"]"));
+
+        assertEquals(1, result.get("failed").asInt(), "The contract definition still uses the policy");
+        assertEquals(200, get("/v3/policydefinitions/" + POLICY).statusCode());
+    }
+
+    // =============================================================================
+    // DELETE
+    // =============================================================================
+
+    @Test
+    @Order(6)
+    @DisplayName("6. POST /v3/batch/*/delete - deletes in dependency order")
+    void testDelete() throws Exception {
+        var definitions = send(ManagementApiRequests.post(BASE_URL, "/v3/batch/contractdefinitions/delete",
+                "[\"" + CONTRACT_DEFINITION + "\"]"));
+        assertEquals(1, definitions.get("succeeded").asInt());
+
+        var policies = send(ManagementApiRequests.post(BASE_URL, "/v3/batch/policydefinitions/delete",
+                "[{\"@id\":\"" + POLICY + "\"}]"));
+        assertEquals(1, policies.get("succeeded").asInt());
+
+        var assets = send(ManagementApiRequests.post(BASE_URL, "/v3/batch/assets/delete",
+                "[\"" + ASSET_1 + "\",\"" + ASSET_2 + "\",\"batch-missing-" + RUN_ID + "\"]"));
+        assertEquals(2, assets.get("succeeded").asInt());
+        assertEquals(1, assets.get("failed").asInt(), "Deleting an unknown asset should fail for that item only");
+
+        assertEquals(404, get("/v3/contractdefinitions/" + CONTRACT_DEFINITION).statusCode());
+        assertEquals(404, get("/v3/policydefinitions/" + POLICY).statusCode());
+        assertEquals(404, get("/v3/assets/" + ASSET_1).statusCode());
+    }
+
+    // =============================================================================
+    // HELPER METHODS
+    // =============================================================================
+
+    private static String policyJson(String id) {
+        return """
+                {
+                  "@context": {"@vocab": "https://w3id.org/edc/v0.0.1/ns/"},
+                  "@id": "%s",
+                  "policy": {
+                    "@context": "http://www.w3.org/ns/odrl.jsonld",
+                    "@type": "Set",
+                    "permission": []
+                  }
+                }
+                """.formatted(id);
+    }
+
+    private static String contractDefinitionJson(String id, String policyId, String assetId) {
+        return """
+                {
+                  "@context": {"@vocab": "https://w3id.org/edc/v0.0.1/ns/"},
+                  "@id": "%s",
+                  "accessPolicyId": "%s",
+                  "contractPolicyId": "%s",
+                  "assetsSelector": [{
+                    "@type": "Criterion",
+                    "operandLeft": "https://w3id.org/edc/v0.0.1/ns/id",
+                    "operator": "=",
+                    "operandRight": "%s"
+                  }]
+                }
+                """.formatted(id, policyId, policyId, assetId);
+    }
+
+    private static String oneLine(String json) {
+        return json.replaceAll("\\s*\\n\\s*", " ").strip();
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return httpClient.send(ManagementApiRequests.get(BASE_URL, path), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Sends a batch request and returns its per-item report.
+     */
+    private JsonNode send(HttpRequest request) throws Exception {
+        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        System.out.println("   " + request.method() + " " + request.uri().getPath() + " -> " + response.statusCode() + " " + response.body());
+        assertEquals(200, response.statusCode(), "Batch requests answer 200 with one result per item");
+        return objectMapper.readTree(response.body());
+    }
+}
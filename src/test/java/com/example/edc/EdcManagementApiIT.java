@@ -4,7 +4,6 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.*;
 
-import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
@@ -76,7 +75,7 @@ class EdcManagementApiIT {
      * This is the root endpoint for all management operations.
      * Default: http://localhost:8181/api/management
      */
-    private static final String BASE_URL = "http://localhost:8181/api/management";
+    private static final String BASE_URL = ManagementApiRequests.DEFAULT_BASE_URL;
     
     /**
      * HTTP CLIENT - Used to make REST API calls
@@ -576,12 +575,8 @@ class EdcManagementApiIT {
      * @return Configured HttpRequest ready to send
      */
     private HttpRequest buildGetRequest(String path) {
-        return HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + path))
-                .header("Accept", "application/json")  // We want JSON response
-                .timeout(Duration.ofSeconds(10))        // Don't wait forever
-                .GET()                                   // HTTP GET method
-                .build();
+        // Same request shape is reused by the load test runner, see ManagementApiRequests
+        return ManagementApiRequests.get(BASE_URL, path);
     }
     
     /**
@@ -595,12 +590,6 @@ class EdcManagementApiIT {
      * @return Configured HttpRequest ready to send
      */
     private HttpRequest buildPostRequest(String path, String jsonBody) {
-        return HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + path))
-                .header("Content-Type", "application/json")  // Body is JSON
-                .header("Accept", "application/json")        // We want JSON response
-                .timeout(Duration.ofSeconds(10))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))  // Send JSON body
-                .build();
+        return ManagementApiRequests.post(BASE_URL, path, jsonBody);
     }
 }
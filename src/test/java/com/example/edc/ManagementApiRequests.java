@@ -0,0 +1,128 @@
+package com.example.edc;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * MANAGEMENT API REQUEST BUILDERS
+ * ================================
+ *
+ * Shared by the integration tests ({@link EdcManagementApiIT}, {@link BatchManagementApiIT}) and the load test runner
+ * ({@link com.example.edc.load.LoadTestRunner}) so both talk to the connector in exactly
+ * the same way.
+ */
+public final class ManagementApiRequests {
+
+    /**
+     * Default location of the Management API (see web.http.management.* in the configuration).
+     */
+    public static final String DEFAULT_BASE_URL = "http://localhost:8181/api/management";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private ManagementApiRequests() {
+    }
+
+    /**
+     * GET request asking for a JSON response.
+     *
+     * @param baseUrl Management API root, e.g. {@link #DEFAULT_BASE_URL}
+     * @param path    The API path (e.g., "/v3/assets/my-asset")
+     */
+    public static HttpRequest get(String baseUrl, String path) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .header("Accept", "application/json")  // We want JSON response
+                .timeout(TIMEOUT)                       // Don't wait forever
+                .GET()                                  // HTTP GET method
+                .build();
+    }
+
+    /**
+     * POST request with a JSON body, asking for a JSON response.
+     *
+     * @param baseUrl  Management API root, e.g. {@link #DEFAULT_BASE_URL}
+     * @param path     The API path (e.g., "/v3/assets")
+     * @param jsonBody The JSON content to send
+     */
+    public static HttpRequest post(String baseUrl, String path, String jsonBody) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")  // Body is JSON
+                .header("Accept", "application/json")        // We want JSON response
+                .timeout(TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))  // Send JSON body
+                .build();
+    }
+
+    /**
+     * POST request with a body of the given content type (e.g. application/x-ndjson),
+     * asking for a JSON response.
+     */
+    public static HttpRequest post(String baseUrl, String path, String body, String contentType) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .header("Content-Type", contentType)
+                .header("Accept", "application/json")
+                .timeout(TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * PUT request with a JSON body, asking for a JSON response.
+     */
+    public static HttpRequest put(String baseUrl, String path, String jsonBody) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .timeout(TIMEOUT)
+                .PUT(HttpRequest.BodyPublishers.ofString(jsonBody))
+                .build();
+    }
+
+    /**
+     * JSON-LD body for POST /v3/assets, the same shape the integration test uses.
+     */
+    public static String assetJson(String assetId, String name) {
+        return String.format("""
+        {
+          "@context": {
+            "edc": "https://w3id.org/edc/v0.0.1/ns/"
+          },
+          "@id": "%s",
+          "properties": {
+            "name": "%s",
+            "description": "This asset was created programmatically via the Management API",
+            "contenttype": "application/json",
+            "version": "1.0.0"
+          },
+          "dataAddress": {
+            "@type": "DataAddress",
+            "type": "HttpData",
+            "baseUrl": "https://jsonplaceholder.typicode.com/posts"
+          }
+        }
+        """, assetId, name);
+    }
+
+    /**
+     * JSON-LD body for POST /v3/catalog/request, as sent by test-catalog-query.ps1.
+     *
+     * @param counterPartyAddress DSP endpoint of the provider, e.g. http://localhost:8282/api/dsp
+     */
+    public static String catalogRequestJson(String counterPartyAddress) {
+        return String.format("""
+        {
+          "@context": {
+            "edc": "https://w3id.org/edc/v0.0.1/ns/"
+          },
+          "@type": "CatalogRequest",
+          "counterPartyAddress": "%s",
+          "protocol": "dataspace-protocol-http"
+        }
+        """, counterPartyAddress);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.spi.event.Event;
+import org.eclipse.edc.spi.event.EventEnvelope;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ADAPTIVE WAIT STRATEGY UNIT TESTS
+ *
+ * Idle iterations and wake-ups of {@link AdaptiveWaitStrategy}, for a state machine on its
+ * own thread and for one that runs, like EDC's state machines on a shared runtime, as
+ * rescheduled tasks of a {@link SharedExecutorView}. No connector needed.
+ */
+@DisplayName("Adaptive wait strategy")
+class AdaptiveWaitStrategyTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private final ExecutorService workers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void stop() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("On its own thread, an idle state machine waits until an event arrives")
+    void threadWaitsForEvent() throws Exception {
+        var strategy = new AdaptiveWaitStrategy(10_000, 10_000);
+
+        var start = System.nanoTime();
+        var wait = CompletableFuture.supplyAsync(strategy::waitForMillis, workers);
+        Thread.sleep(100);
+        strategy.on(event());
+
+        assertEquals(0, wait.get(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000);
+    }
+
+    @Test
+    @DisplayName("On a shared executor view, the back-off is returned as delay and reset by an event")
+    void viewBacksOffWithoutBlocking() throws Exception {
+        var strategy = new AdaptiveWaitStrategy(10, 80);
+        var view = new SharedExecutorView(scheduler, workers, 1);
+
+        var delays = new ArrayList<Long>();
+        for (var i = 0; i < 5; i++) {
+            delays.add(view.submit(strategy::waitForMillis).get(5, TimeUnit.SECONDS));
+        }
+        strategy.on(event());
+        delays.add(view.submit(strategy::waitForMillis).get(5, TimeUnit.SECONDS));
+        delays.add(view.submit(strategy::waitForMillis).get(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of(10L, 20L, 40L, 80L, 80L, 0L, 10L), delays);
+    }
+
+    @Test
+    @DisplayName("On a shared executor view, an event runs the scheduled next iteration right away")
+    void eventExpeditesNextIteration() throws Exception {
+        var strategy = new AdaptiveWaitStrategy(10_000, 10_000);
+        var view = new SharedExecutorView(scheduler, workers, 1);
+        var iterations = new AtomicInteger();
+        Runnable[] loop = new Runnable[1];
+        loop[0] = () -> {
+            iterations.incrementAndGet();
+            view.schedule(loop[0], strategy.waitForMillis(), TimeUnit.MILLISECONDS);
+        };
+
+        view.execute(loop[0]);
+        awaitIterations(iterations, 1);
+        Thread.sleep(100);
+        assertEquals(1, iterations.get());
+
+        strategy.on(event());
+        awaitIterations(iterations, 2);
+        view.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Two state machines on one strategy keep their own wake-ups")
+    void viewsKeepTheirOwnWakeUps() throws Exception {
+        var strategy = new AdaptiveWaitStrategy(10, 80);
+        var first = new SharedExecutorView(scheduler, workers, 1);
+        var second = new SharedExecutorView(scheduler, workers, 1);
+        first.submit(strategy::waitForMillis).get(5, TimeUnit.SECONDS);
+        second.submit(strategy::waitForMillis).get(5, TimeUnit.SECONDS);
+
+        strategy.on(event());
+
+        assertEquals(0, first.submit(strategy::waitForMillis).get(5, TimeUnit.SECONDS));
+        assertEquals(0, second.submit(strategy::waitForMillis).get(5, TimeUnit.SECONDS));
+    }
+
+    private static void awaitIterations(AtomicInteger iterations, int expected) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (iterations.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(iterations.get() >= expected, "iterations: " + iterations.get());
+    }
+
+    private static EventEnvelope<Event> event() {
+        return EventEnvelope.Builder.<Event>newInstance().at(System.currentTimeMillis()).payload(new Event() {
+            @Override
+            public String name() {
+                return "test.event";
+            }
+        }).build();
+    }
+}
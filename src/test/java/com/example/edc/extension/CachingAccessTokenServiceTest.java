@@ -0,0 +1,162 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.dataplane.spi.AccessTokenData;
+import org.eclipse.edc.connector.dataplane.spi.iam.DataPlaneAccessTokenService;
+import org.eclipse.edc.spi.iam.ClaimToken;
+import org.eclipse.edc.spi.iam.TokenParameters;
+import org.eclipse.edc.spi.iam.TokenRepresentation;
+import org.eclipse.edc.spi.result.Result;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CACHING ACCESS TOKEN SERVICE UNIT TESTS
+ *
+ * Resolves and revokes tokens through {@link CachingAccessTokenService} in front of a
+ * delegate that counts its resolutions and can be held in the middle of one. No
+ * connector needed.
+ */
+@DisplayName("Caching access token service")
+class CachingAccessTokenServiceTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    @DisplayName("A resolved token is served from the cache")
+    void resolvedTokenIsCached() {
+        var delegate = new CountingTokenService();
+        var service = new CachingAccessTokenService(delegate, 16, HOUR);
+
+        assertTrue(service.resolve("token").succeeded());
+        assertTrue(service.resolve("token").succeeded());
+        assertEquals(1, delegate.resolutions.get());
+    }
+
+    @Test
+    @DisplayName("A failed resolution is not cached")
+    void failureIsNotCached() {
+        var delegate = new CountingTokenService();
+        delegate.valid = false;
+        var service = new CachingAccessTokenService(delegate, 16, HOUR);
+
+        assertTrue(service.resolve("token").failed());
+        assertTrue(service.resolve("token").failed());
+        assertEquals(2, delegate.resolutions.get());
+    }
+
+    @Test
+    @DisplayName("A token is cached until the exp claim of the JWT")
+    void expiredTokenIsResolvedAgain() {
+        var delegate = new CountingTokenService();
+        var service = new CachingAccessTokenService(delegate, 16, HOUR);
+        var expired = jwt(System.currentTimeMillis() / 1000 - 1);
+
+        service.resolve(expired);
+        service.resolve(expired);
+        assertEquals(2, delegate.resolutions.get());
+    }
+
+    @Test
+    @DisplayName("Revoking drops the cached tokens")
+    void revokeDropsCachedTokens() {
+        var delegate = new CountingTokenService();
+        var service = new CachingAccessTokenService(delegate, 16, HOUR);
+        service.resolve("token");
+
+        service.revoke("transfer", "revoked");
+        delegate.valid = false;
+
+        assertTrue(service.resolve("token").failed());
+    }
+
+    @Test
+    @DisplayName("A resolution running while tokens are revoked is not cached")
+    void resolutionDuringRevokeIsNotCached() throws Exception {
+        var delegate = new CountingTokenService();
+        delegate.hold = new CountDownLatch(1);
+        delegate.resolving = new CountDownLatch(1);
+        var service = new CachingAccessTokenService(delegate, 16, HOUR);
+
+        var resolution = CompletableFuture.supplyAsync(() -> service.resolve("token"));
+        assertTrue(delegate.resolving.await(5, TimeUnit.SECONDS));
+        service.revoke("transfer", "revoked");
+        delegate.hold.countDown();
+        assertTrue(resolution.get(5, TimeUnit.SECONDS).succeeded());
+
+        delegate.hold = null;
+        delegate.valid = false;
+        assertTrue(service.resolve("token").failed());
+    }
+
+    @Test
+    @DisplayName("The cache is bounded by maxEntries")
+    void cacheIsBounded() {
+        var delegate = new CountingTokenService();
+        var service = new CachingAccessTokenService(delegate, 4, HOUR);
+
+        for (var i = 0; i < 100; i++) {
+            service.resolve("token-" + i);
+        }
+        delegate.resolutions.set(0);
+        for (var i = 0; i < 100; i++) {
+            service.resolve("token-" + i);
+        }
+        assertTrue(delegate.resolutions.get() >= 96, "resolved again: " + delegate.resolutions.get());
+    }
+
+    private static String jwt(long exp) {
+        var encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(("{\"exp\":" + exp + "}").getBytes(StandardCharsets.UTF_8)) + ".signature";
+    }
+
+    private static final class CountingTokenService implements DataPlaneAccessTokenService {
+        final AtomicInteger resolutions = new AtomicInteger();
+        volatile boolean valid = true;
+        volatile CountDownLatch resolving;
+        volatile CountDownLatch hold;
+
+        @Override
+        public Result<TokenRepresentation> obtainToken(TokenParameters parameters, DataAddress backendDataAddress, Map<String, Object> additionalTokenData) {
+            return Result.failure("not supported");
+        }
+
+        @Override
+        public Result<AccessTokenData> resolve(String token) {
+            resolutions.incrementAndGet();
+            var result = valid
+                    ? Result.success(new AccessTokenData(token, ClaimToken.Builder.newInstance().build(),
+                            DataAddress.Builder.newInstance().type("HttpData").build(), Map.of()))
+                    : Result.<AccessTokenData>failure("invalid token");
+            if (resolving != null) {
+                resolving.countDown();
+            }
+            var latch = hold;
+            if (latch != null) {
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public Result<Void> revoke(String transferProcessId, String reason) {
+            return Result.success();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.edc.extension;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import org.eclipse.edc.jsonld.TitaniumJsonLd;
+import org.eclipse.edc.jsonld.spi.JsonLd;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.StringReader;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * CACHING JSON-LD UNIT TESTS
+ *
+ * Expands representative Management API bodies with {@link CachingJsonLd} and with the
+ * TitaniumJsonLd it decorates; the results must be the same, whether a body takes the
+ * fast path or falls back to full JSON-LD processing. No connector needed.
+ */
+@DisplayName("Caching JSON-LD")
+class CachingJsonLdTest {
+
+    private static final String CONTEXT = "\"@context\": { \"edc\": \"https://w3id.org/edc/v0.0.1/ns/\" }";
+    private static final String ODRL_CONTEXT = "\"@context\": { \"edc\": \"https://w3id.org/edc/v0.0.1/ns/\", \"odrl\": \"http://www.w3.org/ns/odrl/2/\" }";
+
+    static Stream<Arguments> bodies() {
+        return Stream.of(
+                Arguments.of("asset", """
+                        { %s,
+                          "@id": "asset-1",
+                          "properties": { "name": "Asset", "edc:version": "1.0.0", "contenttype": "application/json" },
+                          "dataAddress": { "@type": "DataAddress", "type": "HttpData", "baseUrl": "https://example.com/data" } }
+                        """.formatted(CONTEXT)),
+                Arguments.of("catalog request", """
+                        { %s,
+                          "@type": "CatalogRequest",
+                          "counterPartyAddress": "http://localhost:8282/api/dsp",
+                          "protocol": "dataspace-protocol-http",
+                          "querySpec": { "offset": 0, "limit": 50, "sortOrder": "ASC" } }
+                        """.formatted(CONTEXT)),
+                Arguments.of("contract definition", """
+                        { %s,
+                          "@id": "contract-1",
+                          "accessPolicyId": "policy-1",
+                          "contractPolicyId": "policy-1",
+                          "assetsSelector": [
+                            { "@type": "Criterion", "operandLeft": "https://w3id.org/edc/v0.0.1/ns/id", "operator": "=", "operandRight": "asset-1" },
+                            { "@type": "edc:Criterion", "operandLeft": "name", "operator": "in", "operandRight": ["a", "b"] } ] }
+                        """.formatted(CONTEXT)),
+                Arguments.of("policy definition with prefixes", """
+                        { %s,
+                          "@id": "policy-1",
+                          "policy": {
+                            "@type": ["odrl:Set"],
+                            "odrl:permission": [ { "odrl:action": { "@id": "odrl:use" } } ],
+                            "odrl:prohibition": [],
+                            "odrl:obligation": null } }
+                        """.formatted(ODRL_CONTEXT)),
+                Arguments.of("literals and duplicate keys", """
+                        { %s,
+                          "@id": "edc:literals",
+                          "name": "plain",
+                          "edc:name": "prefixed",
+                          "count": 42,
+                          "ratio": 0.5,
+                          "active": true,
+                          "missing": null,
+                          "explicit": { "@value": "value" },
+                          "absolute": { "https://example.com/ns/key": "value" } }
+                        """.formatted(CONTEXT)),
+                Arguments.of("edc prefix without its definition", """
+                        { "@context": { "odrl": "http://www.w3.org/ns/odrl/2/" },
+                          "@id": "asset-1",
+                          "edc:name": "Asset",
+                          "odrl:hasPolicy": { "@type": "odrl:Set" } }
+                        """),
+                Arguments.of("edc prefix with an empty context", """
+                        { "@context": {}, "@type": "edc:Asset", "edc:name": "Asset", "name": "plain" }
+                        """),
+                Arguments.of("edc prefix redefined by the client", """
+                        { "@context": { "edc": "https://example.com/other/" }, "edc:name": "Asset" }
+                        """),
+                Arguments.of("language tagged value (fallback)", """
+                        { %s, "description": { "@value": "Beschreibung", "@language": "de" } }
+                        """.formatted(CONTEXT)),
+                Arguments.of("list (fallback)", """
+                        { %s, "ordered": { "@list": ["a", "b"] } }
+                        """.formatted(CONTEXT)),
+                Arguments.of("nested context (fallback)", """
+                        { %s, "nested": { "@context": { "ex": "https://example.com/ns/" }, "ex:key": "value" } }
+                        """.formatted(CONTEXT)),
+                Arguments.of("vocab context (fallback)", """
+                        { "@context": { "@vocab": "https://example.com/ns/" }, "key": "value" }
+                        """),
+                Arguments.of("blank node type (fallback)", """
+                        { %s, "@type": "_:b0", "key": "value" }
+                        """.formatted(CONTEXT))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("bodies")
+    @DisplayName("Expansion gives the same result as TitaniumJsonLd")
+    void expansionEqualsDelegate(String name, String body) {
+        var document = parse(body);
+        JsonLd titanium = new TitaniumJsonLd(new Monitor() {
+        });
+        var cached = new CachingJsonLd(new TitaniumJsonLd(new Monitor() {
+        }), 16);
+
+        var expected = titanium.expand(document);
+        var actual = cached.expand(document);
+
+        assertEquals(expected.succeeded(), actual.succeeded());
+        assertEquals(expected.getContent(), actual.getContent());
+        // a second time from the compiled context
+        assertEquals(expected.getContent(), cached.expand(document).getContent());
+    }
+
+    private static JsonObject parse(String json) {
+        try (var reader = Json.createReader(new StringReader(json))) {
+            return reader.readObject();
+        }
+    }
+}
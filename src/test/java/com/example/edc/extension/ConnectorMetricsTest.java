@@ -0,0 +1,116 @@
+package com.example.edc.extension;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CONNECTOR METRICS UNIT TESTS
+ *
+ * Calls a store instrumented by {@link ConnectorMetrics#instrument} on a SimpleMeterRegistry
+ * and checks when, and with which outcome, the edc.store.operation timers are recorded. No
+ * connector needed.
+ */
+@DisplayName("Connector metrics")
+class ConnectorMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TestStore target = new TestStore();
+    private final Store store = new ConnectorMetrics(registry).instrument(Store.class, target, "test");
+
+    @Test
+    @DisplayName("A method returning a value is timed when it returns")
+    void valueIsTimedOnReturn() {
+        assertEquals("id", store.find("id"));
+
+        assertEquals(1, timer("find", "success").count());
+    }
+
+    @Test
+    @DisplayName("A method returning a stream is timed until the stream is consumed")
+    void streamIsTimedUntilConsumed() {
+        var stream = store.query().peek(id -> sleep(20));
+        assertNull(timer("query", "success"));
+
+        assertEquals(List.of("a", "b", "c"), stream.toList());
+        var timer = timer("query", "success");
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 60, "recorded " + timer.totalTime(TimeUnit.MILLISECONDS) + " ms");
+    }
+
+    @Test
+    @DisplayName("Closing a stream records it once and closes the original stream")
+    void closedStreamIsTimedOnce() {
+        try (var stream = store.query()) {
+            assertEquals(1, stream.limit(1).count());
+            assertNull(timer("query", "success"));
+        }
+        assertTrue(target.closed.get());
+        assertEquals(1, timer("query", "success").count());
+
+        try (var stream = store.query()) {
+            assertEquals(3, stream.toList().size());
+        }
+        assertEquals(2, timer("query", "success").count());
+    }
+
+    @Test
+    @DisplayName("A failure while consuming a stream is recorded as an error")
+    void failingStreamIsTimedAsError() {
+        target.failing = true;
+
+        assertThrows(IllegalStateException.class, () -> store.query().toList());
+        assertEquals(1, timer("query", "error").count());
+        assertNull(timer("query", "success"));
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return registry.find("edc.store.operation").tag("store", "test").tag("operation", operation).tag("outcome", outcome).timer();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public interface Store {
+        String find(String id);
+
+        Stream<String> query();
+    }
+
+    private static final class TestStore implements Store {
+        final AtomicBoolean closed = new AtomicBoolean();
+        boolean failing;
+
+        @Override
+        public String find(String id) {
+            return id;
+        }
+
+        @Override
+        public Stream<String> query() {
+            return Stream.of("a", "b", "c")
+                    .peek(id -> {
+                        if (failing) {
+                            throw new IllegalStateException("query failed");
+                        }
+                    })
+                    .onClose(() -> closed.set(true));
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.services.spi.transferprocess.TransferProcessService;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessCompleted;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessStarted;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessTerminated;
+import org.eclipse.edc.connector.controlplane.transfer.spi.types.TransferProcess;
+import org.eclipse.edc.connector.controlplane.transfer.spi.types.TransferRequest;
+import org.eclipse.edc.connector.controlplane.transfer.spi.types.command.TerminateTransferCommand;
+import org.eclipse.edc.spi.event.Event;
+import org.eclipse.edc.spi.event.EventEnvelope;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.result.ServiceResult;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EDR CACHE UNIT TESTS
+ *
+ * Feeds transfer process events to {@link EdrCache} and refreshes it, with a transfer
+ * process service that records the transfers it is asked to start and terminate. No
+ * connector needed.
+ */
+@DisplayName("EDR cache")
+class EdrCacheTest {
+
+    private static final long REFRESH_BEFORE = TimeUnit.MINUTES.toMillis(5);
+    private static final int MAX_RENEWAL_FAILURES = 2;
+
+    private final List<TransferRequest> initiated = new ArrayList<>();
+    private final List<String> terminated = new ArrayList<>();
+    private boolean initiateFails;
+
+    private final EdrCache cache = new EdrCache(transferProcessService(), REFRESH_BEFORE, MAX_RENEWAL_FAILURES, new Monitor() {
+    });
+
+    @Test
+    @DisplayName("The EDR of a started consumer transfer is kept until the transfer completes")
+    void edrIsKeptWhileTransferRuns() {
+        cache.on(envelope(started("transfer-1", "CONSUMER", expiresIn(60))));
+
+        assertEquals(1, cache.query("agreement", null).count());
+        assertEquals(1, cache.query(null, "asset").count());
+        assertEquals(0, cache.query("other", null).count());
+
+        cache.on(envelope(TransferProcessCompleted.Builder.newInstance().transferProcessId("transfer-1").build()));
+        assertEquals(0, cache.query(null, null).count());
+    }
+
+    @Test
+    @DisplayName("Provider transfers are not cached")
+    void providerTransferIsIgnored() {
+        cache.on(envelope(started("transfer-1", "PROVIDER", expiresIn(60))));
+
+        assertEquals(0, cache.query(null, null).count());
+    }
+
+    @Test
+    @DisplayName("An EDR about to expire is replaced by a renewal, and its transfer terminated")
+    void expiringEdrIsRenewed() {
+        cache.on(envelope(started("transfer-1", "CONSUMER", expiresIn(1))));
+
+        cache.refresh();
+        cache.refresh(); // already being renewed
+        assertEquals(1, initiated.size());
+        assertEquals("agreement", initiated.get(0).getContractId());
+        assertEquals(1, cache.query(null, null).count());
+
+        var renewal = initiated.get(0).getId();
+        var renewedToken = expiresIn(60);
+        cache.on(envelope(started(renewal, "CONSUMER", renewedToken)));
+
+        var edrs = cache.query("agreement", null).toList();
+        assertEquals(1, edrs.size());
+        assertEquals(renewal, edrs.get(0).transferProcessId());
+        assertEquals(renewedToken, edrs.get(0).authorization());
+        assertEquals(List.of("transfer-1"), terminated);
+    }
+
+    @Test
+    @DisplayName("A failing renewal is retried up to maxRenewalFailures times")
+    void failedRenewalIsRetried() {
+        initiateFails = true;
+        cache.on(envelope(started("transfer-1", "CONSUMER", expiresIn(1))));
+
+        for (var i = 0; i < 5; i++) {
+            cache.refresh();
+        }
+        assertEquals(MAX_RENEWAL_FAILURES, initiated.size());
+        assertEquals(1, cache.query(null, null).count());
+        assertTrue(terminated.isEmpty());
+    }
+
+    @Test
+    @DisplayName("A renewal terminated before it starts counts as a failure and is retried")
+    void terminatedRenewalIsRetried() {
+        cache.on(envelope(started("transfer-1", "CONSUMER", expiresIn(1))));
+        cache.refresh();
+
+        cache.on(envelope(TransferProcessTerminated.Builder.newInstance().transferProcessId(initiated.get(0).getId()).build()));
+        cache.refresh();
+        cache.on(envelope(TransferProcessTerminated.Builder.newInstance().transferProcessId(initiated.get(1).getId()).build()));
+        cache.refresh();
+
+        assertEquals(MAX_RENEWAL_FAILURES, initiated.size());
+        assertEquals(1, cache.query(null, null).count());
+        assertTrue(terminated.isEmpty());
+    }
+
+    @Test
+    @DisplayName("An expired EDR is dropped, not renewed")
+    void expiredEdrIsDropped() {
+        cache.on(envelope(started("transfer-1", "CONSUMER", jwt(System.currentTimeMillis() / 1000 - 1))));
+
+        cache.refresh();
+        assertEquals(0, cache.query(null, null).count());
+        assertTrue(initiated.isEmpty());
+    }
+
+    @Test
+    @DisplayName("An EDR without exp is never refreshed")
+    void edrWithoutExpIsKept() {
+        cache.on(envelope(started("transfer-1", "CONSUMER", "opaque-token")));
+
+        cache.refresh();
+        assertEquals(1, cache.query(null, null).count());
+        assertTrue(initiated.isEmpty());
+    }
+
+    private static TransferProcessStarted started(String transferProcessId, String type, String token) {
+        return TransferProcessStarted.Builder.newInstance()
+                .transferProcessId(transferProcessId)
+                .type(type)
+                .contractId("agreement")
+                .assetId("asset")
+                .dataAddress(DataAddress.Builder.newInstance()
+                        .type("https://w3id.org/idsa/v4.1/HTTP")
+                        .property("endpoint", "https://provider.example.com/public")
+                        .property("authorization", token)
+                        .build())
+                .build();
+    }
+
+    private static <E extends Event> EventEnvelope<E> envelope(E event) {
+        return EventEnvelope.Builder.<E>newInstance().at(System.currentTimeMillis()).payload(event).build();
+    }
+
+    // a token expiring within the refresh window (minutes < 5) or after it
+    private static String expiresIn(int minutes) {
+        return jwt((System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(minutes)) / 1000);
+    }
+
+    private static String jwt(long exp) {
+        var encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(("{\"exp\":" + exp + "}").getBytes(StandardCharsets.UTF_8)) + ".signature";
+    }
+
+    private TransferProcessService transferProcessService() {
+        return (TransferProcessService) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ TransferProcessService.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> TransferProcess.Builder.newInstance()
+                            .id((String) args[0])
+                            .type(TransferProcess.Type.CONSUMER)
+                            .protocol("dataspace-protocol-http")
+                            .counterPartyAddress("https://provider.example.com/api/dsp")
+                            .contractId("agreement")
+                            .assetId("asset")
+                            .transferType("HttpData-PULL")
+                            .dataDestination(DataAddress.Builder.newInstance().type("HttpProxy").build())
+                            .build();
+                    case "initiateTransfer" -> {
+                        initiated.add((TransferRequest) args[0]);
+                        yield initiateFails ? ServiceResult.badRequest("rejected") : ServiceResult.success(null);
+                    }
+                    case "terminate" -> {
+                        terminated.add(((TerminateTransferCommand) args[0]).getEntityId());
+                        yield ServiceResult.success();
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.edc.extension;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * FEDERATED CATALOG STORE UNIT TESTS
+ *
+ * Merges expanded catalog pages into {@link FederatedCatalogStore} the way
+ * {@link CatalogCrawler} does, with contract offer IDs generated anew for every crawl as
+ * a provider does. No connector needed.
+ */
+@DisplayName("Federated catalog store")
+class FederatedCatalogStoreTest {
+
+    private static final String PROVIDER = "provider";
+    private static final String ODRL = "http://www.w3.org/ns/odrl/2/";
+    private static final String EDC = "https://w3id.org/edc/v0.0.1/ns/";
+
+    @Test
+    @DisplayName("Crawling the same catalog twice updates nothing")
+    void sameCatalogHasNoUpdates() {
+        var store = new FederatedCatalogStore();
+
+        assertEquals(new FederatedCatalogStore.Diff(3, 0, 0), store.merge(PROVIDER, crawl("use")));
+        var stored = store.query(PROVIDER).toList();
+
+        assertEquals(new FederatedCatalogStore.Diff(0, 0, 0), store.merge(PROVIDER, crawl("use")));
+        assertEquals(0, store.retain(PROVIDER, Set.of("asset-1", "asset-2", "asset-3")));
+        var afterSecondCrawl = store.query(PROVIDER).toList();
+        for (var i = 0; i < stored.size(); i++) {
+            assertSame(stored.get(i), afterSecondCrawl.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("A changed offer policy is an update")
+    void changedPolicyIsAnUpdate() {
+        var store = new FederatedCatalogStore();
+        store.merge(PROVIDER, crawl("use"));
+
+        assertEquals(new FederatedCatalogStore.Diff(0, 3, 0), store.merge(PROVIDER, crawl("transfer")));
+    }
+
+    @Test
+    @DisplayName("A changed asset property is an update")
+    void changedPropertyIsAnUpdate() {
+        var store = new FederatedCatalogStore();
+        store.merge(PROVIDER, crawl("use"));
+
+        var page = crawl("use");
+        page.put("asset-2", dataset("asset-2", "renamed", "use"));
+
+        assertEquals(new FederatedCatalogStore.Diff(0, 1, 0), store.merge(PROVIDER, page));
+    }
+
+    private static Map<String, JsonObject> crawl(String action) {
+        var page = new LinkedHashMap<String, JsonObject>();
+        for (var id : new String[]{ "asset-1", "asset-2", "asset-3" }) {
+            page.put(id, dataset(id, "Asset " + id, action));
+        }
+        return page;
+    }
+
+    private static JsonObject dataset(String assetId, String name, String action) {
+        var offer = Json.createObjectBuilder()
+                .add("@id", offerId("contract-1", assetId))
+                .add("@type", Json.createArrayBuilder().add(ODRL + "Offer"))
+                .add(ODRL + "permission", Json.createArrayBuilder().add(Json.createObjectBuilder()
+                        .add(ODRL + "action", Json.createArrayBuilder().add(Json.createObjectBuilder().add("@id", ODRL + action)))));
+        return Json.createObjectBuilder()
+                .add("@id", assetId)
+                .add("@type", Json.createArrayBuilder().add("http://www.w3.org/ns/dcat#Dataset"))
+                .add(EDC + "name", Json.createArrayBuilder().add(Json.createObjectBuilder().add("@value", name)))
+                .add(ODRL + "hasPolicy", Json.createArrayBuilder().add(offer))
+                .build();
+    }
+
+    // the format of EDC's ContractOfferId: definition, asset and a random UUID
+    private static String offerId(String definitionId, String assetId) {
+        var encoder = Base64.getEncoder();
+        return encoder.encodeToString(definitionId.getBytes()) + ":" + encoder.encodeToString(assetId.getBytes())
+                + ":" + encoder.encodeToString(UUID.randomUUID().toString().getBytes());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.edc.extension;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * HTTP CLIENT INTERCEPTORS UNIT TESTS
+ *
+ * Adds interceptors to {@link HttpClientInterceptors} after the OkHttpClient is built, like
+ * the feature extensions do, and calls a server on a local port (the JDK's HttpServer) that
+ * echoes the X-Trace header it receives. No connector needed.
+ */
+@DisplayName("HTTP client interceptors")
+class HttpClientInterceptorsTest {
+
+    private final HttpClientInterceptors interceptors = new HttpClientInterceptors();
+    private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+    private HttpServer server;
+    private OkHttpClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::echo);
+        server.start();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(interceptors.application())
+                .addNetworkInterceptor(interceptors.network())
+                .build();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Without contributions requests pass unchanged")
+    void noContributions() throws IOException {
+        assertEquals("none", get());
+    }
+
+    @Test
+    @DisplayName("Contributed interceptors run in the order they were added and see each other's requests")
+    void contributionsRunInOrder() throws IOException {
+        interceptors.addInterceptor(trace("app-1"));
+        interceptors.addInterceptor(trace("app-2"));
+        interceptors.addNetworkInterceptor(trace("network"));
+
+        assertEquals("app-1,app-2,network", get());
+        assertEquals(List.of("app-1", "app-2", "network"), calls);
+    }
+
+    @Test
+    @DisplayName("A contributed interceptor can change the timeouts of the chain")
+    void contributionChangesTimeouts() throws IOException {
+        var readTimeouts = new ArrayList<Integer>();
+        interceptors.addInterceptor(chain -> chain.withReadTimeout(1, TimeUnit.SECONDS).proceed(chain.request()));
+        interceptors.addInterceptor(chain -> {
+            readTimeouts.add(chain.readTimeoutMillis());
+            return chain.proceed(chain.request());
+        });
+        interceptors.addNetworkInterceptor(chain -> {
+            readTimeouts.add(chain.readTimeoutMillis());
+            return chain.proceed(chain.request());
+        });
+
+        get();
+        assertEquals(List.of(1000, 1000), readTimeouts);
+    }
+
+    private Interceptor trace(String name) {
+        return chain -> {
+            calls.add(name);
+            var trace = chain.request().header("X-Trace");
+            return chain.proceed(chain.request().newBuilder()
+                    .header("X-Trace", trace == null ? name : trace + "," + name)
+                    .build());
+        };
+    }
+
+    private String get() throws IOException {
+        var request = new Request.Builder().url("http://localhost:" + server.getAddress().getPort() + "/").build();
+        try (var response = client.newCall(request).execute()) {
+            return response.body().string();
+        }
+    }
+
+    private void echo(HttpExchange exchange) throws IOException {
+        var trace = exchange.getRequestHeaders().getFirst("X-Trace");
+        var body = (trace != null ? trace : "none").getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
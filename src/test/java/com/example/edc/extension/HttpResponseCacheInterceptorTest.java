@@ -0,0 +1,119 @@
+package com.example.edc.extension;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * HTTP RESPONSE CACHE INTERCEPTOR UNIT TESTS
+ *
+ * Pulls one URL with and without {@link HttpResponseCacheInterceptor#TTL_HEADER} through an
+ * OkHttpClient with a disk cache, set up like {@link HttpClientExtension} and
+ * {@link HttpResponseCacheExtension} do (the interceptors contributed through
+ * {@link HttpClientInterceptors}), from a server on a local port (the JDK's HttpServer) that
+ * answers every request with a new version. No connector needed.
+ */
+@DisplayName("HTTP response cache interceptor")
+class HttpResponseCacheInterceptorTest {
+
+    private final AtomicInteger version = new AtomicInteger();
+    private final List<String> cacheControls = Collections.synchronizedList(new ArrayList<>());
+
+    @TempDir
+    Path directory;
+
+    private HttpServer server;
+    private OkHttpClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/data", this::serve);
+        server.start();
+        var interceptors = new HttpClientInterceptors();
+        client = new OkHttpClient.Builder()
+                .cache(new Cache(directory.toFile(), 1024 * 1024))
+                .addInterceptor(interceptors.application())
+                .addNetworkInterceptor(interceptors.network())
+                .build();
+        interceptors.addInterceptor(new HttpResponseCacheInterceptor.Bypass());
+        interceptors.addNetworkInterceptor(new HttpResponseCacheInterceptor());
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("A request with a TTL is served from the cache")
+    void taggedRequestIsCached() throws IOException {
+        assertEquals("1", get(true));
+        assertEquals("1", get(true));
+        assertEquals(1, version.get());
+    }
+
+    @Test
+    @DisplayName("A request without a TTL is never served an entry stored for one with a TTL")
+    void untaggedRequestBypassesTheCache() throws IOException {
+        assertEquals("1", get(true));
+
+        assertEquals("2", get(false));
+        assertEquals("3", get(false));
+        assertEquals("1", get(true)); // the opted-in entry is still there
+        assertEquals(3, version.get());
+    }
+
+    @Test
+    @DisplayName("The upstream gets the request's own Cache-Control headers")
+    void upstreamGetsOwnCacheControl() throws IOException {
+        get(false);
+        execute(request(false).header("Cache-Control", "max-age=60").build());
+
+        assertEquals(List.of("none", "max-age=60"), cacheControls);
+    }
+
+    private String get(boolean withTtl) throws IOException {
+        return execute(request(withTtl).build());
+    }
+
+    private Request.Builder request(boolean withTtl) {
+        var builder = new Request.Builder().url("http://localhost:" + server.getAddress().getPort() + "/data");
+        return withTtl ? builder.header(HttpResponseCacheInterceptor.TTL_HEADER, "60") : builder;
+    }
+
+    private String execute(Request request) throws IOException {
+        try (var response = client.newCall(request).execute()) {
+            return response.body().string();
+        }
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        var cacheControl = exchange.getRequestHeaders().getFirst("Cache-Control");
+        cacheControls.add(cacheControl != null ? cacheControl : "none");
+        var body = String.valueOf(version.incrementAndGet()).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/plain");
+        exchange.sendResponseHeaders(200, body.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
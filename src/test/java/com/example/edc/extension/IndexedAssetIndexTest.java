@@ -0,0 +1,66 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.asset.spi.domain.Asset;
+import org.eclipse.edc.connector.controlplane.asset.spi.index.AssetIndex;
+import org.eclipse.edc.connector.controlplane.defaults.storage.assetindex.InMemoryAssetIndex;
+import org.eclipse.edc.query.CriterionOperatorRegistryImpl;
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * INDEXED ASSET INDEX UNIT TESTS
+ *
+ * "like" queries answered from the secondary indexes of {@link IndexedAssetIndex} must
+ * return what EDC's InMemoryAssetIndex returns with the same registered operators, for
+ * patterns with '%' and '_' wildcards and regex meta characters. No connector needed.
+ */
+@DisplayName("Indexed asset index")
+class IndexedAssetIndexTest {
+
+    private static final List<String> ASSET_IDS = List.of("market-data-1", "market-data-12", "market_data-2",
+            "marketXdata-3", "market.data-4", "other-1", "Market-data-5");
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = { "market%", "market_data%", "market-data-_", "market-data-1%", "market-data-1_", "_arket%",
+            "%data-1%", "market.data%", "market-data-1", "other-_", "%" })
+    @DisplayName("like on an indexed property matches like EDC's in-memory index")
+    void likeMatchesInMemoryIndex(String pattern) {
+        var registry = CriterionOperatorRegistryImpl.ofDefaults();
+        var indexed = fill(new IndexedAssetIndex(registry));
+        var inMemory = fill(new InMemoryAssetIndex(registry));
+
+        for (var property : List.of(Asset.PROPERTY_ID, "category")) {
+            var query = QuerySpec.Builder.newInstance()
+                    .filter(Criterion.criterion(property, "like", pattern))
+                    .limit(Integer.MAX_VALUE)
+                    .build();
+
+            assertEquals(ids(inMemory, query), ids(indexed, query), property + " like " + pattern);
+        }
+    }
+
+    private static AssetIndex fill(AssetIndex index) {
+        for (var id : ASSET_IDS) {
+            index.create(Asset.Builder.newInstance()
+                    .id(id)
+                    .property("category", id)
+                    .dataAddress(DataAddress.Builder.newInstance().type("HttpData").build())
+                    .build());
+        }
+        return index;
+    }
+
+    private static Set<String> ids(AssetIndex index, QuerySpec query) {
+        return index.queryAssets(query).map(Asset::getId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.edc.extension;
+
+import org.eclipse.edc.connector.controlplane.asset.spi.domain.Asset;
+import org.eclipse.edc.connector.controlplane.contract.spi.types.offer.ContractDefinition;
+import org.eclipse.edc.query.CriterionOperatorRegistryImpl;
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.CriterionOperatorRegistry;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import static org.eclipse.edc.spi.query.Criterion.criterion;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MATERIALIZED CATALOG UNIT TESTS
+ *
+ * Writes assets to an {@link IndexedAssetIndex}, changes and invalidates definitions, and
+ * checks after every step that both directions of {@link MaterializedCatalog}
+ * (assetIdsFor and definitionIdsFor) match a full re-evaluation of every selector against
+ * every asset with the same registered operators. No connector needed.
+ */
+@DisplayName("Materialized catalog")
+class MaterializedCatalogTest {
+
+    private static final List<String> ASSET_IDS = List.of("market-data-1", "market-data-2", "market-data-3", "weather-1",
+            "weather-2", "other-1");
+    private static final List<String> CATEGORIES = List.of("market", "weather", "other");
+
+    private final CriterionOperatorRegistry registry = CriterionOperatorRegistryImpl.ofDefaults();
+    private final IndexedAssetIndex index = new IndexedAssetIndex(registry);
+    private final MaterializedCatalog catalog = new MaterializedCatalog(index, registry);
+    // the assets as written, and the current version of every definition, for the re-evaluation
+    private final Map<String, Asset> assets = new TreeMap<>();
+    private final Map<String, ContractDefinition> definitions = new TreeMap<>();
+    private final Set<String> written = new TreeSet<>();
+
+    MaterializedCatalogTest() {
+        index.addListener(catalog);
+    }
+
+    @Test
+    @DisplayName("Asset creates, updates and deletes are applied to pinned and unpinned selectors")
+    void assetWritesFollowSelectors() {
+        ASSET_IDS.forEach(id -> create(id, id.substring(0, id.lastIndexOf('-')).replace("-data", "")));
+        define("pinned", criterion("id", "=", "market-data-1"));
+        define("pinned-in", criterion(Asset.PROPERTY_ID, "in", List.of("market-data-2", "weather-1", "missing-1")));
+        define("pinned-and-category", criterion("id", "in", List.of("market-data-3", "weather-2")),
+                criterion("category", "=", "market"));
+        define("unpinned", criterion("category", "=", "weather"));
+        define("unpinned-like", criterion("category", "like", "mark%"));
+        define("everything");
+        assertConsistent();
+
+        create("missing-1", "other"); // pinned before it existed
+        assertConsistent();
+        create("weather-3", "weather");
+        assertConsistent();
+        update("weather-2", "market"); // now matches pinned-and-category, no longer unpinned
+        assertConsistent();
+        update("market-data-3", "other"); // still pinned, no longer matching the category
+        assertConsistent();
+        update("market-data-1", "market"); // unchanged match
+        assertConsistent();
+        delete("market-data-1");
+        delete("weather-1");
+        assertConsistent();
+        create("market-data-1", "weather"); // re-created with another category
+        assertConsistent();
+    }
+
+    @Test
+    @DisplayName("A changed selector is rebuilt through its fingerprint and leaves no stale reverse entries")
+    void changedSelectorIsRebuilt() {
+        ASSET_IDS.forEach(id -> create(id, "market"));
+        update("weather-1", "weather");
+        define("definition", criterion("category", "=", "market"));
+        assertConsistent();
+
+        define("definition", criterion("category", "=", "weather"));
+        assertConsistent();
+        update("market-data-2", "weather");
+        update("weather-1", "other");
+        assertConsistent();
+
+        // unpinned to pinned and back
+        define("definition", criterion("id", "=", "other-1"));
+        assertConsistent();
+        update("other-1", "other");
+        create("other-2", "other");
+        assertConsistent();
+        define("definition", criterion("category", "=", "other"));
+        assertConsistent();
+    }
+
+    @Test
+    @DisplayName("An invalidated definition leaves the reverse index until it is used again")
+    void invalidatedDefinitionIsDropped() {
+        ASSET_IDS.forEach(id -> create(id, "market"));
+        define("pinned", criterion("id", "=", "weather-1"));
+        define("unpinned", criterion("category", "=", "market"));
+        assertConsistent();
+
+        catalog.invalidate("unpinned");
+        catalog.invalidate("pinned");
+        assertEquals(0, catalog.size());
+        ASSET_IDS.forEach(id -> assertEquals(List.of(), catalog.definitionIdsFor(id), id));
+
+        // writes while invalidated must not resurrect the entries
+        update("weather-1", "weather");
+        create("market-data-4", "market");
+        ASSET_IDS.forEach(id -> assertEquals(List.of(), catalog.definitionIdsFor(id), id));
+        assertConsistent();
+
+        catalog.retain("pinned"::equals);
+        assertEquals(1, catalog.size());
+        assertEquals(List.of("pinned"), catalog.definitionIdsFor("weather-1"));
+        assertEquals(List.of(), catalog.definitionIdsFor("market-data-4"));
+    }
+
+    @Test
+    @DisplayName("A random sequence of writes keeps both directions in line with a full re-evaluation")
+    void randomWritesMatchReevaluation() {
+        var random = new Random(42);
+        var ids = new ArrayList<String>();
+        for (var i = 0; i < 20; i++) {
+            ids.add("asset-" + i);
+        }
+        for (var step = 0; step < 500; step++) {
+            var id = ids.get(random.nextInt(ids.size()));
+            var category = CATEGORIES.get(random.nextInt(CATEGORIES.size()));
+            var definitionId = "definition-" + random.nextInt(5);
+            switch (random.nextInt(6)) {
+                case 0, 1 -> {
+                    if (assets.containsKey(id)) {
+                        update(id, category);
+                    } else {
+                        create(id, category);
+                    }
+                }
+                case 2 -> {
+                    if (assets.containsKey(id)) {
+                        delete(id);
+                    }
+                }
+                case 3 -> define(definitionId, criterion("category", "=", category));
+                case 4 -> define(definitionId, criterion("id", "in", List.of(id, ids.get(random.nextInt(ids.size())))),
+                        criterion("category", "like", category.charAt(0) + "%"));
+                default -> catalog.invalidate(definitionId);
+            }
+            assertConsistent();
+        }
+    }
+
+    private void create(String id, String category) {
+        var asset = asset(id, category);
+        assertTrue(index.create(asset).succeeded());
+        assets.put(id, asset);
+        written.add(id);
+    }
+
+    private void update(String id, String category) {
+        var asset = asset(id, category);
+        assertTrue(index.updateAsset(asset).succeeded());
+        assets.put(id, asset);
+    }
+
+    private void delete(String id) {
+        assertTrue(index.deleteById(id).succeeded());
+        assets.remove(id);
+    }
+
+    private void define(String id, Criterion... selector) {
+        definitions.put(id, ContractDefinition.Builder.newInstance()
+                .id(id)
+                .accessPolicyId("access-policy")
+                .contractPolicyId("contract-policy")
+                .assetsSelector(List.of(selector))
+                .build());
+    }
+
+    /**
+     * Evaluates every current definition against every asset and compares the result with
+     * both directions of the catalog; deleted assets must have no definitions left. Looking
+     * the definitions up (re)builds their entries.
+     */
+    private void assertConsistent() {
+        var expectedByAsset = new TreeMap<String, List<String>>();
+        written.forEach(id -> expectedByAsset.put(id, new ArrayList<>()));
+        for (var definition : definitions.values()) {
+            Predicate<Asset> selector = definition.getAssetsSelector().stream()
+                    .map(registry::<Asset>toPredicate)
+                    .reduce(x -> true, Predicate::and);
+            var expected = new TreeSet<String>();
+            assets.values().stream().filter(selector).forEach(asset -> {
+                expected.add(asset.getId());
+                expectedByAsset.get(asset.getId()).add(definition.getId());
+            });
+            assertEquals(expected, catalog.assetIdsFor(definition), "assets of " + definition.getId());
+        }
+        catalog.retain(definitions::containsKey);
+        expectedByAsset.forEach((assetId, definitionIds) ->
+                assertEquals(definitionIds, catalog.definitionIdsFor(assetId), "definitions of " + assetId));
+    }
+
+    private static Asset asset(String id, String category) {
+        return Asset.Builder.newInstance()
+                .id(id)
+                .property("category", category)
+                .dataAddress(DataAddress.Builder.newInstance().type("HttpData").build())
+                .build();
+    }
+}
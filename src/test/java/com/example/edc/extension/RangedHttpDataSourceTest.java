@@ -0,0 +1,200 @@
+package com.example.edc.extension;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RANGED HTTP DATA SOURCE UNIT TESTS
+ *
+ * Reads an asset through {@link RangedHttpDataSource} from a Range-capable server on a local
+ * port (the JDK's HttpServer), which can answer chunks out of order, break a response in
+ * the middle and send different validators. No connector needed.
+ */
+@DisplayName("Ranged HTTP data source")
+class RangedHttpDataSourceTest {
+
+    private static final int CHUNK_SIZE = 1024;
+    private static final byte[] ASSET = new byte[10 * CHUNK_SIZE + 100];
+    private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+    static {
+        new Random(42).nextBytes(ASSET);
+    }
+
+    private final List<String> ranges = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> ifRanges = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicBoolean breakOnce = new AtomicBoolean();
+    private volatile String etag = "\"v1\"";
+    private volatile String lastModified;
+    private volatile boolean laterChunksFirst;
+    private volatile long chunkDelayMillis;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/asset", this::serve);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Chunks answered out of order are passed on in order")
+    void chunksArePassedInOrder() throws IOException {
+        laterChunksFirst = true;
+
+        assertArrayEquals(ASSET, read());
+        assertEquals(11, ranges.size());
+        assertTrue(ifRanges.stream().skip(1).allMatch("\"v1\""::equals));
+    }
+
+    @Test
+    @DisplayName("A broken chunk is resumed from its last received byte")
+    void brokenChunkIsResumed() throws IOException {
+        breakOnce.set(true);
+
+        assertArrayEquals(ASSET, read());
+        assertTrue(ranges.contains("bytes=" + (2 * CHUNK_SIZE + CHUNK_SIZE / 2) + "-" + (3 * CHUNK_SIZE - 1)), ranges.toString());
+    }
+
+    @Test
+    @DisplayName("Without a strong ETag, chunks are validated with Last-Modified")
+    void lastModifiedIsTheFallbackValidator() throws IOException {
+        etag = "W/\"v1\"";
+        lastModified = LAST_MODIFIED;
+
+        assertArrayEquals(ASSET, read());
+        assertEquals(11, ranges.size());
+        assertTrue(ifRanges.stream().skip(1).allMatch(LAST_MODIFIED::equals), ifRanges.toString());
+    }
+
+    @Test
+    @DisplayName("Without any strong validator the asset is read with one request")
+    void noValidatorReadsOneStream() throws IOException {
+        etag = "W/\"v1\"";
+
+        assertArrayEquals(ASSET, read());
+        assertEquals(List.of("bytes=0-" + (CHUNK_SIZE - 1), "none"), ranges);
+    }
+
+    @Test
+    @DisplayName("Closing the stream from another thread while it is read ends the read")
+    void closeWhileReading() throws Exception {
+        chunkDelayMillis = 100;
+        var in = open();
+
+        var reader = CompletableFuture.supplyAsync(() -> {
+            try {
+                return in.readAllBytes().length;
+            } catch (IOException e) {
+                return -1;
+            }
+        });
+        Thread.sleep(250);
+        in.close();
+
+        var result = reader.handle((length, failure) -> failure != null ? failure : length).get(5, TimeUnit.SECONDS);
+        assertInstanceOf(Integer.class, result, String.valueOf(result));
+        assertTrue((Integer) result < ASSET.length, "read " + result + " bytes");
+    }
+
+    private byte[] read() throws IOException {
+        try (var in = open()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private InputStream open() {
+        var request = new Request.Builder().url("http://localhost:" + server.getAddress().getPort() + "/asset").get().build();
+        var source = new RangedHttpDataSource("process", "asset", request, true, new OkHttpClient(),
+                CHUNK_SIZE, 4, 3, executor, new Monitor() {
+                });
+        var result = source.openPartStream();
+        assertTrue(result.succeeded(), result.getFailureDetail());
+        return result.getContent().findFirst().orElseThrow().openStream();
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        var range = exchange.getRequestHeaders().getFirst("Range");
+        var ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+        ranges.add(range != null ? range : "none");
+        ifRanges.add(ifRange != null ? ifRange : "none");
+        if (etag != null) {
+            exchange.getResponseHeaders().add("ETag", etag);
+        }
+        if (lastModified != null) {
+            exchange.getResponseHeaders().add("Last-Modified", lastModified);
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+
+        var validatorMatches = ifRange == null || ifRange.equals(etag) || ifRange.equals(lastModified);
+        if (range == null || !validatorMatches) {
+            exchange.sendResponseHeaders(200, ASSET.length);
+            try (var out = exchange.getResponseBody()) {
+                out.write(ASSET);
+            }
+            return;
+        }
+
+        var bounds = range.substring("bytes=".length()).split("-");
+        var first = Integer.parseInt(bounds[0]);
+        var last = Math.min(Integer.parseInt(bounds[1]), ASSET.length - 1);
+        if (laterChunksFirst) {
+            sleep((ASSET.length - first) / CHUNK_SIZE * 20L);
+        }
+        sleep(chunkDelayMillis);
+        exchange.getResponseHeaders().add("Content-Range", "bytes " + first + "-" + last + "/" + ASSET.length);
+        exchange.sendResponseHeaders(206, last - first + 1);
+        var out = exchange.getResponseBody();
+        if (first == 2 * CHUNK_SIZE && breakOnce.compareAndSet(true, false)) {
+            out.write(ASSET, first, CHUNK_SIZE / 2);
+            out.flush();
+            exchange.close(); // fewer bytes than announced: the server drops the connection
+            return;
+        }
+        out.write(ASSET, first, last - first + 1);
+        out.close();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.edc.extension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * STORE JOURNAL UNIT TESTS
+ *
+ * Replays, torn tails and compaction of {@link StoreJournal}, against a plain in-memory
+ * store and a log file in a temporary directory. No connector needed.
+ */
+@DisplayName("Store journal")
+class StoreJournalTest {
+
+    private static final String PAYLOAD = "x".repeat(1024);
+
+    @TempDir
+    Path directory;
+
+    private final List<StoreJournal<Item>> journals = new ArrayList<>();
+
+    record Item(String id, String value) {
+    }
+
+    interface Items {
+        void save(Item item);
+
+        void delete(String id);
+    }
+
+    static final class MemoryItems implements Items {
+        final Map<String, Item> items = new ConcurrentHashMap<>();
+
+        @Override
+        public void save(Item item) {
+            items.put(item.id(), item);
+        }
+
+        @Override
+        public void delete(String id) {
+            items.remove(id);
+        }
+    }
+
+    @AfterEach
+    void closeJournals() {
+        journals.forEach(StoreJournal::close);
+        journals.clear();
+    }
+
+    @Test
+    @DisplayName("Replay restores the latest version of every entity and no deleted one")
+    void replayRestoresLatestVersions() {
+        var store = open();
+        store.save(new Item("a", "1"));
+        store.save(new Item("b", "1"));
+        store.save(new Item("a", "2"));
+        store.delete("b");
+        closeJournals();
+
+        var replayed = replay();
+
+        assertEquals(Map.of("a", new Item("a", "2")), replayed.items);
+    }
+
+    @Test
+    @DisplayName("A torn record at the end is dropped and the log truncated before it")
+    void tornTailIsTruncated() throws IOException {
+        var store = open();
+        store.save(new Item("a", "1"));
+        closeJournals();
+        var intact = Files.size(log());
+        store = open(new MemoryItems());
+        store.save(new Item("b", "1"));
+        closeJournals();
+        try (var channel = FileChannel.open(log(), StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(log()) - 3); // crash in the middle of the second record
+        }
+
+        var replayed = replay();
+
+        assertEquals(Map.of("a", new Item("a", "1")), replayed.items);
+        assertEquals(intact, Files.size(log()));
+    }
+
+    @Test
+    @DisplayName("Appends after a truncated tail are replayed")
+    void appendsAfterTruncationSurvive() throws IOException {
+        var store = open();
+        store.save(new Item("a", "1"));
+        closeJournals();
+        Files.write(log(), new byte[]{ 0, 0, 0, 42, 1, 2 }, StandardOpenOption.APPEND);
+
+        store = open(new MemoryItems());
+        store.save(new Item("b", "1"));
+        closeJournals();
+
+        assertEquals(Map.of("a", new Item("a", "1"), "b", new Item("b", "1")), replay().items);
+    }
+
+    @Test
+    @DisplayName("Compaction keeps the live records only and the log stays writable")
+    void compactionDropsGarbage() throws IOException {
+        var store = open();
+        for (var i = 0; i < 2000; i++) {
+            store.save(new Item("a", PAYLOAD + i));
+        }
+        store.save(new Item("b", "1"));
+        var before = Files.size(log());
+
+        assertTrue(journals.get(0).compactIfNeeded());
+        assertTrue(Files.size(log()) < before / 100);
+        assertFalse(Files.exists(directory.resolve("items.log.compact")));
+
+        store.save(new Item("c", "1"));
+        closeJournals();
+        assertEquals(Map.of("a", new Item("a", PAYLOAD + 1999), "b", new Item("b", "1"), "c", new Item("c", "1")),
+                replay().items);
+    }
+
+    @Test
+    @DisplayName("Deletes found by replay count as garbage, as they do when appended")
+    void replayedDeletesCountAsGarbage() {
+        var store = open();
+        for (var i = 0; i < 2000; i++) {
+            store.save(new Item("item-" + i, PAYLOAD));
+            store.delete("item-" + i);
+        }
+        closeJournals();
+
+        replay();
+
+        assertTrue(journals.get(0).compactIfNeeded());
+    }
+
+    @Test
+    @DisplayName("Compaction is skipped while less than half of the log is garbage")
+    void noCompactionWithoutGarbage() {
+        var store = open();
+        for (var i = 0; i < 2000; i++) {
+            store.save(new Item("item-" + i, PAYLOAD));
+        }
+
+        assertFalse(journals.get(0).compactIfNeeded());
+    }
+
+    private Items open() {
+        return open(new MemoryItems());
+    }
+
+    private Items open(MemoryItems store) {
+        var journal = journal();
+        journal.replay(store::save);
+        return journal.journaled(Items.class, store, StoreJournals.PUT_METHODS, StoreJournals.DELETE_METHODS);
+    }
+
+    private MemoryItems replay() {
+        var store = new MemoryItems();
+        journal().replay(store::save);
+        return store;
+    }
+
+    private StoreJournal<Item> journal() {
+        var journal = new StoreJournal<>(log(), Item.class, Item::id, new ObjectMapper(), false, new Monitor() {
+        });
+        journals.add(journal);
+        return journal;
+    }
+
+    private Path log() {
+        return directory.resolve("items.log");
+    }
+}
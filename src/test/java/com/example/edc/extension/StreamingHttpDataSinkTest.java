@@ -0,0 +1,134 @@
+package com.example.edc.extension;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.eclipse.edc.connector.dataplane.spi.pipeline.DataSource;
+import org.eclipse.edc.connector.dataplane.spi.pipeline.StreamResult;
+import org.eclipse.edc.http.spi.EdcHttpClient;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * STREAMING HTTP DATA SINK UNIT TESTS
+ *
+ * Uploads a part of unknown size through {@link StreamingHttpDataSink} to a destination on
+ * a local port (the JDK's HttpServer) that records how the body was framed. No connector
+ * needed.
+ */
+@DisplayName("Streaming HTTP data sink")
+class StreamingHttpDataSinkTest {
+
+    private static final byte[] ASSET = new byte[256 * 1024];
+
+    static {
+        new Random(42).nextBytes(ASSET);
+    }
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private volatile String contentLength;
+    private volatile String transferEncoding;
+    private volatile byte[] received;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/upload", this::receive);
+        server.start();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("A part of unknown size is uploaded chunked")
+    void unknownSizeIsChunked() throws Exception {
+        assertTrue(transfer(false).succeeded());
+
+        assertArrayEquals(ASSET, received);
+        assertEquals("chunked", transferEncoding);
+        assertNull(contentLength);
+    }
+
+    @Test
+    @DisplayName("With nonChunkedTransfer a part of unknown size is uploaded with its Content-Length")
+    void nonChunkedTransferSendsContentLength() throws Exception {
+        assertTrue(transfer(true).succeeded());
+
+        assertArrayEquals(ASSET, received);
+        assertEquals(String.valueOf(ASSET.length), contentLength);
+        assertNull(transferEncoding);
+    }
+
+    private StreamResult<Object> transfer(boolean nonChunked) throws Exception {
+        var url = "http://localhost:" + server.getAddress().getPort() + "/upload";
+        var sink = new StreamingHttpDataSink("process", body -> new Request.Builder().url(url).post(body).build(),
+                "application/octet-stream", nonChunked, httpClient(new OkHttpClient()), executor, new Monitor() {
+                });
+        return sink.transfer(new DataSource() {
+            @Override
+            public StreamResult<Stream<Part>> openPartStream() {
+                return StreamResult.success(Stream.of(new Part() {
+                    @Override
+                    public String name() {
+                        return "asset";
+                    }
+
+                    @Override
+                    public InputStream openStream() {
+                        return new ByteArrayInputStream(ASSET);
+                    }
+                }));
+            }
+
+            @Override
+            public void close() {
+            }
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    private static EdcHttpClient httpClient(OkHttpClient client) {
+        return (EdcHttpClient) Proxy.newProxyInstance(EdcHttpClient.class.getClassLoader(), new Class<?>[]{ EdcHttpClient.class },
+                (proxy, method, args) -> {
+                    if ("execute".equals(method.getName()) && args.length == 1 && args[0] instanceof Request request) {
+                        return client.newCall(request).execute();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private void receive(HttpExchange exchange) throws IOException {
+        contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        transferEncoding = exchange.getRequestHeaders().getFirst("Transfer-Encoding");
+        try (var in = exchange.getRequestBody()) {
+            received = in.readAllBytes();
+        }
+        exchange.sendResponseHeaders(204, -1);
+        exchange.close();
+    }
+}
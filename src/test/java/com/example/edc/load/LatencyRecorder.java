@@ -0,0 +1,60 @@
+package com.example.edc.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms (HdrHistogram, microsecond resolution) and error counts.
+ */
+class LatencyRecorder {
+
+    private final Map<Operation, ConcurrentHistogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyRecorder() {
+        for (var operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean success) {
+        histograms.get(operation).recordValue(Math.max(1, latencyNanos / 1_000));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void reset() {
+        histograms.values().forEach(ConcurrentHistogram::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    void print(PrintStream out, double seconds, LoadTestConfig config) {
+        out.println(String.format("%-20s %10s %8s %10s %11s %9s %9s %9s %9s",
+                "operation", "requests", "errors", "req/s", "items/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        histograms.forEach((operation, histogram) -> {
+            if (histogram.getTotalCount() == 0) {
+                return;
+            }
+            out.println(String.format("%-20s %10d %8d %10.1f %11.1f %9.2f %9.2f %9.2f %9.2f",
+                    operation.workloadName(),
+                    histogram.getTotalCount(),
+                    errors.get(operation).sum(),
+                    histogram.getTotalCount() / seconds,
+                    histogram.getTotalCount() * operation.itemsPerRequest(config) / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())));
+        });
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.edc.load;
+
+import com.example.edc.ManagementApiRequests;
+
+import java.time.Duration;
+
+/**
+ * Load test settings, read from system properties (-Dload.xxx=...).
+ *
+ * @param baseUrl             Management API root (load.baseUrl)
+ * @param workload            asset-create, asset-batch-create, asset-get, policy-get, catalog or mixed (load.workload)
+ * @param concurrency         closed loop: number of concurrent clients; open loop: max requests in flight (load.concurrency)
+ * @param rate                requests per second for the open-loop mode, 0 for closed loop (load.rate)
+ * @param warmup              how long to run before measuring (load.warmup, seconds)
+ * @param duration            how long to measure (load.duration, seconds)
+ * @param counterPartyAddress DSP endpoint queried by the catalog workload (load.counterPartyAddress)
+ * @param batchSize           assets per request of the asset-batch-create workload (load.batchSize)
+ */
+record LoadTestConfig(String baseUrl,
+                      String workload,
+                      int concurrency,
+                      int rate,
+                      Duration warmup,
+                      Duration duration,
+                      String counterPartyAddress,
+                      int batchSize) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                System.getProperty("load.baseUrl", ManagementApiRequests.DEFAULT_BASE_URL),
+                System.getProperty("load.workload", "mixed"),
+                Integer.getInteger("load.concurrency", 64),
+                Integer.getInteger("load.rate", 0),
+                Duration.ofSeconds(Integer.getInteger("load.warmup", 5)),
+                Duration.ofSeconds(Integer.getInteger("load.duration", 30)),
+                System.getProperty("load.counterPartyAddress", "http://localhost:8282/api/dsp"),
+                Integer.getInteger("load.batchSize", 100));
+    }
+
+    boolean openLoop() {
+        return rate > 0;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.edc.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * MANAGEMENT API LOAD TEST RUNNER
+ * ===============================
+ *
+ * WHAT IS THIS?
+ * -------------
+ * A small load generator for a locally running connector. It issues the same requests as
+ * EdcManagementApiIT, but concurrently and for a fixed amount of time, and reports
+ * throughput plus p50/p99/p999 latencies per operation (HdrHistogram).
+ *
+ * TWO MODES:
+ * ----------
+ * - Closed loop (default): load.concurrency clients each send a request, wait for the
+ *   response, and immediately send the next one. Measures maximum throughput.
+ * - Open loop (load.rate > 0): requests are started on a fixed schedule, independent of
+ *   how fast the connector answers. Latency is measured from the time a request SHOULD
+ *   have been sent, so a stalled connector shows up in the percentiles instead of
+ *   silently lowering the request rate (no "coordinated omission").
+ *
+ * Every request runs on its own virtual thread when the JVM supports them (Java 21+);
+ * on older JVMs a cached thread pool is used instead.
+ *
+ * HOW TO RUN (connector must be running on localhost:8181):
+ * ---------------------------------------------------------
+ *   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.edc.load.LoadTestRunner \
+ *       -Dload.workload=asset-get -Dload.concurrency=128 -Dload.duration=60
+ *
+ *   Open loop at 2000 req/s:  -Dload.rate=2000
+ *   Workloads: asset-create, asset-batch-create, asset-get, policy-get, catalog, mixed (default)
+ */
+public final class LoadTestRunner {
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        var config = LoadTestConfig.fromSystemProperties();
+        Operation.next(config.workload()); // fail fast on an unknown workload
+
+        System.out.println("========================================");
+        System.out.println("EDC Management API Load Test");
+        System.out.println("========================================");
+        System.out.println("→ Base URL:    " + config.baseUrl());
+        System.out.println("→ Workload:    " + config.workload());
+        System.out.println("→ Mode:        " + (config.openLoop() ? "open loop, " + config.rate() + " req/s" : "closed loop"));
+        System.out.println("→ Concurrency: " + config.concurrency());
+        System.out.println("→ Duration:    " + config.warmup().toSeconds() + "s warmup + " + config.duration().toSeconds() + "s measured");
+        System.out.println("");
+
+        new LoadTestRunner(config).run();
+    }
+
+    void run() throws InterruptedException {
+        if (!config.warmup().isZero()) {
+            System.out.println("Warming up...");
+            runPhase(config.warmup());
+            recorder.reset();
+        }
+
+        System.out.println("Measuring...");
+        var start = System.nanoTime();
+        runPhase(config.duration());
+        var seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.println("");
+        recorder.print(System.out, seconds, config);
+    }
+
+    private void runPhase(Duration duration) throws InterruptedException {
+        var executor = newExecutor();
+        var deadline = System.nanoTime() + duration.toNanos();
+        try {
+            if (config.openLoop()) {
+                openLoop(executor, deadline);
+            } else {
+                closedLoop(executor, deadline);
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private void closedLoop(ExecutorService executor, long deadline) {
+        for (var i = 0; i < config.concurrency(); i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    var operation = Operation.next(config.workload());
+                    execute(operation, System.nanoTime());
+                }
+            });
+        }
+    }
+
+    private void openLoop(ExecutorService executor, long deadline) throws InterruptedException {
+        var interval = 1_000_000_000L / config.rate();
+        var inFlight = new Semaphore(config.concurrency());
+        var start = System.nanoTime();
+
+        for (long i = 0; ; i++) {
+            var intended = start + i * interval;
+            if (intended >= deadline) {
+                return;
+            }
+            var wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // blocking here delays later requests, but their latency still counts from 'intended'
+            inFlight.acquire();
+            executor.execute(() -> {
+                try {
+                    execute(Operation.next(config.workload()), intended);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void execute(Operation operation, long startNanos) {
+        var success = false;
+        try {
+            var response = httpClient.send(operation.request(config), HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() >= 200 && response.statusCode() < 300;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // connection errors and timeouts count as failed requests
+        }
+        recorder.record(operation, System.nanoTime() - startNanos, success);
+    }
+
+    /**
+     * Virtual-thread-per-task executor on Java 21+, resolved reflectively because the project
+     * compiles for Java 17; a cached thread pool otherwise.
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.edc.load;
+
+import com.example.edc.ManagementApiRequests;
+
+import java.net.http.HttpRequest;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Management API calls the load test can issue. Each one corresponds to a call made
+ * by {@link com.example.edc.EdcManagementApiIT} or test-catalog-query.ps1.
+ */
+enum Operation {
+
+    ASSET_CREATE("asset-create") {
+        @Override
+        HttpRequest request(LoadTestConfig config) {
+            var id = "load-asset-" + RUN_ID + "-" + CREATED.incrementAndGet();
+            return ManagementApiRequests.post(config.baseUrl(), "/v3/assets", ManagementApiRequests.assetJson(id, "Load Test Asset"));
+        }
+    },
+    ASSET_GET("asset-get") {
+        @Override
+        HttpRequest request(LoadTestConfig config) {
+            return ManagementApiRequests.get(config.baseUrl(), "/v3/assets/market-data-2025-q1");
+        }
+    },
+    POLICY_GET("policy-get") {
+        @Override
+        HttpRequest request(LoadTestConfig config) {
+            return ManagementApiRequests.get(config.baseUrl(), "/v3/policydefinitions/financial-research-policy");
+        }
+    },
+    ASSET_BATCH_CREATE("asset-batch-create") {
+        @Override
+        HttpRequest request(LoadTestConfig config) {
+            var batch = new StringJoiner(",", "[", "]");
+            for (var i = 0; i < config.batchSize(); i++) {
+                var id = "load-asset-" + RUN_ID + "-" + CREATED.incrementAndGet();
+                batch.add(ManagementApiRequests.assetJson(id, "Load Test Asset"));
+            }
+            return ManagementApiRequests.post(config.baseUrl(), "/v3/batch/assets", batch.toString());
+        }
+
+        @Override
+        int itemsPerRequest(LoadTestConfig config) {
+            return config.batchSize();
+        }
+    },
+    CATALOG("catalog") {
+        @Override
+        HttpRequest request(LoadTestConfig config) {
+            return ManagementApiRequests.post(config.baseUrl(), "/v3/catalog/request",
+                    ManagementApiRequests.catalogRequestJson(config.counterPartyAddress()));
+        }
+    };
+
+    private static final long RUN_ID = System.currentTimeMillis();
+    private static final AtomicLong CREATED = new AtomicLong();
+
+    private final String workloadName;
+
+    Operation(String workloadName) {
+        this.workloadName = workloadName;
+    }
+
+    abstract HttpRequest request(LoadTestConfig config);
+
+    /**
+     * Number of entities one request of this operation writes or reads, for the items/s column.
+     */
+    int itemsPerRequest(LoadTestConfig config) {
+        return 1;
+    }
+
+    String workloadName() {
+        return workloadName;
+    }
+
+    /**
+     * Picks the operation for the next request of the given workload: either the single
+     * operation with that name, or for "mixed" a read-heavy blend of all of them.
+     */
+    static Operation next(String workload) {
+        if (!"mixed".equals(workload)) {
+            return byWorkloadName(workload);
+        }
+        var dice = ThreadLocalRandom.current().nextInt(100);
+        if (dice < 50) {
+            return ASSET_GET;
+        } else if (dice < 70) {
+            return POLICY_GET;
+        } else if (dice < 90) {
+            return ASSET_CREATE;
+        }
+        return CATALOG;
+    }
+
+    static Operation byWorkloadName(String workload) {
+        for (var operation : values()) {
+            if (operation.workloadName.equals(workload)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown workload '" + workload + "', expected one of asset-create, asset-batch-create, asset-get, policy-get, catalog, mixed");
+    }
+}